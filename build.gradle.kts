@@ -109,6 +109,14 @@ subprojects {
         rootProject.configurations.findByName("implementation")?.dependencies?.forEach { dep ->
             implementation(dep)
         }
+
+        testImplementation(platform("org.junit:junit-bom:5.11.4"))
+        testImplementation("org.junit.jupiter:junit-jupiter")
+        testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    }
+
+    tasks.withType<Test> {
+        useJUnitPlatform()
     }
 
     /**
@@ -165,7 +173,7 @@ tasks.register("packets") {
     doLast {
         val outDir = rootProject.file("out").apply { mkdirs() }
 
-        subprojects.filter { it.name != "api" }.forEach { project ->
+        subprojects.filter { it.name != "api" && it.name != "bench" }.forEach { project ->
             @Suppress("DEPRECATION")
             val jar = project.buildDir.resolve("libs/${rootProject.name}-${project.name}-${project.version}.jar")
             if (jar.exists()) {
@@ -53,7 +53,12 @@ dependencyResolutionManagement {
 // ─────────────────────────────
 rootProject.name = "ley-vault"
 
-include("api", "common")
+include("api", "common", "json", "yaml", "toml", "bench", "replication")
 
 project(":api").projectDir = file("vlt-api")
 project(":common").projectDir = file("vlt-common")
+project(":json").projectDir = file("vlt-json")
+project(":yaml").projectDir = file("vlt-yaml")
+project(":toml").projectDir = file("vlt-toml")
+project(":bench").projectDir = file("vlt-bench")
+project(":replication").projectDir = file("vlt-replication")
@@ -10,13 +10,27 @@
  */
 package de.leycm.vault;
 
+import de.leycm.vault.change.ConfigChangeListener;
+import de.leycm.vault.change.ConfigTransaction;
 import de.leycm.vault.field.*;
+import de.leycm.vault.query.ConfigQuery;
+import de.leycm.vault.query.ConfigVisitor;
+import de.leycm.vault.query.QueryMatch;
 import org.jetbrains.annotations.Nullable;
 
 import lombok.NonNull;
 import java.io.File;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Main configuration interface providing methods to access and manipulate configuration values.
@@ -142,6 +156,51 @@ public interface Config {
     <T> Optional<T> getOptional(final @NonNull String path,
                                 final @NonNull Class<T> type);
 
+    /**
+     * Retrieves a numeric list at the specified path as an int array, or null if not found.
+     * Lists stored as primitive arrays are copied without boxing.
+     *
+     * @param path the configuration path
+     * @return a copy of the list as int array, or null if not found or not numeric
+     * @throws NullPointerException if path is null
+     * @author LeyCM
+     * @since 1.0.3
+     * @see #getLongArray(String)
+     */
+    default int @Nullable [] getIntArray(final @NonNull String path) {
+        return getOptional(path, int[].class).orElse(null);
+    }
+
+    /**
+     * Retrieves a numeric list at the specified path as a long array, or null if not found.
+     * Lists stored as primitive arrays are copied without boxing.
+     *
+     * @param path the configuration path
+     * @return a copy of the list as long array, or null if not found or not numeric
+     * @throws NullPointerException if path is null
+     * @author LeyCM
+     * @since 1.0.3
+     * @see #getDoubleArray(String)
+     */
+    default long @Nullable [] getLongArray(final @NonNull String path) {
+        return getOptional(path, long[].class).orElse(null);
+    }
+
+    /**
+     * Retrieves a numeric list at the specified path as a double array, or null if not found.
+     * Lists stored as primitive arrays are copied without boxing.
+     *
+     * @param path the configuration path
+     * @return a copy of the list as double array, or null if not found or not numeric
+     * @throws NullPointerException if path is null
+     * @author LeyCM
+     * @since 1.0.3
+     * @see #getLongArray(String)
+     */
+    default double @Nullable [] getDoubleArray(final @NonNull String path) {
+        return getOptional(path, double[].class).orElse(null);
+    }
+
     /**
      * Retrieves a configuration field at the specified path.
      * A field provides additional operations on the configuration value.
@@ -228,6 +287,212 @@ public interface Config {
      */
     boolean contains(final @NonNull String path);
 
+    /**
+     * Finds every value matching the pattern.
+     *
+     * @param pattern the pattern, such as {@code servers.*.port}
+     * @return the matches with their raw values, in document order
+     * @throws NullPointerException if pattern is null
+     * @throws IllegalArgumentException if the pattern is malformed
+     * @author LeyCM
+     * @since 1.0.3
+     * @see #query(ConfigQuery, Class)
+     */
+    @NonNull
+    default Stream<QueryMatch<Object>> query(final @NonNull String pattern) {
+        return query(ConfigQuery.compile(pattern), Object.class);
+    }
+
+    /**
+     * Finds every value matching the pattern that can be converted to the type.
+     *
+     * @param <T> the type of the values
+     * @param pattern the pattern, such as {@code kits.*.items[*].id}
+     * @param type the class of the expected value type
+     * @return the converted matches, in document order
+     * @throws NullPointerException if pattern or type is null
+     * @throws IllegalArgumentException if the pattern is malformed
+     * @author LeyCM
+     * @since 1.0.3
+     * @see #query(ConfigQuery, Class)
+     */
+    @NonNull
+    default <T> Stream<QueryMatch<T>> query(final @NonNull String pattern,
+                                            final @NonNull Class<T> type) {
+        return query(ConfigQuery.compile(pattern), type);
+    }
+
+    /**
+     * Finds every value matching the query that can be converted to the type.
+     * <p>
+     * Implementations evaluate the query in a single lazy walk of the tree,
+     * following literal keys and indices directly and only enumerating
+     * sections and lists at wildcards. Values that can't be converted are
+     * skipped. The default implementation collects the matches eagerly
+     * from the root section read through {@link #getOptional(String, Class)}
+     * and skips values that aren't instances of the type.
+     * </p>
+     *
+     * @param <T> the type of the values
+     * @param query the compiled query
+     * @param type the class of the expected value type
+     * @return the converted matches, in document order
+     * @throws NullPointerException if query or type is null
+     * @author LeyCM
+     * @since 1.0.3
+     * @see ConfigQuery
+     */
+    @NonNull
+    default <T> Stream<QueryMatch<T>> query(final @NonNull ConfigQuery query,
+                                            final @NonNull Class<T> type) {
+        Map<String, Object> matches = new LinkedHashMap<>();
+        collect(query.segments(), 0, "", section(""), matches);
+
+        return matches.entrySet().stream()
+                .filter(match -> type.isInstance(match.getValue()))
+                .map(match -> new QueryMatch<>(match.getKey(), type.cast(match.getValue())));
+    }
+
+    /**
+     * Streams the keys of the section at the specified path.
+     * <p>
+     * The keys are taken as one consistent snapshot; the stream is backed
+     * by a splittable spliterator, so large sections can be processed in
+     * parallel. The default implementation copies the keys of the section
+     * read through {@link #getOptional(String, Class)}.
+     * </p>
+     *
+     * @param path the path of the section, or an empty path for the root
+     * @return the keys in document order, or an empty stream if there is no section
+     * @throws NullPointerException if path is null
+     * @author LeyCM
+     * @since 1.0.3
+     * @see #entries(String)
+     */
+    @NonNull
+    default Stream<String> keys(final @NonNull String path) {
+        Map<String, Object> section = section(path);
+        return section == null ? Stream.empty() : List.copyOf(section.keySet()).stream();
+    }
+
+    /**
+     * Streams the entries of the section at the specified path.
+     * <p>
+     * Keys are snapshotted like {@link #keys(String)}, values are read when
+     * the stream reaches them and skipped if removed in between. Sections
+     * and lists are passed as unmodifiable views, not copies. The default
+     * implementation copies the entries up front instead.
+     * </p>
+     *
+     * @param path the path of the section, or an empty path for the root
+     * @return the entries in document order, or an empty stream if there is no section
+     * @throws NullPointerException if path is null
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    @NonNull
+    default Stream<Map.Entry<String, Object>> entries(final @NonNull String path) {
+        Map<String, Object> section = section(path);
+        if (section == null) return Stream.empty();
+
+        List<Map.Entry<String, Object>> entries = new ArrayList<>(section.size());
+        section.forEach((key, value) -> {
+            if (value != null) entries.add(new AbstractMap.SimpleImmutableEntry<>(key, view(value)));
+        });
+        return entries.stream();
+    }
+
+    /**
+     * Walks the section at the specified path depth-first.
+     *
+     * @param path the path of the section, or an empty path for the root
+     * @param visitor the visitor called for every nested section and value
+     * @throws NullPointerException if path or visitor is null
+     * @author LeyCM
+     * @since 1.0.3
+     * @see ConfigVisitor
+     */
+    default void visit(final @NonNull String path,
+                       final @NonNull ConfigVisitor visitor) {
+        Map<String, Object> section = section(path);
+        if (section != null) walk(section, path, visitor);
+    }
+
+    /**
+     * Applies several mutations as one batch.
+     *
+     * @param batch the mutations to apply
+     * @throws NullPointerException if batch is null
+     * @author LeyCM
+     * @since 1.0.3
+     * @see #batch(boolean, Consumer)
+     */
+    default void batch(final @NonNull Consumer<ConfigTransaction> batch) {
+        batch(false, batch);
+    }
+
+    /**
+     * Applies several mutations as one batch and optionally saves once afterwards.
+     * <p>
+     * Implementations apply the batch under a single write lock, notify
+     * listeners with one coalesced diff and roll every mutation back if the
+     * batch throws, including failing type adapter conversions. The default
+     * implementation just applies the mutations one by one.
+     * </p>
+     *
+     * @param save whether to save the configuration after the batch committed
+     * @param batch the mutations to apply
+     * @throws NullPointerException if batch is null
+     * @author LeyCM
+     * @since 1.0.3
+     * @see ConfigTransaction
+     */
+    default void batch(boolean save, final @NonNull Consumer<ConfigTransaction> batch) {
+        boolean[] saveOnCommit = {save};
+
+        batch.accept(new ConfigTransaction() {
+            @Override
+            public <T> void set(@NonNull String path, @Nullable T value) {
+                Config.this.set(path, value);
+            }
+
+            @Override
+            public @NonNull <T> Optional<T> getOptional(@NonNull String path, @NonNull Class<T> type) {
+                return Config.this.getOptional(path, type);
+            }
+
+            @Override
+            public void saveOnCommit() {
+                saveOnCommit[0] = true;
+            }
+        });
+
+        if (saveOnCommit[0]) save();
+    }
+
+    /**
+     * Registers a listener notified after values of this configuration changed.
+     *
+     * @param listener the listener to add
+     * @throws NullPointerException if listener is null
+     * @throws UnsupportedOperationException if the implementation doesn't support listeners
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    default void addChangeListener(final @NonNull ConfigChangeListener listener) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support change listeners");
+    }
+
+    /**
+     * Removes a previously registered change listener.
+     *
+     * @param listener the listener to remove
+     * @throws NullPointerException if listener is null
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    default void removeChangeListener(final @NonNull ConfigChangeListener listener) {}
+
     /**
      * Reloads the configuration from its source file.
      * Any unsaved changes will be lost.
@@ -240,6 +505,19 @@ public interface Config {
         ConfigFactory.getInstance().reload(this);
     }
 
+    /**
+     * Reloads the configuration only if its source file changed since it
+     * was last loaded or saved. Unsaved changes are kept otherwise.
+     *
+     * @return true if the configuration was reloaded
+     * @author LeyCM
+     * @since 1.0.3
+     * @see ConfigFactory#reloadIfChanged(Config)
+     */
+    default boolean reloadIfChanged() {
+        return ConfigFactory.getInstance().reloadIfChanged(this);
+    }
+
     /**
      * Saves the current configuration state to its source file.
      *
@@ -251,6 +529,31 @@ public interface Config {
         ConfigFactory.getInstance().save(this);
     }
 
+    /**
+     * Reloads the configuration from its source file without blocking the caller.
+     *
+     * @return a future completed once the configuration is reloaded
+     * @author LeyCM
+     * @since 1.0.3
+     * @see ConfigFactory#reloadAsync(Config)
+     */
+    default CompletableFuture<Void> reloadAsync() {
+        return ConfigFactory.getInstance().reloadAsync(this);
+    }
+
+    /**
+     * Saves the current configuration state to its source file without
+     * blocking the caller.
+     *
+     * @return a future completed once the configuration is written
+     * @author LeyCM
+     * @since 1.0.3
+     * @see ConfigFactory#saveAsync(Config)
+     */
+    default CompletableFuture<Void> saveAsync() {
+        return ConfigFactory.getInstance().saveAsync(this);
+    }
+
     /**
      * Returns the file associated with this configuration.
      *
@@ -261,4 +564,83 @@ public interface Config {
     @NonNull
     File file();
 
+    // ==================== Private Helper Methods ====================
+
+    @SuppressWarnings("unchecked")
+    private @Nullable Map<String, Object> section(final @NonNull String path) {
+        return (Map<String, Object>) getOptional(path, Map.class).orElse(null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void walk(final @NonNull Map<String, Object> section,
+                             final @NonNull String path,
+                             final @NonNull ConfigVisitor visitor) {
+        for (String key : List.copyOf(section.keySet())) {
+            Object value = section.get(key);
+            if (value == null) continue;
+
+            String child = path.isEmpty() ? key : path + "." + key;
+
+            if (value instanceof Map<?, ?> map) {
+                if (!visitor.enterSection(child, map.size())) continue;
+
+                walk((Map<String, Object>) map, child, visitor);
+                visitor.exitSection(child);
+            } else {
+                visitor.visitValue(child, view(value));
+            }
+        }
+    }
+
+    private static void collect(final @NonNull List<ConfigQuery.Segment> segments, int index,
+                                final @NonNull String path, final @Nullable Object value,
+                                final @NonNull Map<String, Object> matches) {
+        if (value == null) return;
+
+        if (index == segments.size()) {
+            if (!path.isEmpty()) matches.putIfAbsent(path, value);
+            return;
+        }
+
+        ConfigQuery.Segment segment = segments.get(index);
+        switch (segment.kind()) {
+            case KEY -> {
+                if (value instanceof Map<?, ?> map)
+                    collect(segments, index + 1, child(path, segment.key()), map.get(segment.key()), matches);
+            }
+            case ANY_KEY -> {
+                if (value instanceof Map<?, ?> map) for (Map.Entry<?, ?> entry : List.copyOf(map.entrySet()))
+                    collect(segments, index + 1, child(path, String.valueOf(entry.getKey())), entry.getValue(), matches);
+            }
+            case INDEX -> {
+                if (value instanceof List<?> list && segment.index() < list.size())
+                    collect(segments, index + 1, path + "[" + segment.index() + "]", list.get(segment.index()), matches);
+            }
+            case ANY_INDEX -> {
+                if (value instanceof List<?> list) for (int i = 0; i < list.size(); i++)
+                    collect(segments, index + 1, path + "[" + i + "]", list.get(i), matches);
+            }
+            case DEEP -> {
+                // ** matches zero levels first, then every nested section and list
+                collect(segments, index + 1, path, value, matches);
+
+                if (value instanceof Map<?, ?> map) for (Map.Entry<?, ?> entry : List.copyOf(map.entrySet()))
+                    collect(segments, index, child(path, String.valueOf(entry.getKey())), entry.getValue(), matches);
+                else if (value instanceof List<?> list) for (int i = 0; i < list.size(); i++)
+                    collect(segments, index, path + "[" + i + "]", list.get(i), matches);
+            }
+        }
+    }
+
+    private static @NonNull String child(final @NonNull String path, final @NonNull String key) {
+        return path.isEmpty() ? key : path + "." + key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @NonNull Object view(final @NonNull Object value) {
+        if (value instanceof Map<?, ?> map) return Collections.unmodifiableMap((Map<String, Object>) map);
+        if (value instanceof List<?> list) return Collections.unmodifiableList(list);
+        return value;
+    }
+
 }
\ No newline at end of file
@@ -12,11 +12,15 @@ package de.leycm.vault;
 
 import de.leycm.vault.adapter.ConfigFileAdapter;
 import de.leycm.vault.adapter.TypeAdapter;
+import de.leycm.vault.schema.ConfigSchema;
+import de.leycm.vault.schema.SchemaValidationException;
 import de.leycm.neck.instance.Initializable;
 import org.jetbrains.annotations.*;
 
 import lombok.NonNull;
 import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Factory interface for creating and managing configuration instances.
@@ -72,6 +76,46 @@ public interface ConfigFactory extends Initializable {
      */
     Config create(final @NonNull File file);
 
+    /**
+     * Creates a configuration instance for the specified filename that is
+     * validated against the schema.
+     *
+     * @param filename the name of the configuration file
+     * @param schema the schema the configuration must match
+     * @return a new {@link Config} instance
+     * @throws NullPointerException if filename or schema is null
+     * @throws SchemaValidationException if the configuration doesn't match the schema
+     * @author LeyCM
+     * @since 1.0.3
+     * @see #create(File, ConfigSchema)
+     */
+    default Config create(final @NonNull String filename, final @NonNull ConfigSchema schema) {
+        return create(new File(defDir(), filename), schema);
+    }
+
+    /**
+     * Creates a configuration instance for the specified file that is
+     * validated against the schema.
+     * <p>
+     * The schema stays attached to the file: every later reload is validated
+     * as well, and a reload that fails validation keeps the previous state.
+     * Validation fills in missing defaults and converts values into their
+     * declared types, so reads can rely on well-typed data.
+     * </p>
+     *
+     * @param file the configuration file
+     * @param schema the schema the configuration must match
+     * @return a new {@link Config} instance
+     * @throws NullPointerException if file or schema is null
+     * @throws SchemaValidationException if the configuration doesn't match the schema
+     * @throws UnsupportedOperationException if the implementation doesn't support schemas
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    default Config create(final @NonNull File file, final @NonNull ConfigSchema schema) {
+        throw new UnsupportedOperationException("Schemas are not supported by " + getClass().getName());
+    }
+
     /**
      * Reloads the configuration from its source file.
      *
@@ -95,6 +139,41 @@ public interface ConfigFactory extends Initializable {
      */
     void reload(final @NonNull File file);
 
+    /**
+     * Reloads the configuration only if its source file changed since it
+     * was last loaded or saved.
+     *
+     * @param config the configuration to reload
+     * @return true if the configuration was reloaded
+     * @throws NullPointerException if config is null
+     * @author LeyCM
+     * @since 1.0.3
+     * @see #reloadIfChanged(File)
+     */
+    default boolean reloadIfChanged(final @NonNull Config config) {
+        return reloadIfChanged(config.file());
+    }
+
+    /**
+     * Reloads the configuration from the specified file only if the file
+     * changed since it was last loaded or saved. Unlike {@link #reload(File)},
+     * unsaved changes are kept if the file is unchanged, which makes this
+     * cheap enough to call periodically for many files.
+     * <p>
+     * The default implementation can't detect changes and always reloads.
+     * </p>
+     *
+     * @param file the configuration file to reload
+     * @return true if the configuration was reloaded
+     * @throws NullPointerException if file is null
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    default boolean reloadIfChanged(final @NonNull File file) {
+        reload(file);
+        return true;
+    }
+
     /**
      * Saves the configuration to its source file.
      *
@@ -118,6 +197,116 @@ public interface ConfigFactory extends Initializable {
      */
     void save(final @NonNull File file);
 
+    /**
+     * Creates a configuration instance for the specified filename without
+     * blocking the caller.
+     *
+     * @param filename the name of the configuration file
+     * @return a future completed with the {@link Config} instance
+     * @throws NullPointerException if filename is null
+     * @author LeyCM
+     * @since 1.0.3
+     * @see #createAsync(File)
+     */
+    default CompletableFuture<Config> createAsync(final @NonNull String filename) {
+        return createAsync(new File(defDir(), filename));
+    }
+
+    /**
+     * Creates a configuration instance for the specified file without
+     * blocking the caller.
+     * <p>
+     * Reading and parsing run on the {@link #asyncExecutor()}. Implementations
+     * should run asynchronous operations on the same file in the order they
+     * were requested.
+     * </p>
+     *
+     * @param file the configuration file
+     * @return a future completed with the {@link Config} instance, or
+     *         exceptionally if loading fails
+     * @throws NullPointerException if file is null
+     * @author LeyCM
+     * @since 1.0.3
+     * @see #create(File)
+     */
+    default CompletableFuture<Config> createAsync(final @NonNull File file) {
+        return CompletableFuture.supplyAsync(() -> create(file), asyncExecutor());
+    }
+
+    /**
+     * Reloads the configuration from its source file without blocking the caller.
+     *
+     * @param config the configuration to reload
+     * @return a future completed once the configuration is reloaded
+     * @throws NullPointerException if config is null
+     * @author LeyCM
+     * @since 1.0.3
+     * @see #reloadAsync(File)
+     */
+    default CompletableFuture<Void> reloadAsync(final @NonNull Config config) {
+        return reloadAsync(config.file());
+    }
+
+    /**
+     * Reloads the configuration from the specified file without blocking the caller.
+     *
+     * @param file the configuration file to reload
+     * @return a future completed once the configuration is reloaded, or
+     *         exceptionally if reloading fails
+     * @throws NullPointerException if file is null
+     * @author LeyCM
+     * @since 1.0.3
+     * @see #reload(File)
+     */
+    default CompletableFuture<Void> reloadAsync(final @NonNull File file) {
+        return CompletableFuture.runAsync(() -> reload(file), asyncExecutor());
+    }
+
+    /**
+     * Saves the configuration to its source file without blocking the caller.
+     *
+     * @param config the configuration to save
+     * @return a future completed once the configuration is written
+     * @throws NullPointerException if config is null
+     * @author LeyCM
+     * @since 1.0.3
+     * @see #saveAsync(File)
+     */
+    default CompletableFuture<Void> saveAsync(final @NonNull Config config) {
+        return saveAsync(config.file());
+    }
+
+    /**
+     * Saves the configuration to the specified file without blocking the caller.
+     *
+     * @param file the configuration file to save to
+     * @return a future completed once the configuration is written, or
+     *         exceptionally if saving fails
+     * @throws NullPointerException if file is null
+     * @author LeyCM
+     * @since 1.0.3
+     * @see #save(File)
+     */
+    default CompletableFuture<Void> saveAsync(final @NonNull File file) {
+        return CompletableFuture.runAsync(() -> save(file), asyncExecutor());
+    }
+
+    /**
+     * Returns the executor asynchronous operations run on.
+     * <p>
+     * The default starts a virtual thread per operation, so blocking file
+     * I/O doesn't tie up platform threads.
+     * </p>
+     *
+     * @return the executor for asynchronous operations
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    @NonNull
+    default Executor asyncExecutor() {
+        return Thread::startVirtualThread;
+    }
+
     /**
      * Returns the default configuration directory.
      *
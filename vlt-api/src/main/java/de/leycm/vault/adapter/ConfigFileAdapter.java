@@ -13,7 +13,9 @@ package de.leycm.vault.adapter;
 import de.leycm.vault.ConfigFactory;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Adapter interface for reading and writing configuration files in specific formats.
@@ -61,4 +63,77 @@ public interface ConfigFileAdapter {
      */
     String updateValue(String current, String key, Object value) throws IOException;
 
-}
\ No newline at end of file
+    /**
+     * Reads configuration data from the raw file content.
+     * <p>
+     * The factory always reads through this method. The default decodes the
+     * content as UTF-8 and delegates to {@link #read(String)}; binary formats
+     * override it to work on the bytes directly.
+     * </p>
+     *
+     * @param content the raw configuration file content
+     * @return a map representing the configuration data
+     * @throws IOException if reading or parsing fails
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    default Map<String, Object> readBytes(byte[] content) throws IOException {
+        return read(new String(content, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads configuration data from the raw content of a large file, using
+     * the pool to parse parts of it concurrently.
+     * <p>
+     * The factory calls this instead of {@link #readBytes(byte[])} for files
+     * above its parallel parse threshold when a parse pool is set. The result
+     * must be the same as that of {@link #readBytes(byte[])}, including the
+     * key order. The default parses sequentially.
+     * </p>
+     *
+     * @param content the raw configuration file content
+     * @param pool the pool to parse on
+     * @return a map representing the configuration data
+     * @throws IOException if reading or parsing fails
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    default Map<String, Object> readParallel(byte[] content, ForkJoinPool pool) throws IOException {
+        return readBytes(content);
+    }
+
+    /**
+     * Writes configuration data to the raw file content.
+     * <p>
+     * The factory always writes through this method. The default delegates to
+     * {@link #write(String, Map)} and encodes the result as UTF-8.
+     * </p>
+     *
+     * @param current the current raw file content (for preserving format/comments)
+     * @param data the configuration data to write
+     * @return the serialized configuration
+     * @throws IOException if writing or serialization fails
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    default byte[] writeBytes(byte[] current, Map<String, Object> data) throws IOException {
+        return write(new String(current, StandardCharsets.UTF_8), data).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks whether the maps returned by this adapter decode their values
+     * on first access instead of while reading.
+     * <p>
+     * The factory skips its parse cache for such adapters, as storing a
+     * snapshot of the tree would decode it eagerly.
+     * </p>
+     *
+     * @return {@code true} if read values are decoded lazily
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    default boolean decodesLazily() {
+        return false;
+    }
+
+}
@@ -0,0 +1,52 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.adapter;
+
+import de.leycm.vault.ConfigFactory;
+
+/**
+ * Service provider for a file format, discovered through
+ * {@link java.util.ServiceLoader} from
+ * {@code META-INF/services/de.leycm.vault.adapter.ConfigFileAdapterProvider}.
+ * <p>
+ * Providers are cheap to construct and must not touch the classes of the
+ * underlying parser library. The factory only calls {@link #create()}
+ * when a file with one of the extensions is first read or written, so
+ * formats that are never used never load their library.
+ * </p>
+ *
+ * @author LeyCM
+ * @since 1.0.3
+ * @see ConfigFactory#registerFileAdapter(ConfigFileAdapter, String...)
+ */
+public interface ConfigFileAdapterProvider {
+
+    /**
+     * Returns the file extensions handled by the adapter, without the dot.
+     * Adapters registered explicitly for an extension take precedence.
+     *
+     * @return the supported file extensions (e.g., "yml", "yaml")
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    String[] extensions();
+
+    /**
+     * Creates the adapter. Called at most once per factory, on first use
+     * of one of the extensions; the adapter is shared by all threads.
+     *
+     * @return a new file adapter
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    ConfigFileAdapter create();
+
+}
@@ -0,0 +1,54 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.change;
+
+import org.jetbrains.annotations.Nullable;
+
+import lombok.NonNull;
+
+/**
+ * A single change of a configuration value, as reported to a {@link ConfigChangeListener}.
+ * Changes of a batch are coalesced per path: the old value is the one before
+ * the batch and the new value the one after it.
+ *
+ * @param path the full configuration path that changed
+ * @param oldValue the previous raw value, or null if the path didn't exist
+ * @param newValue the new raw value, or null if the path was removed
+ * @author LeyCM
+ * @since 1.0.3
+ */
+public record ConfigChange(@NonNull String path,
+                           @Nullable Object oldValue,
+                           @Nullable Object newValue) {
+
+    /**
+     * Checks whether the path was newly created by this change.
+     *
+     * @return true if there was no previous value
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    public boolean isAdded() {
+        return oldValue == null && newValue != null;
+    }
+
+    /**
+     * Checks whether the path was removed by this change.
+     *
+     * @return true if there is no new value
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    public boolean isRemoved() {
+        return oldValue != null && newValue == null;
+    }
+
+}
@@ -0,0 +1,40 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.change;
+
+import de.leycm.vault.Config;
+
+import lombok.NonNull;
+import java.util.List;
+
+/**
+ * Listener notified after values of a {@link Config} changed. A single
+ * {@code set} produces one change; a batch produces one coalesced diff.
+ * Listeners are called on the writing thread after the changes were applied.
+ *
+ * @author LeyCM
+ * @since 1.0.3
+ * @see Config#addChangeListener(ConfigChangeListener)
+ */
+@FunctionalInterface
+public interface ConfigChangeListener {
+
+    /**
+     * Called after the configuration changed.
+     *
+     * @param config the configuration that changed
+     * @param changes the changes in the order their paths were first written
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    void onChange(final @NonNull Config config, final @NonNull List<ConfigChange> changes);
+
+}
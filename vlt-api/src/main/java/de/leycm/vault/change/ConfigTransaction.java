@@ -0,0 +1,76 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.change;
+
+import de.leycm.vault.Config;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.NonNull;
+import java.util.Optional;
+
+/**
+ * Mutations applied within {@link Config#batch(java.util.function.Consumer)}.
+ * Reads through the transaction see its own writes.
+ *
+ * @author LeyCM
+ * @since 1.0.3
+ */
+public interface ConfigTransaction {
+
+    /**
+     * Sets a value within the transaction.
+     *
+     * @param <T> the type of the value
+     * @param path the configuration path
+     * @param value the value to set, or null to remove the value
+     * @throws NullPointerException if path is null
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    <T> void set(final @NonNull String path,
+                 final @Nullable T value);
+
+    /**
+     * Removes a value within the transaction.
+     *
+     * @param path the configuration path to remove
+     * @throws NullPointerException if path is null
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    default void remove(final @NonNull String path) {
+        set(path, null);
+    }
+
+    /**
+     * Retrieves a value, including changes made by this transaction.
+     *
+     * @param <T> the type of the configuration value
+     * @param path the configuration path
+     * @param type the class of the expected value type
+     * @return an {@link Optional} containing the value if found
+     * @throws NullPointerException if path or type is null
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    @NonNull
+    <T> Optional<T> getOptional(final @NonNull String path,
+                                final @NonNull Class<T> type);
+
+    /**
+     * Saves the configuration once after the transaction committed.
+     *
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    void saveOnCommit();
+
+}
@@ -14,7 +14,9 @@ import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Represents a list field in the configuration with element-level operations.
@@ -101,8 +103,72 @@ public interface FieldList<T> extends Field<List<T>> {
      */
     default Optional<T> getOptional(int i) {
         List<T> it = get();
-        if (it == null) return Optional.empty();
-        return Optional.of(it.get(i));
+        if (it == null || i < 0 || i >= it.size()) return Optional.empty();
+        return Optional.ofNullable(it.get(i));
+    }
+
+    /**
+     * Returns the number of elements in the list, or 0 if the list doesn't exist.
+     *
+     * @return the size of the list
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    default int size() {
+        List<T> it = get();
+        return it == null ? 0 : it.size();
+    }
+
+    /**
+     * Returns a read-only view of the list. Implementations may convert
+     * elements lazily on access instead of copying the whole list up front.
+     *
+     * @return a read-only view of the list, empty if the list doesn't exist
+     * @author LeyCM
+     * @since 1.0.3
+     * @see #page(int, int)
+     * @see #stream()
+     */
+    @NonNull
+    default List<T> view() {
+        List<T> it = get();
+        return it == null ? List.of() : Collections.unmodifiableList(it);
+    }
+
+    /**
+     * Returns a read-only window of at most {@code limit} elements starting at {@code offset}.
+     * Out of range windows are clamped to the list bounds.
+     *
+     * @param offset the index of the first element
+     * @param limit the maximum number of elements
+     * @return a read-only view of the requested window
+     * @throws IllegalArgumentException if offset or limit is negative
+     * @author LeyCM
+     * @since 1.0.3
+     * @see #view()
+     */
+    @NonNull
+    default List<T> page(int offset, int limit) {
+        if (offset < 0 || limit < 0)
+            throw new IllegalArgumentException("Negative page bounds: " + offset + ", " + limit);
+
+        List<T> view = view();
+        int from = Math.min(offset, view.size());
+        int to = (int) Math.min((long) from + limit, view.size());
+        return view.subList(from, to);
+    }
+
+    /**
+     * Returns a sequential stream over the elements of the list.
+     *
+     * @return a stream of the list elements, empty if the list doesn't exist
+     * @author LeyCM
+     * @since 1.0.3
+     * @see #view()
+     */
+    @NonNull
+    default Stream<T> stream() {
+        return view().stream();
     }
 
     /**
@@ -115,11 +181,10 @@ public interface FieldList<T> extends Field<List<T>> {
      * @since 1.0.2
      */
     default void set(int i, final T value) {
-        List<T> it = getOr(new ArrayList<>()); set(it);
-        if (value != null) {
-            it.set(i, value);
-            return;
-        } it.remove(i);
+        List<T> it = new ArrayList<>(getOr(new ArrayList<>()));
+        if (value != null) it.set(i, value);
+        else it.remove(i);
+        set(it);
     }
 
     /**
@@ -131,8 +196,9 @@ public interface FieldList<T> extends Field<List<T>> {
      * @since 1.0.2
      */
     default void add(final @NonNull T value) {
-        List<T> it = getOr(new ArrayList<>()); set(it);
+        List<T> it = new ArrayList<>(getOr(new ArrayList<>()));
         it.add(value);
+        set(it);
     }
 
     /**
@@ -145,8 +211,44 @@ public interface FieldList<T> extends Field<List<T>> {
      * @since 1.0.2
      */
     default void add(int i, final @NonNull T value) {
-        List<T> it = getOr(new ArrayList<>()); set(it);
+        List<T> it = new ArrayList<>(getOr(new ArrayList<>()));
         it.add(i, value);
+        set(it);
+    }
+
+    /**
+     * Adds all elements of the given collection to the end of the list.
+     *
+     * @param values the values to add
+     * @throws NullPointerException if values is null
+     * @author LeyCM
+     * @since 1.0.3
+     * @see #add(Object)
+     */
+    default void addAll(final @NonNull Collection<? extends T> values) {
+        List<T> it = new ArrayList<>(getOr(new ArrayList<>()));
+        it.addAll(values);
+        set(it);
+    }
+
+    /**
+     * Removes all elements of the list that match the given predicate.
+     *
+     * @param filter the predicate selecting the elements to remove
+     * @return true if any element was removed
+     * @throws NullPointerException if filter is null
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    default boolean removeIf(final @NonNull Predicate<? super T> filter) {
+        List<T> it = get();
+        if (it == null) return false;
+
+        List<T> copy = new ArrayList<>(it);
+        if (!copy.removeIf(filter)) return false;
+
+        set(copy);
+        return true;
     }
 
     /**
@@ -0,0 +1,92 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.metrics;
+
+import de.leycm.vault.ConfigFactory;
+
+import lombok.NonNull;
+import java.io.File;
+
+/**
+ * Service interface receiving instrumentation events from a {@link ConfigFactory}
+ * and the configurations it creates. All methods default to no-ops, so
+ * implementations only override the events they are interested in.
+ * Implementations must be thread-safe and should not block.
+ *
+ * @author LeyCM
+ * @since 1.0.3
+ */
+public interface MetricsRecorder {
+
+    /**
+     * Recorder that ignores every event. Factories skip timing and
+     * size measurements entirely while this recorder is installed.
+     *
+     * @since 1.0.3
+     */
+    MetricsRecorder NOOP = new MetricsRecorder() {};
+
+    /**
+     * Called after a configuration file was read and parsed.
+     *
+     * @param file the configuration file
+     * @param bytes the number of bytes read
+     * @param nanos the time spent reading and parsing
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    default void onLoad(final @NonNull File file, long bytes, long nanos) {}
+
+    /**
+     * Called after a configuration was reloaded from its file.
+     *
+     * @param file the configuration file
+     * @param nanos the time spent reloading
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    default void onReload(final @NonNull File file, long nanos) {}
+
+    /**
+     * Called after a configuration was serialized and written to its file.
+     *
+     * @param file the configuration file
+     * @param bytes the number of bytes written
+     * @param nanos the time spent serializing and writing
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    default void onSave(final @NonNull File file, long bytes, long nanos) {}
+
+    /**
+     * Called for every value lookup on a configuration.
+     *
+     * @param file the configuration file
+     * @param hit true if a value was found and converted
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    default void onLookup(final @NonNull File file, boolean hit) {}
+
+    /**
+     * Called when a type adapter failed to convert a value.
+     *
+     * @param file the configuration file
+     * @param path the path of the value
+     * @param type the type the value should have been converted to or from
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    default void onConversionFailure(final @NonNull File file,
+                                     final @NonNull String path,
+                                     final @NonNull Class<?> type) {}
+
+}
@@ -0,0 +1,241 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.query;
+
+import de.leycm.vault.Config;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import lombok.NonNull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A compiled path pattern matching any number of values of a configuration.
+ * <p>
+ * Patterns are paths whose keys may be replaced by wildcards: {@code *}
+ * matches every key of a section, {@code **} matches any number of nested
+ * sections and list elements, including none. Keys may be followed by list
+ * indices, either {@code [n]} for a single element or {@code [*]} for all
+ * of them. Match paths use the same notation, such as
+ * {@code kits.pvp.items[0].id}.
+ * </p>
+ *
+ * <pre>{@code
+ * ConfigQuery ports = ConfigQuery.compile("servers.*.port").cached();
+ *
+ * config.query(ports, Integer.class)
+ *         .forEach(match -> open(match.path(), match.value()));
+ * }</pre>
+ *
+ * @author LeyCM
+ * @since 1.0.3
+ * @see Config#query(ConfigQuery, Class)
+ */
+public final class ConfigQuery {
+
+    private static final String PATH_SEPARATOR = ".";
+
+    private final String pattern;
+    private final List<Segment> segments;
+    private final boolean cached;
+
+    private ConfigQuery(final @NonNull String pattern, final @NonNull List<Segment> segments, boolean cached) {
+        this.pattern = pattern;
+        this.segments = segments;
+        this.cached = cached;
+    }
+
+    /**
+     * Compiles a pattern into a query.
+     *
+     * @param pattern the pattern, such as {@code kits.*.items[*].id}
+     * @return the compiled query
+     * @throws NullPointerException if pattern is null
+     * @throws IllegalArgumentException if the pattern is malformed
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    public static @NonNull ConfigQuery compile(final @NonNull String pattern) {
+        if (pattern.isEmpty()) throw new IllegalArgumentException("Pattern must not be empty");
+
+        List<Segment> segments = new ArrayList<>();
+        for (String part : pattern.split("\\" + PATH_SEPARATOR, -1)) parse(pattern, part, segments);
+
+        return new ConfigQuery(pattern, List.copyOf(segments), false);
+    }
+
+    /**
+     * Returns a copy of this query whose matches are cached by the
+     * configuration until one of its values is set or removed.
+     * <p>
+     * The cache only tracks writes through the configuration, so lists
+     * mutated in place through a {@link de.leycm.vault.field.FieldList}
+     * are only seen by uncached queries.
+     * </p>
+     *
+     * @return the cached variant of this query
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    public @NonNull ConfigQuery cached() {
+        return cached ? this : new ConfigQuery(pattern, segments, true);
+    }
+
+    /**
+     * Returns the pattern this query was compiled from.
+     *
+     * @return the source pattern
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    public @NonNull String pattern() {
+        return pattern;
+    }
+
+    /**
+     * Returns the compiled segments of the pattern, in path order.
+     *
+     * @return the segments of this query
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    public @NonNull @Unmodifiable List<Segment> segments() {
+        return segments;
+    }
+
+    /**
+     * Checks whether the matches of this query are cached.
+     *
+     * @return true if created through {@link #cached()}
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    public boolean isCached() {
+        return cached;
+    }
+
+    /**
+     * Checks whether the query contains more than one {@code **}, in which
+     * case a value may be reached through several segments and matches
+     * have to be deduplicated.
+     *
+     * @return true if the pattern has several deep wildcards
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    public boolean hasAmbiguousDepth() {
+        int deep = 0;
+        for (Segment segment : segments) if (segment.kind() == Kind.DEEP) deep++;
+        return deep > 1;
+    }
+
+    /**
+     * Returns a query matching this pattern below the given section path.
+     *
+     * @param path the path of the section, or an empty path for the root
+     * @return the query with the section path prepended
+     * @throws NullPointerException if path is null
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    public @NonNull ConfigQuery under(final @NonNull String path) {
+        if (path.isEmpty()) return this;
+
+        ConfigQuery query = compile(path + PATH_SEPARATOR + pattern);
+        return cached ? query.cached() : query;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ConfigQuery query && query.pattern.equals(pattern);
+    }
+
+    @Override
+    public int hashCode() {
+        return pattern.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    private static void parse(String pattern, String part, List<Segment> segments) {
+        int bracket = part.indexOf('[');
+        String key = bracket < 0 ? part : part.substring(0, bracket);
+
+        if (key.isEmpty()) throw new IllegalArgumentException("Empty key in pattern: " + pattern);
+
+        if (key.equals("**")) {
+            if (bracket >= 0) throw new IllegalArgumentException("Indices after ** in pattern: " + pattern);
+            segments.add(new Segment(Kind.DEEP, null, -1));
+            return;
+        }
+
+        segments.add(key.equals("*") ? new Segment(Kind.ANY_KEY, null, -1) : new Segment(Kind.KEY, key, -1));
+
+        while (bracket >= 0) {
+            int close = part.indexOf(']', bracket);
+            if (close < 0) throw new IllegalArgumentException("Unclosed index in pattern: " + pattern);
+
+            String index = part.substring(bracket + 1, close);
+
+            if (index.equals("*")) {
+                segments.add(new Segment(Kind.ANY_INDEX, null, -1));
+            } else {
+                try {
+                    int value = Integer.parseInt(index);
+                    if (value < 0) throw new NumberFormatException();
+                    segments.add(new Segment(Kind.INDEX, null, value));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid index [" + index + "] in pattern: " + pattern);
+                }
+            }
+
+            bracket = close + 1;
+            if (bracket == part.length()) break;
+            if (part.charAt(bracket) != '[')
+                throw new IllegalArgumentException("Unexpected text after index in pattern: " + pattern);
+        }
+    }
+
+    /**
+     * The kind of a {@link Segment}.
+     *
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    public enum Kind {
+        /** A single section key. */
+        KEY,
+        /** Every key of a section, {@code *}. */
+        ANY_KEY,
+        /** Any number of nested sections and list elements, {@code **}. */
+        DEEP,
+        /** A single list element, {@code [n]}. */
+        INDEX,
+        /** Every element of a list, {@code [*]}. */
+        ANY_INDEX
+    }
+
+    /**
+     * A single step of a compiled pattern.
+     *
+     * @param kind the kind of the step
+     * @param key the section key for {@link Kind#KEY}, null otherwise
+     * @param index the list index for {@link Kind#INDEX}, -1 otherwise
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    public record Segment(@NonNull Kind kind, @Nullable String key, int index) {}
+
+}
@@ -0,0 +1,61 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.query;
+
+import de.leycm.vault.Config;
+
+import lombok.NonNull;
+
+/**
+ * Callback for a depth-first walk over a configuration section, see
+ * {@link Config#visit(String, ConfigVisitor)}. Paths are full paths
+ * relative to the visited configuration.
+ *
+ * @author LeyCM
+ * @since 1.0.3
+ */
+@FunctionalInterface
+public interface ConfigVisitor {
+
+    /**
+     * Called before the values of a nested section are visited.
+     *
+     * @param path the path of the section
+     * @param size the number of keys of the section
+     * @return true to visit the section, false to skip it
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    default boolean enterSection(final @NonNull String path, int size) {
+        return true;
+    }
+
+    /**
+     * Called after all values of an entered section were visited.
+     *
+     * @param path the path of the section
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    default void exitSection(final @NonNull String path) {}
+
+    /**
+     * Called for every value that isn't a section. Lists are passed as
+     * unmodifiable views.
+     *
+     * @param path the path of the value
+     * @param value the raw value
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    void visitValue(final @NonNull String path, final @NonNull Object value);
+
+}
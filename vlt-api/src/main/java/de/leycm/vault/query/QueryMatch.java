@@ -0,0 +1,24 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.query;
+
+import lombok.NonNull;
+
+/**
+ * A value matched by a {@link ConfigQuery}.
+ *
+ * @param <T> the type the value was converted to
+ * @param path the path of the value relative to the queried section, such as {@code kits.pvp.items[0].id}
+ * @param value the matched value
+ * @author LeyCM
+ * @since 1.0.3
+ */
+public record QueryMatch<T>(@NonNull String path, @NonNull T value) {}
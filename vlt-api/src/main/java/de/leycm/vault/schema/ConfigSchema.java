@@ -0,0 +1,273 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.schema;
+
+import de.leycm.vault.ConfigFactory;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import lombok.NonNull;
+import java.util.*;
+
+/**
+ * Declares the expected shape of a configuration: value types, required
+ * keys, defaults, numeric ranges, list element types and nested sections.
+ * <p>
+ * A schema is immutable and only describes the configuration; the factory
+ * compiles it once into a validator that checks the whole tree in a single
+ * pass whenever the configuration is created or reloaded, fills in missing
+ * defaults and converts leaves into their declared type.
+ * </p>
+ *
+ * <pre>{@code
+ * ConfigSchema player = ConfigSchema.builder()
+ *         .required("name", String.class)
+ *         .withDefault("balance", Double.class, 0.0)
+ *         .build();
+ *
+ * ConfigSchema schema = ConfigSchema.builder()
+ *         .required("server.port", Integer.class).range("server.port", 1, 65535)
+ *         .optional("motd", List.class).elements("motd", String.class)
+ *         .sections("players", player)
+ *         .build();
+ * }</pre>
+ *
+ * @author LeyCM
+ * @since 1.0.3
+ * @see ConfigFactory#create(java.io.File, ConfigSchema)
+ */
+public final class ConfigSchema {
+
+    private final List<Rule> rules;
+
+    private ConfigSchema(final @NonNull List<Rule> rules) {
+        this.rules = List.copyOf(rules);
+    }
+
+    /**
+     * Creates a builder for a new schema.
+     *
+     * @return an empty schema builder
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    public static @NonNull Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the rules of this schema, in declaration order.
+     *
+     * @return the rules of this schema
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    public @NonNull @Unmodifiable List<Rule> rules() {
+        return rules;
+    }
+
+    /**
+     * The expectations for a single path.
+     *
+     * @param path the path relative to the section the schema applies to
+     * @param type the expected value type, converted through the registered type adapters
+     * @param required whether a missing value is a violation
+     * @param defaultValue the value filled in if the path is missing, or null for none
+     * @param min the smallest allowed numeric value
+     * @param max the largest allowed numeric value
+     * @param elementType the expected type of list elements, or null if unchecked
+     * @param schema the schema of the section at the path, or null if it isn't a section
+     * @param perEntry whether the schema applies to every entry of the section instead of the section itself
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    public record Rule(@NonNull String path,
+                       @NonNull Class<?> type,
+                       boolean required,
+                       @Nullable Object defaultValue,
+                       double min,
+                       double max,
+                       @Nullable Class<?> elementType,
+                       @Nullable ConfigSchema schema,
+                       boolean perEntry) {
+
+        /**
+         * Checks whether the rule restricts numeric values to a range.
+         *
+         * @return true if a range was declared
+         * @author LeyCM
+         * @since 1.0.3
+         */
+        public boolean hasRange() {
+            return min != Double.NEGATIVE_INFINITY || max != Double.POSITIVE_INFINITY;
+        }
+
+    }
+
+    /**
+     * Collects the rules of a {@link ConfigSchema}. Declaring a path again
+     * replaces its previous rule.
+     *
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    public static final class Builder {
+
+        private final Map<String, Rule> rules = new LinkedHashMap<>();
+
+        private Builder() {}
+
+        /**
+         * Declares a value that must be present.
+         *
+         * @param path the configuration path
+         * @param type the expected value type
+         * @return this builder
+         * @throws NullPointerException if path or type is null
+         * @author LeyCM
+         * @since 1.0.3
+         */
+        public @NonNull Builder required(final @NonNull String path, final @NonNull Class<?> type) {
+            return rule(path, type, true, null, null, false);
+        }
+
+        /**
+         * Declares a value that may be missing, but must match the type if present.
+         *
+         * @param path the configuration path
+         * @param type the expected value type
+         * @return this builder
+         * @throws NullPointerException if path or type is null
+         * @author LeyCM
+         * @since 1.0.3
+         */
+        public @NonNull Builder optional(final @NonNull String path, final @NonNull Class<?> type) {
+            return rule(path, type, false, null, null, false);
+        }
+
+        /**
+         * Declares a value that is filled in with the default if missing.
+         *
+         * @param <T> the type of the value
+         * @param path the configuration path
+         * @param type the expected value type
+         * @param value the default value
+         * @return this builder
+         * @throws NullPointerException if any argument is null
+         * @author LeyCM
+         * @since 1.0.3
+         */
+        public @NonNull <T> Builder withDefault(final @NonNull String path,
+                                                final @NonNull Class<T> type,
+                                                final @NonNull T value) {
+            return rule(path, type, false, value, null, false);
+        }
+
+        /**
+         * Declares a section whose content must match the schema.
+         *
+         * @param path the configuration path of the section
+         * @param schema the schema of the section
+         * @param required whether the section must be present
+         * @return this builder
+         * @throws NullPointerException if path or schema is null
+         * @author LeyCM
+         * @since 1.0.3
+         */
+        public @NonNull Builder section(final @NonNull String path,
+                                        final @NonNull ConfigSchema schema,
+                                        boolean required) {
+            return rule(path, Map.class, required, null, schema, false);
+        }
+
+        /**
+         * Declares a section whose entries are sections that each must match
+         * the schema, such as a map of players by id.
+         *
+         * @param path the configuration path of the section
+         * @param schema the schema of every entry
+         * @return this builder
+         * @throws NullPointerException if path or schema is null
+         * @author LeyCM
+         * @since 1.0.3
+         */
+        public @NonNull Builder sections(final @NonNull String path, final @NonNull ConfigSchema schema) {
+            return rule(path, Map.class, false, null, schema, true);
+        }
+
+        /**
+         * Restricts a declared numeric value to a range.
+         *
+         * @param path the configuration path of a declared value
+         * @param min the smallest allowed value
+         * @param max the largest allowed value
+         * @return this builder
+         * @throws IllegalStateException if the path wasn't declared
+         * @throws IllegalArgumentException if min is greater than max
+         * @author LeyCM
+         * @since 1.0.3
+         */
+        public @NonNull Builder range(final @NonNull String path, double min, double max) {
+            if (min > max) throw new IllegalArgumentException("Invalid range [" + min + ", " + max + "]");
+
+            Rule rule = declared(path);
+            rules.put(path, new Rule(path, rule.type(), rule.required(), rule.defaultValue(), min, max,
+                    rule.elementType(), rule.schema(), rule.perEntry()));
+            return this;
+        }
+
+        /**
+         * Declares the element type of a declared list value.
+         *
+         * @param path the configuration path of a declared value
+         * @param elementType the expected type of every element
+         * @return this builder
+         * @throws IllegalStateException if the path wasn't declared
+         * @author LeyCM
+         * @since 1.0.3
+         */
+        public @NonNull Builder elements(final @NonNull String path, final @NonNull Class<?> elementType) {
+            Rule rule = declared(path);
+            rules.put(path, new Rule(path, List.class, rule.required(), rule.defaultValue(), rule.min(), rule.max(),
+                    elementType, rule.schema(), rule.perEntry()));
+            return this;
+        }
+
+        /**
+         * Creates the schema.
+         *
+         * @return the immutable schema
+         * @author LeyCM
+         * @since 1.0.3
+         */
+        public @NonNull ConfigSchema build() {
+            return new ConfigSchema(new ArrayList<>(rules.values()));
+        }
+
+        private @NonNull Builder rule(String path, Class<?> type, boolean required,
+                                      @Nullable Object defaultValue, @Nullable ConfigSchema schema,
+                                      boolean perEntry) {
+            if (path.isEmpty()) throw new IllegalArgumentException("Path must not be empty");
+
+            rules.put(path, new Rule(path, type, required, defaultValue,
+                    Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, null, schema, perEntry));
+            return this;
+        }
+
+        private @NonNull Rule declared(String path) {
+            Rule rule = rules.get(path);
+            if (rule == null) throw new IllegalStateException("Path not declared: " + path);
+            return rule;
+        }
+
+    }
+
+}
@@ -0,0 +1,78 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.schema;
+
+import org.jetbrains.annotations.Unmodifiable;
+
+import lombok.NonNull;
+import java.io.File;
+import java.util.List;
+
+/**
+ * Thrown when a configuration doesn't match its {@link ConfigSchema}.
+ * Carries every violation found, not only the first one.
+ *
+ * @author LeyCM
+ * @since 1.0.3
+ */
+public class SchemaValidationException extends RuntimeException {
+
+    private final File file;
+    private final List<SchemaViolation> violations;
+
+    /**
+     * Creates an exception for the violations found in the file.
+     *
+     * @param file the validated configuration file
+     * @param violations the violations, in tree order
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    public SchemaValidationException(final @NonNull File file,
+                                     final @NonNull List<SchemaViolation> violations) {
+        super(message(file, violations));
+        this.file = file;
+        this.violations = List.copyOf(violations);
+    }
+
+    /**
+     * Returns the validated configuration file.
+     *
+     * @return the configuration file
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    public @NonNull File file() {
+        return file;
+    }
+
+    /**
+     * Returns all violations found.
+     *
+     * @return the violations, in tree order
+     * @author LeyCM
+     * @since 1.0.3
+     */
+    public @NonNull @Unmodifiable List<SchemaViolation> violations() {
+        return violations;
+    }
+
+    private static String message(File file, List<SchemaViolation> violations) {
+        StringBuilder message = new StringBuilder()
+                .append(violations.size()).append(" schema violation(s) in ").append(file.getPath());
+
+        for (SchemaViolation violation : violations)
+            message.append(System.lineSeparator()).append("  ").append(violation);
+
+        return message.toString();
+    }
+
+}
@@ -0,0 +1,31 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.schema;
+
+import lombok.NonNull;
+
+/**
+ * A single value that doesn't match its {@link ConfigSchema}.
+ *
+ * @param path the full configuration path of the value
+ * @param message a description of the mismatch
+ * @author LeyCM
+ * @since 1.0.3
+ */
+public record SchemaViolation(@NonNull String path,
+                              @NonNull String message) {
+
+    @Override
+    public String toString() {
+        return path + ": " + message;
+    }
+
+}
@@ -0,0 +1,103 @@
+import groovy.json.JsonSlurper
+
+/**
+ * ───────────────────────────────────────────────────────
+ *  JMH Benchmarks (not published)
+ * ───────────────────────────────────────────────────────
+ */
+
+plugins {
+    id("me.champeau.jmh") version "0.7.3"
+}
+
+dependencies {
+    jmh(project(":api"))
+    jmh(project(":common"))
+    jmh(project(":json"))
+    jmh(project(":yaml"))
+    jmh(project(":toml"))
+    jmh(libs.leyneck)
+    jmhCompileOnly(libs.jetanno)
+}
+
+//  ─────────────────────────────────────────────
+//  JMH Configuration
+//  ─────────────────────────────────────────────
+val jmhResults = layout.buildDirectory.file("results/jmh/results.json")
+val jmhBaseline = layout.projectDirectory.file("baseline/results.json")
+
+jmh {
+    jmhVersion.set("1.37")
+    profilers.set(listOf("gc"))
+    resultFormat.set("JSON")
+    resultsFile.set(jmhResults)
+
+    // e.g. ./gradlew :bench:jmh -Pjmh.includes=Lookup
+    (findProperty("jmh.includes") as String?)?.let { includes.set(listOf(it)) }
+}
+
+tasks.withType<PublishToMavenRepository> {
+    enabled = false
+}
+
+//  ─────────────────────────────────────────────
+//  Baseline Tasks
+//  ─────────────────────────────────────────────
+
+/**
+ * Stores the latest JMH results as the baseline for `jmhCompare`.
+ */
+tasks.register<Copy>("jmhBaseline") {
+    group = "benchmark"
+    description = "Stores the latest JMH results as baseline"
+
+    from(jmhResults)
+    into(jmhBaseline.asFile.parentFile)
+}
+
+/**
+ * Compares the latest JMH results against the stored baseline and fails
+ * if any benchmark regressed by more than `-Pjmh.threshold` percent (default 10).
+ */
+tasks.register("jmhCompare") {
+    group = "benchmark"
+    description = "Compares the latest JMH results against the stored baseline"
+
+    doLast {
+        val threshold = (findProperty("jmh.threshold") as String?)?.toDouble() ?: 10.0
+        val current = jmhResults.get().asFile
+        val baseline = jmhBaseline.asFile
+
+        if (!current.exists()) throw GradleException("No JMH results found, run :bench:jmh first")
+        if (!baseline.exists()) throw GradleException("No baseline found, run :bench:jmhBaseline first")
+
+        @Suppress("UNCHECKED_CAST")
+        fun scores(file: File): Map<String, Pair<String, Double>> =
+            (JsonSlurper().parse(file) as List<Map<String, Any?>>).associate { run ->
+                val params = (run["params"] as Map<String, Any?>?)
+                    ?.entries?.sortedBy { it.key }?.joinToString(",") { "${it.key}=${it.value}" }
+                val metric = run["primaryMetric"] as Map<String, Any?>
+                "${run["benchmark"]}($params)" to
+                        (run["mode"].toString() to (metric["score"] as Number).toDouble())
+            }
+
+        val before = scores(baseline)
+        val regressions = mutableListOf<String>()
+
+        scores(current).forEach { (name, result) ->
+            val (mode, score) = result
+            val old = before[name]?.second ?: return@forEach
+
+            // throughput is better when higher, every other mode when lower
+            val change = if (mode == "thrpt") (old - score) / old * 100 else (score - old) / old * 100
+            val line = "%-90s %12.3f -> %12.3f (%+.1f%%)".format(name, old, score, change)
+
+            println(line)
+            if (change > threshold) regressions += line
+        }
+
+        if (regressions.isNotEmpty())
+            throw GradleException("${regressions.size} benchmark(s) regressed by more than $threshold%:\n" +
+                    regressions.joinToString("\n"))
+    }
+}
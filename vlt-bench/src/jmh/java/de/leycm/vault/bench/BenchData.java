@@ -0,0 +1,108 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.bench;
+
+import de.leycm.vault.VaultFactory;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.*;
+
+/**
+ * Synthetic config trees and files shared by the benchmarks.
+ */
+public final class BenchData {
+
+    // rough serialized size of one generated player entry
+    private static final int BYTES_PER_ENTRY = 160;
+
+    private BenchData() {}
+
+    public static @NotNull VaultFactory factory() throws IOException {
+        VaultFactory factory = new VaultFactory(Files.createTempDirectory("vault-bench").toFile());
+        factory.onInstall();
+        return factory;
+    }
+
+    /**
+     * Parses sizes like {@code 1KB}, {@code 10MB} or {@code 512} into bytes.
+     */
+    public static long parseSize(@NotNull String size) {
+        String upper = size.trim().toUpperCase(Locale.ROOT);
+        if (upper.endsWith("KB")) return Long.parseLong(upper.substring(0, upper.length() - 2)) << 10;
+        if (upper.endsWith("MB")) return Long.parseLong(upper.substring(0, upper.length() - 2)) << 20;
+        return Long.parseLong(upper);
+    }
+
+    /**
+     * Builds a tree of roughly the given serialized size out of player entries.
+     */
+    public static @NotNull Map<String, Object> tree(long targetBytes) {
+        Random random = new Random(42);
+        Map<String, Object> players = new LinkedHashMap<>();
+        long entries = Math.max(1, targetBytes / BYTES_PER_ENTRY);
+
+        for (long i = 0; i < entries; i++) {
+            Map<String, Object> player = new LinkedHashMap<>();
+            player.put("name", "player-" + i);
+            player.put("level", (long) random.nextInt(100));
+            player.put("balance", random.nextDouble() * 1000);
+            player.put("online", random.nextBoolean());
+            player.put("home", new ArrayList<>(List.of((long) random.nextInt(1000),
+                    (long) random.nextInt(256), (long) random.nextInt(1000))));
+            players.put("p" + i, player);
+        }
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("motd", "Benchmark server");
+        settings.put("max-players", 100L);
+
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("settings", settings);
+        root.put("players", players);
+        return root;
+    }
+
+    /**
+     * Builds a chain of nested sections and returns its path, ending in a leaf value.
+     */
+    public static @NotNull String nested(@NotNull Map<String, Object> root, int depth) {
+        StringBuilder path = new StringBuilder();
+        Map<String, Object> current = root;
+
+        for (int i = 0; i < depth - 1; i++) {
+            Map<String, Object> next = new LinkedHashMap<>();
+            for (int sibling = 0; sibling < 8; sibling++) next.put("s" + sibling, (long) sibling);
+            current.put("k" + i, next);
+            current = next;
+            path.append("k").append(i).append('.');
+        }
+
+        current.put("leaf", 42L);
+        return path.append("leaf").toString();
+    }
+
+    /**
+     * Writes a generated tree in the format of the file extension through the factory.
+     */
+    public static @NotNull File write(@NotNull VaultFactory factory, @NotNull String format,
+                                      long targetBytes) throws IOException {
+        File file = new File(factory.defDir(), "bench-" + targetBytes + "." + format);
+        Files.deleteIfExists(file.toPath());
+
+        var config = factory.create(file);
+        tree(targetBytes).forEach(config::set);
+        factory.save(file);
+        return file;
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.bench;
+
+import de.leycm.vault.VaultConfig;
+import de.leycm.vault.VaultFactory;
+import de.leycm.vault.field.FieldList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldListBenchmark {
+
+    @Param({"100", "50000"})
+    private int size;
+
+    private VaultConfig config;
+    private FieldList<Integer> numbers;
+    private FieldList<String> strings;
+
+    @Setup(Level.Iteration)
+    public void setup() throws Exception {
+        VaultFactory factory = BenchData.factory();
+        config = new VaultConfig(new File(factory.defDir(), "list.json"), new LinkedHashMap<>(), factory);
+
+        List<Object> rawNumbers = new ArrayList<>(size);
+        List<Object> rawStrings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rawNumbers.add((long) i);
+            rawStrings.add("entry-" + i);
+        }
+
+        config.set("numbers", rawNumbers);
+        config.set("strings", rawStrings);
+        numbers = config.getFieldList("numbers", Integer.class);
+        strings = config.getFieldList("strings", String.class);
+    }
+
+    @Benchmark
+    public Integer getIndexed() {
+        return numbers.get(size / 2);
+    }
+
+    @Benchmark
+    public List<Integer> getWhole() {
+        return numbers.get();
+    }
+
+    @Benchmark
+    public int size() {
+        return numbers.size();
+    }
+
+    @Benchmark
+    public void page(Blackhole blackhole) {
+        for (Integer value : numbers.page(size / 2, 20)) blackhole.consume(value);
+    }
+
+    @Benchmark
+    public long stream() {
+        return strings.stream().filter(value -> value.endsWith("7")).count();
+    }
+
+    @Benchmark
+    public void append() {
+        strings.add("appended");
+    }
+
+    @Benchmark
+    public void setIndexed() {
+        strings.set(size / 2, "replaced");
+    }
+}
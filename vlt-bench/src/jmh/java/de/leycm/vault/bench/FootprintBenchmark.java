@@ -0,0 +1,90 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.bench;
+
+import de.leycm.vault.node.Nodes;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the retained heap of the default {@code LinkedHashMap} sections
+ * with {@code CompactMap} sections. The retained size is measured once per
+ * trial from the used heap after full collections and reported as the
+ * {@code retainedBytes} secondary result; the benchmark itself measures
+ * lookups in the resulting tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class FootprintBenchmark {
+
+    @Param({"linked", "compact"})
+    private String layout;
+
+    @Param({"1MB", "32MB"})
+    private String size;
+
+    private Map<String, Object> players;
+    private String[] keys;
+    private long retained;
+    private int next;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long retainedBytes;
+
+        @Setup(Level.Iteration)
+        public void report(FootprintBenchmark benchmark) {
+            retainedBytes = benchmark.retained;
+        }
+    }
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        long before = usedHeap();
+
+        Map<String, Object> root = BenchData.tree(BenchData.parseSize(size));
+        if (layout.equals("compact")) root = Nodes.compact(root);
+
+        retained = usedHeap() - before;
+        players = (Map<String, Object>) root.get("players");
+        keys = players.keySet().toArray(new String[0]);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Object lookup(Footprint footprint) {
+        String key = keys[(next++ & Integer.MAX_VALUE) % keys.length];
+        return ((Map<String, Object>) players.get(key)).get("balance");
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long used = Long.MAX_VALUE;
+
+        // the minimum over a few collections filters out concurrently freed garbage
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, memory.getHeapMemoryUsage().getUsed());
+        }
+
+        return used;
+    }
+}
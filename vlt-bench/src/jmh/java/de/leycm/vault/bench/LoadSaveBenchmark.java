@@ -0,0 +1,56 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.bench;
+
+import de.leycm.vault.Config;
+import de.leycm.vault.VaultFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LoadSaveBenchmark {
+
+    @Param({"json", "yml", "toml"})
+    private String format;
+
+    @Param({"1KB", "1MB", "100MB"})
+    private String size;
+
+    private VaultFactory factory;
+    private File file;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        factory = BenchData.factory();
+        file = BenchData.write(factory, format, BenchData.parseSize(size));
+    }
+
+    /**
+     * Reads and parses the file, as {@code create} does on a cache miss.
+     */
+    @Benchmark
+    public Config create() {
+        factory.reload(file);
+        return factory.create(file);
+    }
+
+    @Benchmark
+    public void save() {
+        factory.save(file);
+    }
+}
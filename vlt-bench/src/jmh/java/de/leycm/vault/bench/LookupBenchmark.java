@@ -0,0 +1,85 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.bench;
+
+import de.leycm.vault.VaultConfig;
+import de.leycm.vault.VaultFactory;
+import de.leycm.vault.field.FieldSection;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+
+    @Param({"1", "4", "16"})
+    private int depth;
+
+    private VaultConfig config;
+    private FieldSection section;
+    private String path;
+    private String parent;
+    private String leaf;
+    private long counter;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        VaultFactory factory = BenchData.factory();
+        Map<String, Object> data = new LinkedHashMap<>();
+
+        path = BenchData.nested(data, depth);
+        int split = path.lastIndexOf('.');
+        parent = split < 0 ? "" : path.substring(0, split);
+        leaf = path.substring(split + 1);
+
+        config = new VaultConfig(new File(factory.defDir(), "lookup.json"), data, factory);
+        section = config.getFieldSection(parent);
+    }
+
+    @Benchmark
+    public Optional<Long> getOptional() {
+        return config.getOptional(path, Long.class);
+    }
+
+    @Benchmark
+    public Optional<Long> getMissing() {
+        return config.getOptional(path + "x", Long.class);
+    }
+
+    @Benchmark
+    public Optional<Long> sectionGetOptional() {
+        return section.getOptional(leaf, Long.class);
+    }
+
+    @Benchmark
+    public FieldSection getFieldSection() {
+        return config.getFieldSection(parent);
+    }
+
+    @Benchmark
+    public void set() {
+        config.set(path, counter++);
+    }
+
+    @Benchmark
+    public void sectionSet() {
+        section.set(leaf, counter++);
+    }
+}
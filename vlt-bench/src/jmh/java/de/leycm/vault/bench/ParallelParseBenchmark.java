@@ -0,0 +1,65 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.bench;
+
+import de.leycm.vault.Config;
+import de.leycm.vault.VaultFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of parallel parsing with the parallelism of the parse pool.
+ * The sequential baseline is {@link LoadSaveBenchmark#create()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ParallelParseBenchmark {
+
+    @Param({"json", "yml"})
+    private String format;
+
+    @Param({"100MB"})
+    private String size;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    private int threads;
+
+    private VaultFactory factory;
+    private ForkJoinPool pool;
+    private File file;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        factory = BenchData.factory();
+        file = BenchData.write(factory, format, BenchData.parseSize(size));
+
+        pool = new ForkJoinPool(threads);
+        factory.setParsePool(pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Config create() {
+        factory.reload(file);
+        return factory.create(file);
+    }
+}
@@ -1,6 +1,20 @@
+plugins {
+    `java-test-fixtures`
+}
+
 dependencies {
     implementation(project(":api"))
     implementation(libs.bundles.config)
     implementation(libs.leyneck)
     compileOnly(libs.jetanno)
-}
\ No newline at end of file
+
+    // shared tests the format modules run against their adapters
+    testFixturesImplementation(project(":api"))
+    testFixturesImplementation(platform("org.junit:junit-bom:5.11.4"))
+    testFixturesImplementation("org.junit.jupiter:junit-jupiter")
+}
+
+// the fixtures are only for this build's tests, not part of the published module
+val javaComponent = components["java"] as AdhocComponentWithVariants
+javaComponent.withVariantsFromConfiguration(configurations["testFixturesApiElements"]) { skip() }
+javaComponent.withVariantsFromConfiguration(configurations["testFixturesRuntimeElements"]) { skip() }
\ No newline at end of file
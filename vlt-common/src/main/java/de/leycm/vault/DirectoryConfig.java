@@ -0,0 +1,523 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault;
+
+import de.leycm.vault.adapter.ConfigFileAdapter;
+import de.leycm.vault.cache.FileStamp;
+import de.leycm.vault.cache.WeakInterner;
+import de.leycm.vault.change.ConfigChange;
+import de.leycm.vault.change.ConfigChangeListener;
+import de.leycm.vault.field.*;
+import de.leycm.vault.metrics.MetricsRecorder;
+import de.leycm.vault.node.Nodes;
+import de.leycm.vault.query.ConfigQuery;
+import de.leycm.vault.query.ConfigVisitor;
+import de.leycm.vault.query.QueryMatch;
+import de.leycm.vault.query.QueryWalker;
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * Config stored as a directory with one file per top-level key, for huge
+ * maps of which only a few entries are used at a time. Opening the config
+ * reads nothing; a section file is loaded on first access and kept in an
+ * LRU of at most {@code capacity} sections. Evicted sections are written
+ * back if their content changed, or stay loaded if that fails, and
+ * {@link #save()} does the same for every loaded section. Deleted
+ * sections keep their file until the next save, so a reload brings them
+ * back.
+ * <p>
+ * Top-level values must be sections; keys are URL-encoded into file names.
+ * </p>
+ */
+public final class DirectoryConfig implements Config {
+
+    private static final String PATH_SEPARATOR = ".";
+
+    private final File directory;
+    private final String extension;
+    private final ConfigFileAdapter adapter;
+    private final VaultFactory factory;
+    private final LinkedHashMap<String, Section> loaded;
+    private final Set<String> deleted = new HashSet<>();
+    private @Nullable RuntimeException evictionFailure;
+
+    private final WeakInterner<String, VaultFieldSection> sections = new WeakInterner<>();
+    private final List<ConfigChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    public DirectoryConfig(@NonNull File directory, @NonNull String extension,
+                           @NonNull ConfigFileAdapter adapter, @NonNull VaultFactory factory, int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+
+        this.directory = directory;
+        this.extension = extension;
+        this.adapter = adapter;
+        this.factory = factory;
+        this.loaded = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Section> eldest) {
+                if (size() <= capacity) return false;
+
+                try {
+                    write(eldest.getKey(), eldest.getValue());
+                    return true;
+                } catch (RuntimeException e) {
+                    // keep the unsaved section rather than losing it, the next save reports the failure
+                    if (evictionFailure == null) evictionFailure = e;
+                    return false;
+                }
+            }
+        };
+    }
+
+    @Override
+    public @NonNull <T> Optional<T> getOptional(@NonNull String path, @NonNull Class<T> type) {
+        String key = key(path);
+        Section section = section(key, false);
+        if (section == null) return Optional.empty();
+
+        if (key.length() == path.length())
+            return section.config.getOptional(Collections.singletonMap(key, section.config.data()), this, key, type);
+
+        return section.config.getOptional(section.config.data(), this, path.substring(key.length() + 1), type);
+    }
+
+    @Override
+    public @NonNull <T> Field<T> getField(@NonNull String path, @NonNull Class<T> type) {
+        return new VaultField<>(this, path, type);
+    }
+
+    @Override
+    public @NonNull <T> FieldList<T> getFieldList(@NonNull String path, @NonNull Class<T> type) {
+        return new VaultFieldList<>(this, path, type);
+    }
+
+    @Override
+    public @NonNull FieldSection getFieldSection(@NonNull String path) {
+        return sections.intern(path, key -> new VaultFieldSection(this, key));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> void set(@NonNull String path, @Nullable T value) {
+        String key = key(path);
+
+        if (key.length() == path.length() && value != null && !(value instanceof Map))
+            throw new IllegalArgumentException("Top-level values of a directory config must be sections: " + key);
+
+        boolean observed = !listeners.isEmpty();
+        Object before = null;
+        Object after = value;
+
+        // written under the lock, so the section can't be evicted before the write lands
+        synchronized (loaded) {
+            if (key.length() < path.length()) {
+                VaultConfig config = Objects.requireNonNull(section(key, true)).config;
+                String subPath = path.substring(key.length() + 1);
+
+                if (observed) before = config.getOptional(config.data(), this, subPath, Object.class).orElse(null);
+                config.set(config.data(), this, subPath, value);
+                if (observed) after = config.getOptional(config.data(), this, subPath, Object.class).orElse(null);
+            } else if (value == null) {
+                if (observed) before = snapshot(section(key, false));
+                delete(key);
+            } else {
+                Section section = Objects.requireNonNull(section(key, true));
+                Map<String, Object> data = section.config.data();
+
+                if (observed) before = snapshot(section);
+
+                if (data != value) {
+                    data.clear();
+                    data.putAll((Map<String, Object>) value);
+                }
+            }
+        }
+
+        if (observed && !Objects.equals(before, after))
+            notifyListeners(List.of(new ConfigChange(path, before, after)));
+    }
+
+    @Override
+    public boolean contains(@NonNull String path) {
+        String key = key(path);
+        if (key.length() == path.length()) return section(key, false) != null;
+
+        Section section = section(key, false);
+        return section != null && section.config.contains(section.config.data(), path.substring(key.length() + 1));
+    }
+
+    /**
+     * Evaluates the query section by section. A literal first key only
+     * loads that section; a wildcard loads each section as the stream
+     * reaches it. Results are never cached, as sections may be evicted.
+     */
+    @Override
+    public @NonNull <T> Stream<QueryMatch<T>> query(@NonNull ConfigQuery query, @NonNull Class<T> type) {
+        ConfigQuery.Segment first = query.segments().get(0);
+        Stream<String> keys = first.kind() == ConfigQuery.Kind.KEY
+                ? Stream.of(Objects.requireNonNull(first.key()))
+                : keys().stream();
+
+        return keys.flatMap(key -> {
+            Section section = section(key, false);
+            if (section == null) return Stream.empty();
+
+            VaultConfig config = section.config;
+            Stream<QueryMatch<Object>> matches = QueryWalker.stream(query, Collections.singletonMap(key, config.data()));
+            return config.convertMatches(matches, this, type);
+        });
+    }
+
+    /**
+     * Streams the section keys for an empty path without loading any
+     * section, otherwise the keys within the section file.
+     */
+    @Override
+    public @NonNull Stream<String> keys(@NonNull String path) {
+        if (path.isEmpty()) return Arrays.stream(keys().toArray(new String[0]));
+
+        String key = key(path);
+        Section section = section(key, false);
+        if (section == null) return Stream.empty();
+
+        return section.config.keys(key.length() == path.length() ? "" : path.substring(key.length() + 1));
+    }
+
+    /**
+     * Streams the entries of the section at the path. For an empty path
+     * every section file is loaded as the stream reaches it.
+     */
+    @Override
+    public @NonNull Stream<Map.Entry<String, Object>> entries(@NonNull String path) {
+        if (!path.isEmpty()) {
+            String key = key(path);
+            Section section = section(key, false);
+            if (section == null) return Stream.empty();
+
+            return section.config.entries(key.length() == path.length() ? "" : path.substring(key.length() + 1));
+        }
+
+        return Arrays.stream(keys().toArray(new String[0])).flatMap(key -> {
+            Section section = section(key, false);
+            if (section == null) return Stream.empty();
+
+            return Stream.of(Map.entry(key, Objects.requireNonNull(Nodes.view(section.config.data()))));
+        });
+    }
+
+    @Override
+    public void visit(@NonNull String path, @NonNull ConfigVisitor visitor) {
+        if (!path.isEmpty()) {
+            String key = key(path);
+            Section section = section(key, false);
+            if (section == null) return;
+
+            Map<String, Object> data = section.config.resolveSection(
+                    key.length() == path.length() ? "" : path.substring(key.length() + 1));
+            if (data != null) section.config.visit(data, path, visitor);
+            return;
+        }
+
+        for (String key : keys()) {
+            Section section = section(key, false);
+            if (section == null) continue;
+
+            Map<String, Object> data = section.config.data();
+            if (!visitor.enterSection(key, data.size())) continue;
+
+            section.config.visit(data, key, visitor);
+            visitor.exitSection(key);
+        }
+    }
+
+    /**
+     * Registers a listener notified after values were set through this
+     * config. Sections replaced as a whole are reported with a copy of
+     * their previous content.
+     */
+    @Override
+    public void addChangeListener(@NonNull ConfigChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeChangeListener(@NonNull ConfigChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Forgets all loaded sections and deletions, discarding unsaved changes.
+     */
+    @Override
+    public void reload() {
+        synchronized (loaded) {
+            loaded.clear();
+            deleted.clear();
+            evictionFailure = null;
+        }
+    }
+
+    /**
+     * Forgets the loaded sections whose file changed, was created or
+     * disappeared since it was loaded or saved. Unsaved changes of the
+     * other sections are kept.
+     *
+     * @return true if any section was dropped
+     */
+    @Override
+    public boolean reloadIfChanged() {
+        boolean dropped = false;
+
+        synchronized (loaded) {
+            Iterator<Map.Entry<String, Section>> it = loaded.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, Section> entry = it.next();
+                Section section = entry.getValue();
+                File file = section.config.file();
+
+                // a section set again after it was deleted still has the old file on disk
+                if (deleted.contains(entry.getKey())) continue;
+
+                if (section.stamp == null) {
+                    if (!file.exists()) continue;
+                } else {
+                    FileStamp current = section.stamp.revalidate(file.toPath());
+                    section.stamp = current;
+                    if (current != null) continue;
+                }
+
+                it.remove();
+                dropped = true;
+            }
+        }
+
+        return dropped;
+    }
+
+    /**
+     * Deletes the files of deleted sections and writes every loaded section
+     * whose content changed. A section that failed to be written back when
+     * it was evicted stays loaded and is written here; its failure is
+     * thrown once all sections were written.
+     */
+    @Override
+    public void save() {
+        synchronized (loaded) {
+            RuntimeException failure = evictionFailure;
+            evictionFailure = null;
+
+            try {
+                for (String key : List.copyOf(deleted)) if (!loaded.containsKey(key)) delete(key, fileFor(key));
+                for (Map.Entry<String, Section> entry : loaded.entrySet()) write(entry.getKey(), entry.getValue());
+            } catch (RuntimeException e) {
+                if (failure != null) e.addSuppressed(failure);
+                throw e;
+            }
+
+            if (failure != null) throw failure;
+        }
+    }
+
+    @Override
+    public @NonNull CompletableFuture<Void> reloadAsync() {
+        return factory.reloadAsync(directory);
+    }
+
+    @Override
+    public @NonNull CompletableFuture<Void> saveAsync() {
+        return factory.saveAsync(directory);
+    }
+
+    /**
+     * Returns the directory holding the section files.
+     */
+    @Override
+    public @NonNull File file() {
+        return directory;
+    }
+
+    public @NonNull VaultFactory factory() {
+        return factory;
+    }
+
+    /**
+     * Lists the keys of all sections on disk, without loading them.
+     */
+    public @NonNull Set<String> keys() {
+        Set<String> keys = new LinkedHashSet<>();
+        String suffix = "." + extension;
+
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(suffix));
+        if (files != null) {
+            Arrays.sort(files);
+            for (File file : files) {
+                String name = file.getName();
+                keys.add(URLDecoder.decode(name.substring(0, name.length() - suffix.length()), StandardCharsets.UTF_8));
+            }
+        }
+
+        synchronized (loaded) {
+            keys.removeAll(deleted);
+            keys.addAll(loaded.keySet());
+        }
+
+        return keys;
+    }
+
+    /**
+     * Returns the number of sections currently held in memory.
+     */
+    public int loadedSections() {
+        synchronized (loaded) {
+            return loaded.size();
+        }
+    }
+
+    // ==================== Sections ====================
+
+    private @Nullable Section section(@NotNull String key, boolean create) {
+        synchronized (loaded) {
+            Section section = loaded.get(key);
+            if (section != null) return section;
+
+            File file = fileFor(key);
+            boolean removed = deleted.contains(key);
+            if (!create && (removed || !file.isFile())) return null;
+
+            // a deleted section starts over empty, its old file is replaced on save
+            section = removed ? new Section(new VaultConfig(file, new LinkedHashMap<>(), factory), null) : load(file);
+            loaded.put(key, section);
+            return section;
+        }
+    }
+
+    private @NotNull Section load(@NotNull File file) {
+        if (!file.isFile()) return new Section(new VaultConfig(file, new LinkedHashMap<>(), factory), null);
+
+        MetricsRecorder metrics = factory.getMetrics();
+        long start = metrics != MetricsRecorder.NOOP ? System.nanoTime() : 0;
+
+        try {
+            BasicFileAttributes attributes = FileStamp.attributes(file.toPath());
+            byte[] bytes = Files.readAllBytes(file.toPath());
+            Map<String, Object> data = adapter.readBytes(bytes);
+
+            if (metrics != MetricsRecorder.NOOP) metrics.onLoad(file, bytes.length, System.nanoTime() - start);
+            return new Section(new VaultConfig(file, data, factory), FileStamp.of(attributes, bytes));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load section from " + file.getAbsolutePath(), e);
+        }
+    }
+
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    private void write(@NotNull String key, @NotNull Section section) {
+        File file = section.config.file();
+        Map<String, Object> data = section.config.data();
+
+        if (data.isEmpty() && deleted.contains(key)) {
+            delete(key, file);
+            return;
+        }
+
+        if (data.isEmpty() && !file.exists()) return;
+
+        MetricsRecorder metrics = factory.getMetrics();
+        long start = metrics != MetricsRecorder.NOOP ? System.nanoTime() : 0;
+
+        try {
+            byte[] current = file.isFile() && !deleted.contains(key) ? Files.readAllBytes(file.toPath()) : new byte[0];
+            byte[] content = adapter.writeBytes(current, data);
+            long hash = FileStamp.hash(content);
+
+            FileStamp stamp = section.stamp;
+            if (stamp != null && hash == stamp.hash() && file.isFile()) return;
+
+            directory.mkdirs();
+            Files.write(file.toPath(), content);
+            section.stamp = FileStamp.written(content);
+            deleted.remove(key);
+
+            if (metrics != MetricsRecorder.NOOP) metrics.onSave(file, content.length, System.nanoTime() - start);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to save section to " + file.getAbsolutePath(), e);
+        }
+    }
+
+    private void delete(@NotNull String key) {
+        synchronized (loaded) {
+            loaded.remove(key);
+            deleted.add(key);
+        }
+    }
+
+    private void delete(@NotNull String key, @NotNull File file) {
+        try {
+            Files.deleteIfExists(file.toPath());
+            deleted.remove(key);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to delete section " + key, e);
+        }
+    }
+
+    /**
+     * Copies the content of a section before it is replaced, or returns null
+     * if the section doesn't exist or is empty.
+     */
+    private static @Nullable Map<String, Object> snapshot(@Nullable Section section) {
+        if (section == null || section.config.data().isEmpty()) return null;
+        return new LinkedHashMap<>(section.config.data());
+    }
+
+    private void notifyListeners(@NotNull List<ConfigChange> changes) {
+        for (ConfigChangeListener listener : listeners) listener.onChange(this, changes);
+    }
+
+    private @NotNull File fileFor(@NotNull String key) {
+        return new File(directory, URLEncoder.encode(key, StandardCharsets.UTF_8) + "." + extension);
+    }
+
+    private static @NotNull String key(@NotNull String path) {
+        int split = path.indexOf(PATH_SEPARATOR);
+        String key = split < 0 ? path : path.substring(0, split);
+
+        if (key.isEmpty()) throw new IllegalArgumentException("Invalid path: " + path);
+        return key;
+    }
+
+    // ==================== Helper Classes ====================
+
+    /**
+     * A loaded section file and the stamp of its content on disk, or null if it didn't exist.
+     */
+    private static final class Section {
+        private final VaultConfig config;
+        private @Nullable FileStamp stamp;
+
+        private Section(@NotNull VaultConfig config, @Nullable FileStamp stamp) {
+            this.config = config;
+            this.stamp = stamp;
+        }
+    }
+}
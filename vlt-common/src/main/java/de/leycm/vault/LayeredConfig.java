@@ -0,0 +1,434 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault;
+
+import de.leycm.vault.cache.WeakInterner;
+import de.leycm.vault.change.ConfigChange;
+import de.leycm.vault.change.ConfigChangeListener;
+import de.leycm.vault.change.ConfigTransaction;
+import de.leycm.vault.field.*;
+import de.leycm.vault.node.Nodes;
+import de.leycm.vault.query.ConfigQuery;
+import de.leycm.vault.query.ConfigVisitor;
+import de.leycm.vault.query.QueryMatch;
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Config resolving reads through an ordered stack of layers: runtime
+ * overrides, the user file and the defaults bundled as resource. Writes
+ * go to the user file, which is the only layer {@link #save()} persists,
+ * so it only ever holds the keys the user changed.
+ * <p>
+ * Values from the override and default layers are deeply unmodifiable.
+ * Sections present in several layers are read as merged snapshots.
+ * </p>
+ */
+public final class LayeredConfig implements Config {
+
+    private final File file;
+    private final VaultFactory factory;
+    private final Map<String, Object> defaults;
+    private final List<ConfigChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final ReentrantLock overrideLock = new ReentrantLock();
+
+    // replaced as a whole on every change, so readers never see a partial update
+    private volatile Map<String, Object> overrides = Map.of();
+
+    private final WeakInterner<String, VaultFieldSection> sections = new WeakInterner<>();
+
+    public LayeredConfig(@NonNull File file, @NonNull VaultFactory factory,
+                         @NonNull Map<String, Object> defaults) {
+        this.file = file;
+        this.factory = factory;
+        this.defaults = defaults;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public @NonNull <T> Optional<T> getOptional(@NonNull String path, @NonNull Class<T> type) {
+        VaultConfig user = user();
+        List<Map<String, Object>> layers = layers(user);
+
+        for (int i = 0; i < layers.size(); i++) {
+            Map<String, Object> layer = layers.get(i);
+            if (!user.contains(layer, path)) continue;
+
+            Object value = user.resolveValue(layer, path);
+            if (value instanceof Map<?, ?> && type.isAssignableFrom(Map.class))
+                return Optional.of((T) merged(user, layers.subList(i, layers.size()), path));
+
+            return user.getOptional(layer, this, path, type);
+        }
+
+        return Optional.empty();
+    }
+
+    @Override
+    public @NonNull <T> Field<T> getField(@NonNull String path, @NonNull Class<T> type) {
+        return new VaultField<>(this, path, type);
+    }
+
+    @Override
+    public @NonNull <T> FieldList<T> getFieldList(@NonNull String path, @NonNull Class<T> type) {
+        return new VaultFieldList<>(this, path, type);
+    }
+
+    @Override
+    public @NonNull FieldSection getFieldSection(@NonNull String path) {
+        return sections.intern(path, key -> new VaultFieldSection(this, key));
+    }
+
+    /**
+     * Writes the value to the user file. Removing a key there reverts it
+     * to its bundled default; an override for the path still takes precedence.
+     */
+    @Override
+    public <T> void set(@NonNull String path, @Nullable T value) {
+        user().set(path, value);
+    }
+
+    @Override
+    public boolean contains(@NonNull String path) {
+        VaultConfig user = user();
+
+        for (Map<String, Object> layer : layers(user))
+            if (user.contains(layer, path)) return true;
+
+        return false;
+    }
+
+    /**
+     * Evaluates the query on every layer, highest first. A path matched in
+     * several layers is only reported for the highest one, so sections are
+     * the layer's own section rather than a merged snapshot.
+     */
+    @Override
+    public @NonNull <T> Stream<QueryMatch<T>> query(@NonNull ConfigQuery query, @NonNull Class<T> type) {
+        VaultConfig user = user();
+        Set<String> seen = new HashSet<>();
+
+        Stream<QueryMatch<Object>> matches = layers(user).stream()
+                .flatMap(layer -> user.query(layer, this, query, Object.class))
+                .filter(match -> seen.add(match.path()));
+
+        return user.convertMatches(matches, this, type);
+    }
+
+    /**
+     * Streams the keys of the merged section at the path.
+     */
+    @Override
+    public @NonNull Stream<String> keys(@NonNull String path) {
+        VaultConfig user = user();
+        Map<String, Object> section = section(user, path);
+        return section.isEmpty() ? Stream.empty() : user.keys(section);
+    }
+
+    /**
+     * Streams the entries of the merged section at the path, a snapshot over all layers.
+     */
+    @Override
+    public @NonNull Stream<Map.Entry<String, Object>> entries(@NonNull String path) {
+        VaultConfig user = user();
+        Map<String, Object> section = section(user, path);
+        return section.isEmpty() ? Stream.empty() : user.entries(section);
+    }
+
+    @Override
+    public void visit(@NonNull String path, @NonNull ConfigVisitor visitor) {
+        VaultConfig user = user();
+        user.visit(section(user, path), path, visitor);
+    }
+
+    /**
+     * Applies the batch to the user file. Reads within the transaction
+     * still resolve through all layers.
+     */
+    @Override
+    public void batch(boolean save, @NonNull Consumer<ConfigTransaction> body) {
+        user().batch(save, tx -> body.accept(new ConfigTransaction() {
+            @Override
+            public <T> void set(@NonNull String path, @Nullable T value) {
+                tx.set(path, value);
+            }
+
+            @Override
+            public @NonNull <T> Optional<T> getOptional(@NonNull String path, @NonNull Class<T> type) {
+                return LayeredConfig.this.getOptional(path, type);
+            }
+
+            @Override
+            public void saveOnCommit() {
+                tx.saveOnCommit();
+            }
+        }));
+    }
+
+    /**
+     * Registers the listener on the user file and for the overrides of this
+     * config. Override changes are reported with this config as source and
+     * the effective values before and after.
+     */
+    @Override
+    public void addChangeListener(@NonNull ConfigChangeListener listener) {
+        listeners.add(listener);
+        user().addChangeListener(listener);
+    }
+
+    @Override
+    public void removeChangeListener(@NonNull ConfigChangeListener listener) {
+        listeners.remove(listener);
+        user().removeChangeListener(listener);
+    }
+
+    /**
+     * Reloads the user file; overrides and defaults are kept.
+     */
+    @Override
+    public void reload() {
+        factory.reload(file);
+    }
+
+    /**
+     * Reloads the user file if it changed; overrides and defaults are kept.
+     */
+    @Override
+    public boolean reloadIfChanged() {
+        return factory.reloadIfChanged(file);
+    }
+
+    /**
+     * Saves the user file only.
+     */
+    @Override
+    public void save() {
+        factory.save(file);
+    }
+
+    @Override
+    public @NonNull CompletableFuture<Void> reloadAsync() {
+        return factory.reloadAsync(file);
+    }
+
+    @Override
+    public @NonNull CompletableFuture<Void> saveAsync() {
+        return factory.saveAsync(file);
+    }
+
+    @Override
+    public @NonNull File file() {
+        return file;
+    }
+
+    public @NonNull VaultFactory factory() {
+        return factory;
+    }
+
+    // ==================== Layers ====================
+
+    /**
+     * Sets a runtime override for the path. Overrides win over the user
+     * file and the defaults. They never reach the user file, so they are
+     * neither saved nor journaled nor replicated, and only the listeners
+     * of this config are notified.
+     */
+    public void override(@NonNull String path, @Nullable Object value) {
+        updateOverrides(path, Nodes.freeze(value));
+    }
+
+    public void clearOverride(@NonNull String path) {
+        updateOverrides(path, null);
+    }
+
+    public void clearOverrides() {
+        List<ConfigChange> changes = new ArrayList<>();
+
+        overrideLock.lock();
+        try {
+            Map<String, Object> previous = overrides;
+            Map<String, Object> before = listeners.isEmpty() ? Map.of() : effective(previous.keySet());
+
+            overrides = Map.of();
+            before.forEach((path, old) -> changed(changes, path, old));
+        } finally {
+            overrideLock.unlock();
+        }
+
+        notifyListeners(changes);
+    }
+
+    /**
+     * Returns the bundled defaults, shared by every layered config of the same resource.
+     */
+    public @NonNull @Unmodifiable Map<String, Object> defaults() {
+        return defaults;
+    }
+
+    /**
+     * Returns the user file layer. It's looked up on every access, so a
+     * reload of the file is picked up right away.
+     */
+    public @NonNull VaultConfig user() {
+        return factory.loadLayer(file);
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private @NotNull List<Map<String, Object>> layers(@NotNull VaultConfig user) {
+        return List.of(overrides, user.data(), defaults);
+    }
+
+    private void updateOverrides(@NotNull String path, @Nullable Object value) {
+        List<ConfigChange> changes = new ArrayList<>();
+
+        overrideLock.lock();
+        try {
+            Map<String, Object> before = listeners.isEmpty() ? Map.of() : effective(List.of(path));
+
+            overrides = with(overrides, path.split("\\."), 0, value);
+            before.forEach((key, old) -> changed(changes, key, old));
+        } finally {
+            overrideLock.unlock();
+        }
+
+        notifyListeners(changes);
+    }
+
+    /**
+     * Returns a copy of the map with the value set at the path, copying
+     * only the sections along it. A null value removes the path.
+     */
+    @SuppressWarnings("unchecked")
+    private static @NotNull Map<String, Object> with(@NotNull Map<String, Object> map, String @NotNull [] parts,
+                                                     int index, @Nullable Object value) {
+        Map<String, Object> copy = new LinkedHashMap<>(map);
+        String key = parts[index];
+
+        if (index == parts.length - 1) {
+            if (value == null) copy.remove(key);
+            else copy.put(key, value);
+        } else {
+            Object child = copy.get(key);
+
+            if (child instanceof Map<?, ?> || value != null) {
+                Map<String, Object> next = child instanceof Map<?, ?> section ? (Map<String, Object>) section : Map.of();
+                copy.put(key, with(next, parts, index + 1, value));
+            }
+        }
+
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Returns the effective values at the paths, merging sections like reads do.
+     */
+    private @NotNull Map<String, Object> effective(@NotNull Collection<String> paths) {
+        VaultConfig user = user();
+        List<Map<String, Object>> layers = layers(user);
+        Map<String, Object> values = new LinkedHashMap<>();
+
+        for (String path : paths) {
+            Object value = null;
+
+            for (int i = 0; i < layers.size(); i++) {
+                if (!user.contains(layers.get(i), path)) continue;
+
+                value = user.resolveValue(layers.get(i), path);
+                if (value instanceof Map<?, ?>) value = merged(user, layers.subList(i, layers.size()), path);
+                break;
+            }
+
+            values.put(path, value);
+        }
+
+        return values;
+    }
+
+    private void changed(@NotNull List<ConfigChange> changes, @NotNull String path, @Nullable Object old) {
+        Object value = effective(List.of(path)).get(path);
+        if (!Objects.equals(old, value)) changes.add(new ConfigChange(path, old, value));
+    }
+
+    private void notifyListeners(@NotNull List<ConfigChange> changes) {
+        if (changes.isEmpty()) return;
+
+        List<ConfigChange> unmodifiable = Collections.unmodifiableList(changes);
+        for (ConfigChangeListener listener : listeners) listener.onChange(this, unmodifiable);
+    }
+
+    /**
+     * Merges the sections at the path, or all layers for an empty path.
+     */
+    private @NotNull Map<String, Object> section(@NotNull VaultConfig user, @NotNull String path) {
+        List<Map<String, Object>> layers = layers(user);
+        if (!path.isEmpty()) return merged(user, layers, path);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (int i = layers.size() - 1; i >= 0; i--) merge(result, layers.get(i));
+        return freezeMerged(result);
+    }
+
+    /**
+     * Merges the sections at the path, lower layers first, into an unmodifiable snapshot.
+     */
+    private @NotNull Map<String, Object> merged(@NotNull VaultConfig user,
+                                                @NotNull List<Map<String, Object>> layers,
+                                                @NotNull String path) {
+        Map<String, Object> result = new LinkedHashMap<>();
+
+        for (int i = layers.size() - 1; i >= 0; i--) {
+            Object value = user.resolveValue(layers.get(i), path);
+            if (value instanceof Map<?, ?> map) merge(result, map);
+        }
+
+        return freezeMerged(result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void merge(@NotNull Map<String, Object> target, @NotNull Map<?, ?> source) {
+        for (Map.Entry<?, ?> entry : source.entrySet()) {
+            String key = String.valueOf(entry.getKey());
+            Object value = entry.getValue();
+
+            if (value instanceof Map<?, ?> child) {
+                Object existing = target.get(key);
+                Map<String, Object> nested = existing instanceof LinkedHashMap<?, ?>
+                        ? (Map<String, Object>) existing
+                        : new LinkedHashMap<>();
+
+                merge(nested, child);
+                target.put(key, nested);
+            } else {
+                target.put(key, value);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @NotNull Map<String, Object> freezeMerged(@NotNull Map<String, Object> map) {
+        for (Map.Entry<String, Object> entry : map.entrySet())
+            if (entry.getValue() instanceof LinkedHashMap<?, ?> child)
+                entry.setValue(freezeMerged((Map<String, Object>) child));
+
+        return Collections.unmodifiableMap(map);
+    }
+}
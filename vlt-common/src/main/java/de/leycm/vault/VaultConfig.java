@@ -10,35 +10,76 @@
  */
 package de.leycm.vault;
 
+import de.leycm.vault.adapter.ConfigFileAdapter;
 import de.leycm.vault.adapter.TypeAdapter;
+import de.leycm.vault.cache.WeakInterner;
+import de.leycm.vault.change.ConfigChange;
+import de.leycm.vault.change.ConfigChangeListener;
+import de.leycm.vault.change.ConfigTransaction;
 import de.leycm.vault.field.Field;
 import de.leycm.vault.field.FieldList;
 import de.leycm.vault.field.FieldSection;
 import de.leycm.vault.field.VaultField;
 import de.leycm.vault.field.VaultFieldList;
 import de.leycm.vault.field.VaultFieldSection;
+import de.leycm.vault.journal.ConfigJournal;
+import de.leycm.vault.metrics.MetricsRecorder;
+import de.leycm.vault.node.CompactMap;
+import de.leycm.vault.node.LazyMap;
+import de.leycm.vault.node.Nodes;
+import de.leycm.vault.node.SectionSpliterator;
+import de.leycm.vault.query.ConfigQuery;
+import de.leycm.vault.query.ConfigVisitor;
+import de.leycm.vault.query.QueryMatch;
+import de.leycm.vault.query.QueryWalker;
+import de.leycm.vault.schema.SchemaValidationException;
+import de.leycm.vault.schema.SchemaValidator;
+import de.leycm.vault.schema.SchemaViolation;
 import lombok.NonNull;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public record VaultConfig(@NonNull File file, @NonNull Map<String, Object> data,
-                          @NonNull ConfigFactory factory) implements Config {
+public final class VaultConfig implements Config {
 
     private static final String PATH_SEPARATOR = ".";
 
-    @Override
-    public @NonNull <T> Optional<T> getOptional(@NonNull String path, @NonNull Class<T> type) {
-        Object value = navigateToValue(path);
+    private final File file;
+    private final Map<String, Object> data;
+    private final ConfigFactory factory;
 
-        if (value == null) {
-            return Optional.empty();
-        }
+    private final WeakInterner<String, VaultFieldSection> sections = new WeakInterner<>();
+    private final AtomicInteger structure = new AtomicInteger();
 
-        return convertValue(value, type, path);
+    private final Map<QueryKey, CachedQuery> queries = new ConcurrentHashMap<>();
+    private final AtomicInteger revision = new AtomicInteger();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final List<ConfigChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private @Nullable Batch batch; // guarded by writeLock
+    private volatile @Nullable ConfigJournal journal;
+
+    public VaultConfig(@NonNull File file, @NonNull Map<String, Object> data,
+                       @NonNull ConfigFactory factory) {
+        this.file = file;
+        this.data = data;
+        this.factory = factory;
+    }
+
+    @Override
+    public @NonNull <T> Optional<T> getOptional(@NonNull String path, @NonNull Class<T> type) {
+        return getOptional(data, this, path, type);
     }
 
     @Override
@@ -53,28 +94,388 @@ public record VaultConfig(@NonNull File file, @NonNull Map<String, Object> data,
 
     @Override
     public @NonNull FieldSection getFieldSection(@NonNull String path) {
-        return new VaultFieldSection(this, path);
+        return sections.intern(path, key -> new VaultFieldSection(this, key));
     }
 
     @Override
     public <T> void set(@NonNull String path, @Nullable T value) {
-        String[] parts = splitPath(path);
-        Map<String, Object> target = navigateToParent(parts);
-        String finalKey = parts[parts.length - 1];
+        set(data, this, path, value);
+    }
 
-        if (value == null) {
-            target.remove(finalKey);
-            return;
+    @Override
+    public boolean contains(@NonNull String path) {
+        return contains(data, path);
+    }
+
+    @Override
+    public @NonNull <T> Stream<QueryMatch<T>> query(@NonNull ConfigQuery query, @NonNull Class<T> type) {
+        return query(data, this, query, type);
+    }
+
+    @Override
+    public @NonNull Stream<String> keys(@NonNull String path) {
+        Map<String, Object> section = resolveSection(path);
+        return section == null ? Stream.empty() : keys(section);
+    }
+
+    @Override
+    public @NonNull Stream<Map.Entry<String, Object>> entries(@NonNull String path) {
+        Map<String, Object> section = resolveSection(path);
+        return section == null ? Stream.empty() : entries(section);
+    }
+
+    @Override
+    public void visit(@NonNull String path, @NonNull ConfigVisitor visitor) {
+        Map<String, Object> section = resolveSection(path);
+        if (section != null) visit(section, path, visitor);
+    }
+
+    @Override
+    public void batch(boolean save, @NonNull Consumer<ConfigTransaction> body) {
+        List<ConfigChange> changes;
+        boolean saveAfter;
+
+        writeLock.lock();
+        try {
+            // nested batches join the outer one and commit with it
+            if (batch != null) {
+                if (save) batch.save = true;
+                body.accept(new Transaction(batch));
+                return;
+            }
+
+            Batch current = new Batch(true);
+            batch = current;
+
+            try {
+                body.accept(new Transaction(current));
+            } catch (RuntimeException | Error e) {
+                rollback(current);
+                throw e;
+            } finally {
+                batch = null;
+            }
+
+            changes = current.diff();
+            ConfigJournal journal = this.journal;
+            if (journal != null) journal.append(changes);
+
+            saveAfter = save || current.save;
+        } finally {
+            writeLock.unlock();
+        }
+
+        // saved outside the lock, compaction takes the journal lock before the write lock
+        RuntimeException saveFailure = null;
+        if (saveAfter) {
+            try {
+                factory.save(file);
+            } catch (RuntimeException e) {
+                saveFailure = e;
+            }
         }
 
-        Object objectToStore = convertToStorable(value, path);
-        target.put(finalKey, objectToStore);
+        notifyListeners(changes);
+        if (saveFailure != null) throw saveFailure;
     }
 
     @Override
-    public boolean contains(@NonNull String path) {
+    public void addChangeListener(@NonNull ConfigChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeChangeListener(@NonNull ConfigChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Takes over the listeners of the config this one replaces on reload.
+     */
+    public void inheritListeners(@NonNull VaultConfig previous) {
+        listeners.addAll(previous.listeners);
+    }
+
+    /**
+     * Checks the whole tree against the schema, filling in defaults and
+     * converting leaves to their declared types.
+     *
+     * @throws SchemaValidationException with every violation if the tree doesn't match
+     */
+    public void validate(@NonNull SchemaValidator validator) {
+        if (!(factory instanceof VaultFactory vaultFactory))
+            throw new IllegalStateException("Schemas require a VaultFactory");
+
+        List<SchemaViolation> violations;
+
+        writeLock.lock();
+        try {
+            violations = validator.validate(data, this, vaultFactory);
+            structure.incrementAndGet();
+            modified();
+        } finally {
+            writeLock.unlock();
+        }
+
+        if (!violations.isEmpty()) throw new SchemaValidationException(file, violations);
+    }
+
+    /**
+     * Appends every committed write to the journal from now on.
+     */
+    public void attachJournal(@NonNull ConfigJournal journal) {
+        this.journal = journal;
+    }
+
+    public @Nullable ConfigJournal journal() {
+        return journal;
+    }
+
+    /**
+     * Serializes the tree with the adapter and marks the journal while
+     * holding the write lock, so the content covers exactly the records
+     * before the marked position. Writers wait while the tree is serialized.
+     */
+    public @NonNull ConfigJournal.Snapshot journalSnapshot(@NonNull ConfigFileAdapter adapter,
+                                                           byte @NonNull [] current) throws IOException {
+        ConfigJournal journal = this.journal;
+        if (journal == null) throw new IllegalStateException("Config has no journal: " + file.getAbsolutePath());
+
+        writeLock.lock();
+        try {
+            long position = journal.mark();
+            return new ConfigJournal.Snapshot(adapter.writeBytes(current, data), position);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public @NonNull File file() {
+        return file;
+    }
+
+    public @NonNull Map<String, Object> data() {
+        return data;
+    }
+
+    /**
+     * Estimates the retained heap size of the tree under the write lock, so
+     * no write changes it while it is walked.
+     *
+     * @see Nodes#estimateSize(Object)
+     */
+    public long estimateSize() {
+        writeLock.lock();
+        try {
+            return Nodes.estimateSize(data);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public @NonNull ConfigFactory factory() {
+        return factory;
+    }
+
+    // ==================== Section Access ====================
+
+    /**
+     * Returns a counter that changes whenever a section of this config is
+     * created, replaced or removed through {@link #set(String, Object)}.
+     * Section handles use it to revalidate their cached subtree.
+     */
+    public int structureVersion() {
+        return structure.get();
+    }
+
+    /**
+     * Returns a counter that changes with every write to the tree, including
+     * lists updated in place. List views use it to revalidate their cached
+     * conversions.
+     */
+    public int revision() {
+        return revision.get();
+    }
+
+    /**
+     * Resolves the map stored at the given path, or the root map for an empty path.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> resolveSection(@NonNull String path) {
+        if (path.isEmpty()) return data;
+
+        Object value = navigateToValue(data, path);
+        return value instanceof Map<?, ?> map ? (Map<String, Object>) map : null;
+    }
+
+    /**
+     * Resolves the raw value stored at a path relative to a section, without conversion.
+     */
+    public @Nullable Object resolveValue(@NonNull Map<String, Object> section, @NonNull String path) {
+        return navigateToValue(section, path);
+    }
+
+    /**
+     * Reads a value relative to a section of this config.
+     *
+     * @param section the section map to start from
+     * @param owner the config or section {@code path} is relative to
+     */
+    public @NonNull <T> Optional<T> getOptional(@NonNull Map<String, Object> section, @NonNull Config owner,
+                                                @NonNull String path, @NonNull Class<T> type) {
+        Object value = navigateToValue(section, path);
+        Optional<T> result = value == null ? Optional.empty() : convertValue(value, type, owner, path);
+
+        MetricsRecorder metrics = metrics();
+        if (metrics != MetricsRecorder.NOOP) metrics.onLookup(file, result.isPresent());
+
+        return result;
+    }
+
+    /**
+     * Writes a value relative to a section of this config.
+     *
+     * @param section the section map to start from
+     * @param owner the config or section {@code path} is relative to
+     */
+    public <T> void set(@NonNull Map<String, Object> section, @NonNull Config owner,
+                        @NonNull String path, @Nullable T value) {
+        List<ConfigChange> changes;
+
+        writeLock.lock();
+        try {
+            changes = commit(section, owner, path, value);
+        } finally {
+            writeLock.unlock();
+        }
+
+        if (changes != null) notifyListeners(changes);
+    }
+
+    /**
+     * Updates the list stored at a path relative to a section under the
+     * write lock.
+     * <p>
+     * While listeners or a batch observe writes, the update works on a copy
+     * that is then written like {@link #set(Map, Config, String, Object)}, so
+     * the change carries the previous list and can be rolled back. Otherwise
+     * the stored list is updated in place, unless the update asks for a new
+     * one, only the cached queries are invalidated and the journal records
+     * the splices the update made instead of the whole list.
+     * </p>
+     *
+     * @param section the section map to start from
+     * @param owner the config or section {@code path} is relative to
+     * @return the result of the update
+     */
+    public <R> R updateList(@NonNull Map<String, Object> section, @NonNull Config owner,
+                            @NonNull String path, @NonNull ListUpdate<R> update) {
+        List<ConfigChange> changes = null;
+        R result;
+
+        writeLock.lock();
+        try {
+            List<?> stored = navigateToValue(section, path) instanceof List<?> list ? list : null;
+            List<Object> target = update.storage(stored, observed());
+            List<ConfigJournal.Splice> splices = new ArrayList<>(1);
+            result = update.apply(target, splices);
+
+            if (target == stored) {
+                modified();
+
+                ConfigJournal journal = this.journal;
+                if (journal != null) journal.appendSplices(absolutePath(owner, path), splices);
+            } else {
+                changes = commit(section, owner, path, target);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+
+        if (changes != null) notifyListeners(changes);
+        return result;
+    }
+
+    /**
+     * Evaluates a query relative to a section of this config. Cached
+     * queries are evaluated once per section and revision of the tree.
+     *
+     * @param section the section map to start from
+     * @param owner the config or section match paths are relative to
+     */
+    public @NonNull <T> Stream<QueryMatch<T>> query(@NonNull Map<String, Object> section, @NonNull Config owner,
+                                                    @NonNull ConfigQuery query, @NonNull Class<T> type) {
+        Stream<QueryMatch<Object>> matches = query.isCached()
+                ? cached(section, query).stream()
+                : QueryWalker.stream(query, section);
+
+        return convertMatches(matches, owner, type);
+    }
+
+    /**
+     * Converts the matches to the type, dropping those that can't be converted.
+     *
+     * @param owner the config or section match paths are relative to
+     */
+    @SuppressWarnings("unchecked")
+    public @NonNull <T> Stream<QueryMatch<T>> convertMatches(@NonNull Stream<QueryMatch<Object>> matches,
+                                                             @NonNull Config owner, @NonNull Class<T> type) {
+        if (type == Object.class) return (Stream<QueryMatch<T>>) (Stream<?>) matches;
+
+        return matches.flatMap(match -> convertValue(match.value(), type, owner, match.path())
+                .map(value -> new QueryMatch<>(match.path(), value))
+                .stream());
+    }
+
+    /**
+     * Streams the keys of a section of this config, snapshotted under the write lock.
+     */
+    public @NonNull Stream<String> keys(@NonNull Map<String, Object> section) {
+        return Arrays.stream(snapshot(section));
+    }
+
+    /**
+     * Streams the entries of a section of this config. The keys are
+     * snapshotted under the write lock, the values read as the stream
+     * reaches them.
+     */
+    public @NonNull Stream<Map.Entry<String, Object>> entries(@NonNull Map<String, Object> section) {
+        return StreamSupport.stream(new SectionSpliterator(snapshot(section), section), false);
+    }
+
+    /**
+     * Walks a section of this config depth-first.
+     *
+     * @param path the path of the section, prepended to every visited path
+     */
+    @SuppressWarnings("unchecked")
+    public void visit(@NonNull Map<String, Object> section, @NonNull String path, @NonNull ConfigVisitor visitor) {
+        for (String key : snapshot(section)) {
+            Object value = section.get(key);
+            if (value == null) continue;
+
+            String child = path.isEmpty() ? key : path + PATH_SEPARATOR + key;
+
+            if (value instanceof Map<?, ?> map) {
+                Map<String, Object> nested = (Map<String, Object>) map;
+                if (!visitor.enterSection(child, nested.size())) continue;
+
+                visit(nested, child, visitor);
+                visitor.exitSection(child);
+            } else {
+                visitor.visitValue(child, Objects.requireNonNull(Nodes.view(value)));
+            }
+        }
+    }
+
+    /**
+     * Checks for a value relative to a section of this config.
+     */
+    public boolean contains(@NonNull Map<String, Object> section, @NonNull String path) {
         try {
-            Object value = navigateToValue(path);
+            Object value = navigateToValue(section, path);
             return value != null;
         } catch (Exception e) {
             return false;
@@ -84,9 +485,9 @@ public record VaultConfig(@NonNull File file, @NonNull Map<String, Object> data,
     // ==================== Private Helper Methods ====================
 
     @Nullable
-    private Object navigateToValue(@NonNull String path) {
+    private Object navigateToValue(@NonNull Map<String, Object> section, @NonNull String path) {
         String[] parts = splitPath(path);
-        Object current = data;
+        Object current = section;
 
         for (String key : parts) {
             if (!(current instanceof Map<?, ?> map)) {
@@ -103,18 +504,148 @@ public record VaultConfig(@NonNull File file, @NonNull Map<String, Object> data,
         return current;
     }
 
+    /**
+     * Writes the value, collecting the change outside of batches while
+     * listeners or the journal need it. Called under the write lock.
+     *
+     * @return the changes to notify the listeners of after unlocking, or null
+     */
+    private <T> @Nullable List<ConfigChange> commit(@NonNull Map<String, Object> section, @NonNull Config owner,
+                                                    @NonNull String path, @Nullable T value) {
+        Batch current = batch;
+        ConfigJournal journal = this.journal;
+        boolean single = current == null && (!listeners.isEmpty() || journal != null);
+        if (single) current = new Batch(false);
+
+        write(section, owner, path, value, current);
+        if (!single) return null;
+
+        List<ConfigChange> changes = current.diff();
+        if (journal != null) journal.append(changes);
+        return changes;
+    }
+
+    /**
+     * Checks whether writes are recorded, so values must not change in place.
+     */
+    private boolean observed() {
+        return batch != null || !listeners.isEmpty();
+    }
+
+    private <T> void write(@NonNull Map<String, Object> section, @NonNull Config owner,
+                           @NonNull String path, @Nullable T value, @Nullable Batch batch) {
+        String[] parts = splitPath(path);
+        Object old = batch == null ? null : navigateToValue(section, path);
+
+        Map<String, Object> target = navigateToParent(section, parts, batch);
+        String finalKey = parts[parts.length - 1];
+        Object objectToStore = null;
+
+        if (value == null) {
+            if (remove(target, finalKey, batch) instanceof Map) structure.incrementAndGet();
+        } else {
+            objectToStore = convertToStorable(value, owner, path, batch != null && batch.undo != null);
+            Object previous = put(target, finalKey, objectToStore, batch);
+
+            if (previous instanceof Map || objectToStore instanceof Map)
+                structure.incrementAndGet();
+        }
+
+        modified();
+        if (batch != null) batch.record(absolutePath(owner, path), old, objectToStore);
+    }
+
+    private @Nullable Object put(@NonNull Map<String, Object> map, @NonNull String key,
+                                 @Nullable Object value, @Nullable Batch batch) {
+        if (batch != null && batch.undo != null) batch.undo.add(new Undo(map, key, map.containsKey(key), map.get(key)));
+        // a value still encoded was never handed out, so it needn't be decoded to be replaced
+        return map instanceof LazyMap lazy ? lazy.putRaw(key, value) : map.put(key, value);
+    }
+
+    private @Nullable Object remove(@NonNull Map<String, Object> map, @NonNull String key, @Nullable Batch batch) {
+        if (batch != null && batch.undo != null && map.containsKey(key))
+            batch.undo.add(new Undo(map, key, true, map.get(key)));
+        return map instanceof LazyMap lazy ? lazy.removeRaw(key) : map.remove(key);
+    }
+
+    private void rollback(@NonNull Batch batch) {
+        List<Undo> undo = batch.undo;
+        if (undo == null || undo.isEmpty()) return;
+
+        for (int i = undo.size() - 1; i >= 0; i--) {
+            Undo entry = undo.get(i);
+            if (entry.present()) entry.map().put(entry.key(), entry.value());
+            else entry.map().remove(entry.key());
+        }
+
+        batch.changes.clear();
+        structure.incrementAndGet();
+        modified();
+    }
+
+    private String @NotNull [] snapshot(@NonNull Map<String, Object> section) {
+        writeLock.lock();
+        try {
+            return Nodes.keys(section);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private @NonNull List<QueryMatch<Object>> cached(@NonNull Map<String, Object> section, @NonNull ConfigQuery query) {
+        QueryKey key = new QueryKey(section, query);
+        int current = revision.get();
+
+        CachedQuery cached = queries.get(key);
+        if (cached != null && cached.revision() == current) return cached.matches();
+
+        // a write racing with the walk bumps the revision, so a stale result is never reused
+        List<QueryMatch<Object>> matches = QueryWalker.stream(query, section).toList();
+        queries.put(key, new CachedQuery(current, matches));
+        return matches;
+    }
+
+    /**
+     * Invalidates all cached query results, called under the write lock.
+     */
+    private void modified() {
+        revision.incrementAndGet();
+        if (!queries.isEmpty()) queries.clear();
+    }
+
+    private void notifyListeners(@NonNull List<ConfigChange> changes) {
+        if (listeners.isEmpty() || changes.isEmpty()) return;
+
+        for (ConfigChangeListener listener : listeners) listener.onChange(this, changes);
+    }
+
+    private @NonNull String absolutePath(@NonNull Config owner, @NonNull String path) {
+        if (!(owner instanceof VaultFieldSection section) || section.getPath().isEmpty()) return path;
+        return section.getPath() + PATH_SEPARATOR + path;
+    }
+
+    /**
+     * Returns the config type adapters resolve against, which is never a
+     * section, so they always see absolute paths.
+     */
+    private @NonNull Config root(@NonNull Config owner) {
+        return owner instanceof VaultFieldSection section ? section.getConfig() : owner;
+    }
+
     @SuppressWarnings("unchecked")
-    private Map<String, Object> navigateToParent(String @NonNull [] parts) {
-        Map<String, Object> current = data;
+    private Map<String, Object> navigateToParent(@NonNull Map<String, Object> section, String @NonNull [] parts,
+                                                 @Nullable Batch batch) {
+        Map<String, Object> current = section;
 
         for (int i = 0; i < parts.length - 1; i++) {
             String key = parts[i];
             Object next = current.get(key);
 
             if (!(next instanceof Map)) {
-                Map<String, Object> newMap = new LinkedHashMap<>();
-                current.put(key, newMap);
+                Map<String, Object> newMap = current instanceof CompactMap ? new CompactMap() : new LinkedHashMap<>();
+                put(current, key, newMap, batch);
                 current = newMap;
+                structure.incrementAndGet();
             } else {
                 current = (Map<String, Object>) next;
             }
@@ -123,15 +654,19 @@ public record VaultConfig(@NonNull File file, @NonNull Map<String, Object> data,
         return current;
     }
 
-    private <T> Optional<T> convertValue(Object value, Class<T> type, String path) {
+    private <T> Optional<T> convertValue(Object value, Class<T> type, Config owner, String path) {
         if (factory instanceof VaultFactory vaultFactory) {
             TypeAdapter<T> adapter = vaultFactory.getTypeAdapter(type);
 
             if (adapter != null) {
+                path = absolutePath(owner, path);
+
                 try {
-                    T converted = adapter.fromObject(this, path, value);
+                    T converted = adapter.fromObject(root(owner), path, value);
+                    if (converted == null) conversionFailed(path, type);
                     return Optional.ofNullable(converted);
                 } catch (Exception e) {
+                    conversionFailed(path, type);
                     return Optional.empty();
                 }
             }
@@ -143,23 +678,152 @@ public record VaultConfig(@NonNull File file, @NonNull Map<String, Object> data,
         return Optional.empty();
     }
 
+    /**
+     * Converts the value with its type adapter. Failures keep the value as
+     * it is, unless strict, where they abort the surrounding batch.
+     */
     @SuppressWarnings("unchecked")
-    private <T> Object convertToStorable(T value, String path) {
+    private <T> Object convertToStorable(T value, Config owner, String path, boolean strict) {
         if (factory instanceof VaultFactory vaultFactory) {
             TypeAdapter<T> adapter = (TypeAdapter<T>) vaultFactory.getTypeAdapter(value.getClass());
 
             if (adapter != null) {
+                path = absolutePath(owner, path);
+
                 try {
-                    return adapter.toObject(this, path, value);
-                } catch (Exception ignored) {}
+                    return adapter.toObject(root(owner), path, value);
+                } catch (Exception e) {
+                    conversionFailed(path, value.getClass());
+                    if (strict) throw new IllegalArgumentException("Failed to convert value at " + path, e);
+                }
             }
         }
 
         return value;
     }
 
+    private MetricsRecorder metrics() {
+        return factory instanceof VaultFactory vaultFactory ? vaultFactory.getMetrics() : MetricsRecorder.NOOP;
+    }
+
+    private void conversionFailed(String path, Class<?> type) {
+        MetricsRecorder metrics = metrics();
+        if (metrics != MetricsRecorder.NOOP) metrics.onConversionFailure(file, path, type);
+    }
+
     @Contract(pure = true)
     private String @NotNull [] splitPath(@NonNull String path) {
         return path.split("\\" + PATH_SEPARATOR);
     }
-}
\ No newline at end of file
+
+    // ==================== Helper Classes ====================
+
+    /**
+     * Update of a list stored in the tree.
+     *
+     * @see #updateList(Map, Config, String, ListUpdate)
+     */
+    public interface ListUpdate<R> {
+
+        /**
+         * Returns the list to update: the stored one to update it in place,
+         * or a new list that is written at the path afterwards.
+         *
+         * @param stored the list stored at the path, or null
+         * @param copy whether the stored list must not be changed in place
+         */
+        @NotNull List<Object> storage(@Nullable List<?> stored, boolean copy);
+
+        /**
+         * Updates the list, adding the splices it makes to the list of
+         * splices in the order they were made.
+         */
+        R apply(@NotNull List<Object> list, @NotNull List<ConfigJournal.Splice> splices);
+
+        /**
+         * Runs the update on a copy of the list at the path of a config that
+         * doesn't expose its tree and writes the copy back.
+         */
+        default R applyTo(@NonNull Config config, @NonNull String path) {
+            Object stored = config.getOptional(path, Object.class).orElse(null);
+            List<Object> list = storage(stored instanceof List<?> current ? current : null, true);
+
+            R result = apply(list, new ArrayList<>(1));
+            config.set(path, list);
+            return result;
+        }
+    }
+
+    /**
+     * Changes of a running batch. Single writes only collect the change,
+     * transactions also keep an undo log for rollback.
+     */
+    private static final class Batch {
+        private final @Nullable List<Undo> undo;
+        private final Map<String, ConfigChange> changes = new LinkedHashMap<>();
+        private boolean save;
+
+        private Batch(boolean transactional) {
+            this.undo = transactional ? new ArrayList<>() : null;
+        }
+
+        private void record(@NonNull String path, @Nullable Object oldValue, @Nullable Object newValue) {
+            ConfigChange first = changes.get(path);
+            changes.put(path, new ConfigChange(path, first == null ? oldValue : first.oldValue(), newValue));
+        }
+
+        private @NonNull List<ConfigChange> diff() {
+            List<ConfigChange> diff = new ArrayList<>(changes.size());
+
+            for (ConfigChange change : changes.values())
+                if (!Objects.equals(change.oldValue(), change.newValue())) diff.add(change);
+
+            return Collections.unmodifiableList(diff);
+        }
+    }
+
+    private record Undo(Map<String, Object> map, String key, boolean present, @Nullable Object value) {}
+
+    /**
+     * Cache key of a query, identifying the section by reference.
+     */
+    private record QueryKey(Map<String, Object> section, ConfigQuery query) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof QueryKey key && key.section == section && key.query.equals(query);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(section) + query.hashCode();
+        }
+    }
+
+    private record CachedQuery(int revision, List<QueryMatch<Object>> matches) {}
+
+    /**
+     * Transaction handle writing through the running batch.
+     */
+    private final class Transaction implements ConfigTransaction {
+        private final Batch batch;
+
+        private Transaction(@NonNull Batch batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public <T> void set(@NonNull String path, @Nullable T value) {
+            VaultConfig.this.set(data, VaultConfig.this, path, value);
+        }
+
+        @Override
+        public @NonNull <T> Optional<T> getOptional(@NonNull String path, @NonNull Class<T> type) {
+            return VaultConfig.this.getOptional(path, type);
+        }
+
+        @Override
+        public void saveOnCommit() {
+            batch.save = true;
+        }
+    }
+}
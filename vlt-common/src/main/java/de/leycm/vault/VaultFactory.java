@@ -11,24 +11,103 @@
 package de.leycm.vault;
 
 import de.leycm.vault.adapter.ConfigFileAdapter;
+import de.leycm.vault.adapter.ConfigFileAdapterProvider;
 import de.leycm.vault.adapter.TypeAdapter;
-import de.leycm.vault.adapter.file.*;
 import de.leycm.vault.adapter.type.Types;
-
+import de.leycm.vault.cache.FileStamp;
+import de.leycm.vault.cache.ParseCache;
+import de.leycm.vault.jfr.*;
+import de.leycm.vault.journal.ConfigJournal;
+import de.leycm.vault.metrics.MetricsRecorder;
+import de.leycm.vault.metrics.VaultMetrics;
+import de.leycm.vault.node.CompactMap;
+import de.leycm.vault.node.Nodes;
+import de.leycm.vault.schema.ConfigSchema;
+import de.leycm.vault.schema.SchemaValidationException;
+import de.leycm.vault.schema.SchemaValidator;
+
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 import org.jetbrains.annotations.*;
 
 import java.io.*;
+import java.net.URL;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 
 public class VaultFactory implements ConfigFactory {
 
+    public static final int DEFAULT_LOADED_SECTIONS = 256;
+
+    /**
+     * Files of at least this size are parsed on the parse pool, if one is set.
+     */
+    public static final int PARALLEL_PARSE_THRESHOLD = 8 << 20;
+
+    // bundled defaults are parsed once per resource and shared by every factory
+    private static final Map<String, Map<String, Object>> BUNDLED_DEFAULTS = new ConcurrentHashMap<>();
+
     private final File defaultDirectory;
     private final Map<String, ConfigFileAdapter> fileAdapters = new ConcurrentHashMap<>();
+    private final Map<String, ConfigFileAdapterProvider> fileAdapterProviders = new ConcurrentHashMap<>();
+    private final Map<ConfigFileAdapterProvider, ConfigFileAdapter> providedAdapters = new ConcurrentHashMap<>();
     private final Map<Class<?>, TypeAdapter<?>> typeAdapters = new ConcurrentHashMap<>();
     private final Map<File, Config> configCache = new ConcurrentHashMap<>();
+    private final Map<File, LayeredConfig> layeredCache = new ConcurrentHashMap<>();
+    private final Map<File, SchemaValidator> schemas = new ConcurrentHashMap<>();
+    private final Map<File, ConfigJournal> journals = new ConcurrentHashMap<>();
+
+    // stamp of each file as last loaded or saved, for cheap change checks
+    private final Map<File, FileStamp> stamps = new ConcurrentHashMap<>();
+
+    // last queued async operation per file, removed once it completes
+    private final Map<File, CompletableFuture<?>> pendingOperations = new ConcurrentHashMap<>();
+
+    private volatile @NonNull Executor asyncExecutor = Thread::startVirtualThread;
+
+    @Getter @Setter
+    private volatile @NonNull MetricsRecorder metrics = MetricsRecorder.NOOP;
+
+    @Getter @Setter
+    private volatile @Nullable ParseCache parseCache;
+
+    /**
+     * Whether loaded trees are converted into {@link CompactMap} sections,
+     * trading slightly slower inserts for a much smaller heap footprint.
+     */
+    @Getter @Setter
+    private volatile boolean compactTrees;
+
+    /**
+     * Whether configs loaded from now on keep a write-ahead journal, so
+     * saving forces the journaled writes to disk instead of rewriting the
+     * file, which is written from the tree in the background once the
+     * journal outgrew it. Configs that still have a journal on disk keep
+     * using it, so no journaled write is lost when this is turned off.
+     *
+     * @see ConfigJournal
+     */
+    @Getter @Setter
+    private volatile boolean journaling;
+
+    /**
+     * Pool that files of at least {@value #PARALLEL_PARSE_THRESHOLD} bytes
+     * are parsed on, splitting them into parts parsed concurrently. Without
+     * a pool every file is parsed on the loading thread.
+     *
+     * @see ConfigFileAdapter#readParallel(byte[], ForkJoinPool)
+     */
+    @Getter @Setter
+    private volatile @Nullable ForkJoinPool parsePool;
 
     @SuppressWarnings("ResultOfMethodCallIgnored")
     public VaultFactory(@NotNull File defaultDirectory) {
@@ -41,9 +120,26 @@ public class VaultFactory implements ConfigFactory {
     @Override
     public void onInstall() {
         registerDefaultTypeAdapters();
-        registerFileAdapter(new JsonConfigAdapter(), "jsn", "json", "jason");
-        registerFileAdapter(new YamlConfigAdapter(), "yml", "yaml");
-        registerFileAdapter(new TomlConfigAdapter(), "tml", "toml");
+        discoverFileAdapters(VaultFactory.class.getClassLoader());
+    }
+
+    /**
+     * Registers every {@link ConfigFileAdapterProvider} the class loader
+     * finds. Only the providers are instantiated; each adapter is created
+     * when its format is first used.
+     */
+    public void discoverFileAdapters(@NonNull ClassLoader loader) {
+        for (ConfigFileAdapterProvider provider : ServiceLoader.load(ConfigFileAdapterProvider.class, loader))
+            registerFileAdapterProvider(provider);
+    }
+
+    /**
+     * Registers a provider for its extensions. Adapters registered through
+     * {@link #registerFileAdapter(ConfigFileAdapter, String...)} take precedence.
+     */
+    public void registerFileAdapterProvider(@NonNull ConfigFileAdapterProvider provider) {
+        for (String extension : provider.extensions())
+            fileAdapterProviders.put(extension.toLowerCase(), provider);
     }
 
     private void registerDefaultTypeAdapters() {
@@ -58,6 +154,9 @@ public class VaultFactory implements ConfigFactory {
         registerTypeAdapter(new Types.BooleanAdapter(), Boolean.class);
         registerTypeAdapter(new Types.BooleanAdapter(), boolean.class);
         registerTypeAdapter(new Types.StringAdapter(), String.class);
+        registerTypeAdapter(new Types.IntArrayAdapter(), int[].class);
+        registerTypeAdapter(new Types.LongArrayAdapter(), long[].class);
+        registerTypeAdapter(new Types.DoubleArrayAdapter(), double[].class);
     }
 
     @SuppressWarnings("ResultOfMethodCallIgnored")
@@ -68,13 +167,40 @@ public class VaultFactory implements ConfigFactory {
         }
 
         Map<String, Object> data = new LinkedHashMap<>();
+        boolean existed = file.exists();
+        boolean journaled = journaling || ConfigJournal.journalFile(file).exists();
+        ConfigJournal journal = null;
+
+        if (existed || (!layeredCache.containsKey(file) && copyFromResources(file))) {
+            MetricsRecorder metrics = this.metrics;
+            ConfigLoadEvent event = new ConfigLoadEvent();
+            event.begin();
+
+            long start = metrics != MetricsRecorder.NOOP || event.isEnabled() ? System.nanoTime() : 0;
 
-        if (file.exists() || copyFromResources(file)) {
             try {
-                String content = Files.readString(file.toPath());
+                BasicFileAttributes attributes = FileStamp.attributes(file.toPath());
+                byte[] bytes = Files.readAllBytes(file.toPath());
+                FileStamp stamp = FileStamp.of(attributes, bytes);
+                stamps.put(file, stamp);
                 ConfigFileAdapter adapter = getAdapter(file);
-
-                if (adapter != null) data = adapter.read(content);
+                long parseStart = event.isEnabled() ? System.nanoTime() : 0;
+
+                if (adapter != null) data = parse(file, adapter, bytes, stamp);
+                if (journaled) journal = openJournal(file, existed ? data : null, bytes);
+                if (compactTrees) data = Nodes.compact(data);
+                long parseDuration = event.isEnabled() ? System.nanoTime() - parseStart : 0;
+
+                if (metrics != MetricsRecorder.NOOP) metrics.onLoad(file, bytes.length, System.nanoTime() - start);
+
+                event.end();
+                if (event.shouldCommit()) {
+                    event.file = file.getPath();
+                    event.format = VaultEvents.format(file);
+                    event.bytes = bytes.length;
+                    event.parseDuration = parseDuration;
+                    event.commit();
+                }
             } catch (IOException e) {
                 throw new RuntimeException("Failed to load config from " + file.getAbsolutePath(), e);
             }
@@ -82,16 +208,176 @@ public class VaultFactory implements ConfigFactory {
             try {
                 file.getParentFile().mkdirs();
                 file.createNewFile();
+                stamps.put(file, FileStamp.of(FileStamp.attributes(file.toPath()), new byte[0]));
+                if (journaled) journal = openJournal(file, null, new byte[0]);
             } catch (IOException e) {
                 throw new RuntimeException("Failed to create config file " + file.getAbsolutePath(), e);
             }
         }
 
         VaultConfig config = new VaultConfig(file, data, this);
+        if (journal != null) config.attachJournal(journal);
+
+        SchemaValidator validator = schemas.get(file);
+        if (validator != null) config.validate(validator);
+
         configCache.put(file, config);
         return config;
     }
 
+    /**
+     * Compiles the schema and attaches it to the file, so this and every
+     * later load is validated. An already loaded config is validated in place.
+     */
+    @Override
+    public Config create(@NonNull File file, @NonNull ConfigSchema schema) {
+        SchemaValidator validator = SchemaValidator.compile(schema);
+        schemas.put(file, validator);
+
+        Config cached = configCache.get(file);
+        if (cached == null) return create(file);
+
+        if (!(cached instanceof VaultConfig vaultConfig))
+            throw new IllegalStateException("Config is not a VaultConfig instance");
+
+        vaultConfig.validate(validator);
+        return vaultConfig;
+    }
+
+    /**
+     * Creates a layered config for the file in the default directory.
+     *
+     * @see #createLayered(File)
+     */
+    public @NotNull LayeredConfig createLayered(@NonNull String filename) {
+        return createLayered(new File(defaultDirectory, filename));
+    }
+
+    /**
+     * Creates a config that reads through runtime overrides, the file and
+     * the defaults bundled at {@code /vault/<name>}, without copying the
+     * defaults to disk. The file itself is cached like any other config
+     * and only holds the keys that were changed.
+     */
+    public @NotNull LayeredConfig createLayered(@NonNull File file) {
+        return layeredCache.computeIfAbsent(file, key -> new LayeredConfig(key, this, bundledDefaults(key)));
+    }
+
+    /**
+     * Creates a directory config in the default directory, keeping up to
+     * {@value #DEFAULT_LOADED_SECTIONS} sections in memory.
+     *
+     * @see #createDirectory(File, String, int)
+     */
+    public @NotNull DirectoryConfig createDirectory(@NonNull String name, @NonNull String extension) {
+        return createDirectory(new File(defaultDirectory, name), extension, DEFAULT_LOADED_SECTIONS);
+    }
+
+    /**
+     * Creates a config that stores each top-level key in its own file with
+     * the given extension under the directory. Sections are loaded on first
+     * access and at most {@code capacity} of them are kept in memory.
+     */
+    public @NotNull DirectoryConfig createDirectory(@NonNull File directory, @NonNull String extension, int capacity) {
+        ConfigFileAdapter adapter = getFileAdapter(extension);
+
+        if (adapter == null)
+            throw new IllegalStateException("No adapter found for extension: " + extension);
+
+        Config config = configCache.computeIfAbsent(directory,
+                key -> new DirectoryConfig(key, extension, adapter, this, capacity));
+
+        if (!(config instanceof DirectoryConfig directoryConfig))
+            throw new IllegalStateException("Config is not a DirectoryConfig instance");
+
+        return directoryConfig;
+    }
+
+    /**
+     * Returns the cached user layer of a layered config, loading it if needed.
+     */
+    @NotNull VaultConfig loadLayer(@NotNull File file) {
+        Config config = configCache.get(file);
+        if (config == null) config = create(file);
+
+        if (!(config instanceof VaultConfig vaultConfig))
+            throw new IllegalStateException("Config is not a VaultConfig instance");
+
+        return vaultConfig;
+    }
+
+    private @NotNull Map<String, Object> bundledDefaults(@NotNull File file) {
+        URL resource = getClass().getResource("/vault/" + file.getName());
+        if (resource == null) return Map.of();
+
+        return BUNDLED_DEFAULTS.computeIfAbsent(resource.toExternalForm(), key -> {
+            ConfigFileAdapter adapter = getAdapter(file);
+            if (adapter == null) return Map.of();
+
+            try (InputStream in = resource.openStream()) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> defaults = (Map<String, Object>) Nodes.freeze(adapter.readBytes(in.readAllBytes()));
+                return defaults;
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read bundled defaults " + key, e);
+            }
+        });
+    }
+
+    /**
+     * Parses the content with the adapter, or restores the tree from the
+     * parse cache if the file didn't change since it was last cached.
+     */
+    private Map<String, Object> parse(@NotNull File file, @NotNull ConfigFileAdapter adapter,
+                                      byte @NotNull [] bytes, @NotNull FileStamp stamp) throws IOException {
+        ParseCache cache = parseCache;
+
+        // a snapshot would decode lazily read trees eagerly
+        if (cache == null || adapter.decodesLazily())
+            return read(adapter, bytes);
+
+        Map<String, Object> data = cache.load(file, stamp);
+        if (data != null) return data;
+
+        data = read(adapter, bytes);
+        cache.store(file, stamp, data);
+        return data;
+    }
+
+    private Map<String, Object> read(@NotNull ConfigFileAdapter adapter, byte @NotNull [] bytes) throws IOException {
+        ForkJoinPool pool = parsePool;
+
+        if (pool == null || bytes.length < PARALLEL_PARSE_THRESHOLD)
+            return adapter.readBytes(bytes);
+
+        return adapter.readParallel(bytes, pool);
+    }
+
+    /**
+     * Returns the journal of the file, replaying it onto the parsed tree.
+     * Without a tree the file was just created and the journal is dropped,
+     * so records of a deleted file don't come back.
+     */
+    private @NotNull ConfigJournal openJournal(@NotNull File file, @Nullable Map<String, Object> data,
+                                               byte @NotNull [] content) throws IOException {
+        ConfigJournal journal;
+        try {
+            journal = journals.computeIfAbsent(file, key -> {
+                try {
+                    return ConfigJournal.open(key);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (data != null) journal.replay(data, content);
+        else journal.clear(content);
+        return journal;
+    }
+
     @SuppressWarnings("ResultOfMethodCallIgnored")
     private boolean copyFromResources(@NotNull File file) {
         String resourcePath = "/vault/" + file.getName();
@@ -108,8 +394,70 @@ public class VaultFactory implements ConfigFactory {
 
     @Override
     public void reload(@NonNull File file) {
-        configCache.remove(file);
-        create(file);
+        MetricsRecorder metrics = this.metrics;
+        long start = metrics != MetricsRecorder.NOOP ? System.nanoTime() : 0;
+
+        ConfigReloadEvent event = new ConfigReloadEvent();
+        event.begin();
+
+        if (configCache.get(file) instanceof DirectoryConfig directory) directory.reload();
+        else replace(file);
+
+        if (metrics != MetricsRecorder.NOOP) metrics.onReload(file, System.nanoTime() - start);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.file = file.getPath();
+            event.format = VaultEvents.format(file);
+            event.commit();
+        }
+    }
+
+    /**
+     * Loads the file again and replaces the cached config with it, handing
+     * the listeners of the previous config over to the new one.
+     */
+    private void replace(@NotNull File file) {
+        Config previous = configCache.remove(file);
+        Config reloaded;
+
+        try {
+            reloaded = create(file);
+        } catch (SchemaValidationException e) {
+            // an invalid file on disk must not replace the valid state in memory
+            if (previous != null) configCache.put(file, previous);
+            throw e;
+        }
+
+        if (previous instanceof VaultConfig old && reloaded instanceof VaultConfig fresh)
+            fresh.inheritListeners(old);
+    }
+
+    /**
+     * Reloads the file only if its size, modification time or content
+     * differs from when it was last loaded or saved. Configs that aren't
+     * loaded yet are loaded.
+     *
+     * @see FileStamp#revalidate(java.nio.file.Path)
+     */
+    @Override
+    public boolean reloadIfChanged(@NonNull File file) {
+        Config config = configCache.get(file);
+
+        if (config instanceof DirectoryConfig directory)
+            return directory.reloadIfChanged();
+
+        FileStamp stamp = stamps.get(file);
+        FileStamp current = config == null || stamp == null ? null : stamp.revalidate(file.toPath());
+
+        if (current == null) {
+            reload(file);
+            return true;
+        }
+
+        // only touched, keep the new stamp so the content isn't hashed again
+        if (current != stamp) stamps.replace(file, stamp, current);
+        return false;
     }
 
     @Override
@@ -119,6 +467,10 @@ public class VaultFactory implements ConfigFactory {
         if (config == null)
             throw new IllegalStateException("Config not loaded: " + file.getAbsolutePath());
 
+        if (config instanceof DirectoryConfig directory) {
+            directory.save();
+            return;
+        }
 
         if (!(config instanceof VaultConfig vaultConfig))
             throw new IllegalStateException("Config is not a VaultConfig instance");
@@ -128,24 +480,253 @@ public class VaultFactory implements ConfigFactory {
         if (adapter == null)
             throw new IllegalStateException("No adapter found for file: " + file.getAbsolutePath());
 
+        ConfigJournal journal = vaultConfig.journal();
+        if (journal != null) {
+            saveJournaled(file, vaultConfig, journal, adapter);
+            return;
+        }
+
+        MetricsRecorder metrics = this.metrics;
+        long start = metrics != MetricsRecorder.NOOP ? System.nanoTime() : 0;
+
+        ConfigSaveEvent event = new ConfigSaveEvent();
+        event.begin();
+
+        try {
+            byte[] current = file.exists()
+                    ? Files.readAllBytes(file.toPath())
+                    : new byte[0];
+
+            long serializeStart = event.isEnabled() ? System.nanoTime() : 0;
+            byte[] content = adapter.writeBytes(current, vaultConfig.data());
+            long serializeDuration = event.isEnabled() ? System.nanoTime() - serializeStart : 0;
+
+            Files.write(file.toPath(), content);
+            stamps.put(file, FileStamp.written(content));
+
+            ParseCache cache = parseCache;
+            if (cache != null) cache.invalidate(file);
+
+            if (metrics != MetricsRecorder.NOOP) metrics.onSave(file, content.length, System.nanoTime() - start);
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.file = file.getPath();
+                event.format = VaultEvents.format(file);
+                event.bytes = content.length;
+                event.serializeDuration = serializeDuration;
+                event.commit();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to save config to " + file.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Forces the journal to disk and compacts it in the background once it
+     * outgrew the file. A stale journal is compacted right away, as it is
+     * missing writes.
+     */
+    private void saveJournaled(@NotNull File file, @NotNull VaultConfig config,
+                               @NotNull ConfigJournal journal, @NotNull ConfigFileAdapter adapter) {
+        MetricsRecorder metrics = this.metrics;
+        long start = metrics != MetricsRecorder.NOOP ? System.nanoTime() : 0;
 
         try {
-            String current = file.exists()
-                    ? Files.readString(file.toPath())
-                    : "";
+            long bytes;
+
+            if (journal.isStale()) {
+                journal.beginCompaction(true);
+                try {
+                    bytes = compact(file, config, journal, adapter);
+                } finally {
+                    journal.endCompaction();
+                }
+            } else {
+                bytes = journal.sync();
+                if (journal.shouldCompact()) compactAsync(file, config, journal, adapter);
+            }
 
-            String content = adapter.write(current, vaultConfig.data());
-            Files.writeString(file.toPath(), content);
+            if (metrics != MetricsRecorder.NOOP) metrics.onSave(file, bytes, System.nanoTime() - start);
         } catch (IOException e) {
             throw new RuntimeException("Failed to save config to " + file.getAbsolutePath(), e);
         }
     }
 
+    private void compactAsync(@NotNull File file, @NotNull VaultConfig config,
+                              @NotNull ConfigJournal journal, @NotNull ConfigFileAdapter adapter) {
+        asyncExecutor.execute(() -> {
+            if (!journal.beginCompaction(false)) return;
+
+            try {
+                // an earlier compaction may have caught up meanwhile
+                if (journal.shouldCompact()) compact(file, config, journal, adapter);
+            } catch (IOException | RuntimeException e) {
+                // the next save compacts synchronously and reports the failure
+                journal.markStale();
+            } finally {
+                journal.endCompaction();
+            }
+        });
+    }
+
+    /**
+     * Writes the file from a snapshot of the tree, replacing it atomically
+     * together with the journal, which drops the records the snapshot covers.
+     *
+     * @return the size of the written file
+     */
+    private long compact(@NotNull File file, @NotNull VaultConfig config,
+                         @NotNull ConfigJournal journal, @NotNull ConfigFileAdapter adapter) throws IOException {
+        byte[] current = file.exists() ? Files.readAllBytes(file.toPath()) : new byte[0];
+        ConfigJournal.Snapshot snapshot = config.journalSnapshot(adapter, current);
+        byte[] content = snapshot.content();
+        Path temp = Files.createTempFile(file.getAbsoluteFile().getParentFile().toPath(), file.getName(), ".tmp");
+
+        try {
+            try (FileOutputStream out = new FileOutputStream(temp.toFile())) {
+                out.write(content);
+                out.getFD().sync();
+            }
+
+            // the rename keeps the modification time, so the temp file's is the one the file gets
+            BasicFileAttributes attributes = FileStamp.attributes(temp);
+            journal.truncate(snapshot.position(), content, () ->
+                    Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE));
+            stamps.put(file, FileStamp.of(attributes, content));
+        } catch (IOException | RuntimeException e) {
+            journal.markStale();
+            throw e;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        ParseCache cache = parseCache;
+        if (cache != null) cache.invalidate(file);
+
+        return content.length;
+    }
+
+    // ==================== Async Operations ====================
+
+    /**
+     * Loads the config on the async executor. Async operations on the same
+     * file run one after another in the order they were requested, also if
+     * an earlier one failed; synchronous calls are not ordered with them.
+     */
+    @Override
+    public @NotNull CompletableFuture<Config> createAsync(@NonNull File file) {
+        return enqueue(file, () -> create(file));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> reloadAsync(@NonNull File file) {
+        return enqueue(file, () -> {
+            reload(file);
+            return null;
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveAsync(@NonNull File file) {
+        return enqueue(file, () -> {
+            save(file);
+            return null;
+        });
+    }
+
+    @Override
+    public @NotNull Executor asyncExecutor() {
+        return asyncExecutor;
+    }
+
+    /**
+     * Replaces the executor async operations run on, virtual threads by default.
+     * Operations that are already queued keep their executor.
+     */
+    public void setAsyncExecutor(@NonNull Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    private <T> @NotNull CompletableFuture<T> enqueue(@NotNull File file, @NotNull Supplier<T> operation) {
+        File key = file.getAbsoluteFile();
+        CompletableFuture<T> next = new CompletableFuture<>();
+
+        // the put decides the order, the operation starts once its predecessor completed
+        CompletableFuture<?> previous = pendingOperations.put(key, next);
+        CompletableFuture<?> after = previous == null ? CompletableFuture.completedFuture(null) : previous;
+
+        after.whenCompleteAsync((result, failure) -> {
+            try {
+                next.complete(operation.get());
+            } catch (Throwable t) {
+                next.completeExceptionally(t);
+            }
+        }, asyncExecutor);
+
+        next.whenComplete((result, failure) -> pendingOperations.remove(key, next));
+
+        // callers get a copy, so completing it can't release the next operation early
+        return next.copy();
+    }
+
     @Override
     public File defDir() {
         return defaultDirectory;
     }
 
+    /**
+     * Converts a config file into the format of the target file, picked by
+     * its ending. Neither file has to be loaded; the existing target content
+     * is handed to the adapter so text formats keep their comments.
+     */
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    public void convert(@NonNull File source, @NonNull File target) {
+        ConfigFileAdapter from = getAdapter(source);
+        ConfigFileAdapter to = getAdapter(target);
+
+        if (from == null)
+            throw new IllegalStateException("No adapter found for file: " + source.getAbsolutePath());
+
+        if (to == null)
+            throw new IllegalStateException("No adapter found for file: " + target.getAbsolutePath());
+
+        try {
+            Map<String, Object> data = from.readBytes(Files.readAllBytes(source.toPath()));
+            byte[] current = target.exists()
+                    ? Files.readAllBytes(target.toPath())
+                    : new byte[0];
+
+            File parent = target.getAbsoluteFile().getParentFile();
+            if (parent != null) parent.mkdirs();
+
+            Files.write(target.toPath(), to.writeBytes(current, data));
+
+            ParseCache cache = parseCache;
+            if (cache != null) cache.invalidate(target);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to convert " + source.getAbsolutePath()
+                    + " to " + target.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Installs the built-in {@link VaultMetrics} recorder and registers it
+     * as JMX MBean. Use {@link #setMetrics(MetricsRecorder)} for custom recorders.
+     */
+    public @NotNull VaultMetrics enableMetrics() {
+        if (metrics instanceof VaultMetrics vaultMetrics) return vaultMetrics;
+
+        VaultMetrics vaultMetrics = new VaultMetrics(this);
+        vaultMetrics.registerMBean();
+        metrics = vaultMetrics;
+        return vaultMetrics;
+    }
+
+    public @NotNull @UnmodifiableView Collection<Config> cachedConfigs() {
+        return Collections.unmodifiableCollection(configCache.values());
+    }
+
     @Override
     public void registerFileAdapter(ConfigFileAdapter adapter,
                                     String @NotNull ... endings) {
@@ -165,6 +746,10 @@ public class VaultFactory implements ConfigFactory {
         return (TypeAdapter<T>) typeAdapters.get(clazz);
     }
 
+    public @Nullable ConfigFileAdapter getFileAdapter(@NonNull String extension) {
+        return resolveAdapter(extension.toLowerCase());
+    }
+
     private @Nullable ConfigFileAdapter getAdapter(@NotNull File file) {
         String name = file.getName();
         int dotIndex = name.lastIndexOf('.');
@@ -174,6 +759,25 @@ public class VaultFactory implements ConfigFactory {
         }
 
         String extension = name.substring(dotIndex + 1).toLowerCase();
+        return resolveAdapter(extension);
+    }
+
+    /**
+     * Returns the adapter registered for the extension, creating it from
+     * its provider on first use. A provider creates one adapter, shared by
+     * all of its extensions.
+     */
+    private @Nullable ConfigFileAdapter resolveAdapter(@NotNull String extension) {
+        ConfigFileAdapter adapter = fileAdapters.get(extension);
+        if (adapter != null) return adapter;
+
+        ConfigFileAdapterProvider provider = fileAdapterProviders.get(extension);
+        if (provider == null) return null;
+
+        adapter = providedAdapters.computeIfAbsent(provider, ConfigFileAdapterProvider::create);
+        for (String ending : provider.extensions())
+            fileAdapters.putIfAbsent(ending.toLowerCase(), adapter);
+
         return fileAdapters.get(extension);
     }
 
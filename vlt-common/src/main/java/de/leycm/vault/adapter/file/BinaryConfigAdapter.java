@@ -0,0 +1,234 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.adapter.file;
+
+import de.leycm.vault.adapter.ConfigFileAdapter;
+import de.leycm.vault.jfr.AdapterReadEvent;
+import de.leycm.vault.jfr.AdapterWriteEvent;
+import de.leycm.vault.node.LazyMap;
+import de.leycm.vault.node.LazyMap.Slice;
+import de.leycm.vault.node.PrimitiveListNode;
+import de.leycm.vault.node.TreeCodec;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Adapter for Vault's binary format, meant for machine-generated configs.
+ * <p>
+ * Layout: the magic {@code VLT1}, a table of every key and string value,
+ * an index of the top-level entries (key reference and encoded length) and
+ * the entries themselves, each encoded by {@link TreeCodec} against the table.
+ * Reading only decodes the index; top-level values are decoded on first
+ * access, and entries that were never touched are copied verbatim on write.
+ * </p>
+ */
+public class BinaryConfigAdapter implements ConfigFileAdapter {
+    private static final String FORMAT = "binary";
+    private static final byte[] MAGIC = {'V', 'L', 'T', '1'};
+
+    @Override
+    public Map<String, Object> read(String content) throws IOException {
+        return readBytes(content.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    @Override
+    public String write(String current, Map<String, Object> data) throws IOException {
+        return new String(writeBytes(new byte[0], data), StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public String updateValue(String current, String key, Object value) throws IOException {
+        Map<String, Object> data = read(current);
+        setNestedValue(data, key, value);
+        return write(current, data);
+    }
+
+    @Override
+    public boolean decodesLazily() {
+        return true;
+    }
+
+    @Override
+    public Map<String, Object> readBytes(byte @NotNull [] content) throws IOException {
+        if (content.length == 0) return new LinkedHashMap<>();
+
+        AdapterReadEvent event = new AdapterReadEvent(FORMAT);
+        event.begin();
+
+        if (content.length < MAGIC.length || !Arrays.equals(content, 0, MAGIC.length, MAGIC, 0, MAGIC.length))
+            throw new IOException("Not a Vault binary config");
+
+        try {
+            TreeCodec.Input in = new TreeCodec.Input(content, MAGIC.length, content.length - MAGIC.length);
+
+            int tableSize = in.readLength();
+            List<String> table = new ArrayList<>(tableSize);
+            for (int i = 0; i < tableSize; i++) table.add(in.readRawString());
+
+            int entries = in.readLength();
+            String[] keys = new String[entries];
+            int[] lengths = new int[entries];
+
+            for (int i = 0; i < entries; i++) {
+                long key = in.readVarLong();
+                if (key < 0 || key >= tableSize) throw new IllegalArgumentException("Unknown key reference " + key);
+
+                keys[i] = table.get((int) key);
+                lengths[i] = in.readLength();
+            }
+
+            Section section = new Section(content, table);
+            int offset = in.position();
+
+            for (int i = 0; i < entries; i++) {
+                if (lengths[i] > content.length - offset)
+                    throw new IllegalArgumentException("Entry " + keys[i] + " exceeds the file");
+
+                section.putSlice(keys[i], offset, lengths[i]);
+                offset += lengths[i];
+            }
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.characters = content.length;
+                event.commit();
+            }
+
+            return section;
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid Vault binary config", e);
+        }
+    }
+
+    @Override
+    public byte[] writeBytes(byte[] current, @NotNull Map<String, Object> data) throws IOException {
+        AdapterWriteEvent event = new AdapterWriteEvent(FORMAT);
+        event.begin();
+
+        Map<String, Integer> table = new LinkedHashMap<>();
+
+        // verbatim entries reference the source table, so it has to stay a prefix
+        Section source = data instanceof Section section && section.hasUndecoded() ? section : null;
+        if (source != null) for (String string : source.table) table.putIfAbsent(string, table.size());
+
+        try {
+            Collection<Map.Entry<String, Object>> entries = rawEntries(data);
+
+            for (Map.Entry<String, Object> entry : entries) {
+                table.putIfAbsent(entry.getKey(), table.size());
+                if (!(entry.getValue() instanceof Slice)) collectStrings(entry.getValue(), table);
+            }
+
+            TreeCodec.Output body = new TreeCodec.Output(table);
+            TreeCodec.Output out = new TreeCodec.Output();
+            out.writeBytes(MAGIC, 0, MAGIC.length);
+
+            out.writeVarLong(table.size());
+            for (String string : table.keySet()) out.writeRawString(string);
+
+            out.writeVarLong(entries.size());
+
+            for (Map.Entry<String, Object> entry : entries) {
+                int start = body.size();
+
+                if (entry.getValue() instanceof Slice slice && source != null) {
+                    body.writeBytes(source.content, slice.offset(), slice.length());
+                } else {
+                    body.writeValue(entry.getValue());
+                }
+
+                out.writeVarLong(table.get(entry.getKey()));
+                out.writeVarLong(body.size() - start);
+            }
+
+            byte[] encoded = body.toByteArray();
+            out.writeBytes(encoded, 0, encoded.length);
+            byte[] result = out.toByteArray();
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.characters = result.length;
+                event.commit();
+            }
+
+            return result;
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Failed to encode Vault binary config", e);
+        }
+    }
+
+    // ==================== Helper Methods ====================
+
+    private static @NotNull Collection<Map.Entry<String, Object>> rawEntries(@NotNull Map<String, Object> data) {
+        if (data instanceof Section section) return section.rawEntries();
+
+        List<Map.Entry<String, Object>> entries = new ArrayList<>(data.size());
+        for (Map.Entry<?, ?> entry : data.entrySet())
+            entries.add(new AbstractMap.SimpleEntry<>(String.valueOf(entry.getKey()), entry.getValue()));
+        return entries;
+    }
+
+    private static void collectStrings(@Nullable Object value, @NotNull Map<String, Integer> table) {
+        if (value instanceof String string) {
+            table.putIfAbsent(string, table.size());
+        } else if (value instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                table.putIfAbsent(String.valueOf(entry.getKey()), table.size());
+                collectStrings(entry.getValue(), table);
+            }
+        } else if (value instanceof List<?> list && !(value instanceof PrimitiveListNode)) {
+            for (Object item : list) collectStrings(item, table);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void setNestedValue(Map<String, Object> data, @NotNull String key, Object value) {
+        String[] parts = key.split("\\.");
+        Map<String, Object> current = data;
+
+        for (int i = 0; i < parts.length - 1; i++) {
+            Object next = current.get(parts[i]);
+            if (!(next instanceof Map)) {
+                Map<String, Object> newMap = new LinkedHashMap<>();
+                current.put(parts[i], newMap);
+                current = newMap;
+            } else {
+                current = (Map<String, Object>) next;
+            }
+        }
+
+        current.put(parts[parts.length - 1], value);
+    }
+
+    // ==================== Helper Classes ====================
+
+    /**
+     * Top-level section of a binary config, decoding its values on first access.
+     */
+    private static final class Section extends LazyMap {
+        private final byte[] content;
+        private final List<String> table;
+
+        private Section(byte @NotNull [] content, @NotNull List<String> table) {
+            this.content = content;
+            this.table = table;
+        }
+
+        @Override
+        protected @Nullable Object decode(@NotNull Slice slice) {
+            return new TreeCodec.Input(content, slice.offset(), slice.length(), table).readValue();
+        }
+    }
+}
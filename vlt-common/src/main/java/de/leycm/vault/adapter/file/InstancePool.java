@@ -0,0 +1,54 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.adapter.file;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * Pool of parser and emitter instances that are not thread-safe. Every
+ * caller borrows its own instance, so adapters can be shared by all
+ * threads. Instances are created on demand and at most {@code idle} of
+ * them are kept for reuse.
+ * <p>
+ * A pool instead of thread locals, as loads usually run on virtual
+ * threads that would each create and then drop their own instance.
+ * </p>
+ */
+public final class InstancePool<T> {
+
+    private final ArrayBlockingQueue<T> idle;
+    private final Supplier<T> factory;
+
+    public InstancePool(@NotNull Supplier<T> factory) {
+        this(factory, Math.max(2, Runtime.getRuntime().availableProcessors()));
+    }
+
+    public InstancePool(@NotNull Supplier<T> factory, int idle) {
+        this.idle = new ArrayBlockingQueue<>(idle);
+        this.factory = factory;
+    }
+
+    public @NotNull T borrow() {
+        T instance = idle.poll();
+        return instance != null ? instance : factory.get();
+    }
+
+    /**
+     * Returns the instance for reuse, dropping it if enough are idle.
+     * Must not be called for an instance left in a broken state.
+     */
+    public void release(@NotNull T instance) {
+        idle.offer(instance);
+    }
+}
@@ -0,0 +1,189 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.adapter.file;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join parsing of large documents whose entries were located by a
+ * structural pre-scan of the adapter. Runs of consecutive entries are
+ * grouped into chunks of similar size, parsed concurrently and stitched
+ * back together in the original key order. Entries that were scanned
+ * into a nested {@link Section} are split the same way, so a document
+ * with a single huge section still parses in parallel.
+ */
+public final class ParallelParse {
+
+    /**
+     * Chunks are never smaller than this, smaller ones cost more to schedule than to parse.
+     */
+    public static final int MIN_CHUNK = 64 << 10;
+
+    private ParallelParse() {}
+
+    /**
+     * Entries of a mapping in the source text.
+     *
+     * @param starts the offset each entry starts at
+     * @param ends the offset each entry ends at
+     * @param keys the key of each entry, only needed for entries with a child
+     * @param children the scanned value of each entry, or null where the entry is parsed as a whole
+     */
+    public record Section(int @NotNull [] starts, int @NotNull [] ends,
+                          String @NotNull [] keys, Section @NotNull [] children) {
+
+        public int size() {
+            return starts.length;
+        }
+    }
+
+    /**
+     * Parses the entries {@code from} to {@code to} of a section into a map.
+     * Called concurrently, so it must not share parser instances.
+     */
+    @FunctionalInterface
+    public interface Chunk {
+        @NotNull Map<String, Object> parse(@NotNull Section section, int from, int to) throws IOException;
+    }
+
+    /**
+     * Returns the chunk size for the content on the pool, so every worker
+     * gets a few chunks to balance uneven ones.
+     *
+     * @param maxChunk the largest chunk the parser accepts
+     */
+    public static int grain(int length, @NotNull ForkJoinPool pool, int maxChunk) {
+        int grain = length / (pool.getParallelism() * 4);
+        return Math.min(maxChunk, Math.max(MIN_CHUNK, grain));
+    }
+
+    /**
+     * Parses the section on the pool and assembles the tree.
+     */
+    public static @NotNull Map<String, Object> parse(@NotNull ForkJoinPool pool, @NotNull Section root,
+                                                     int grain, @NotNull Chunk chunk) throws IOException {
+        List<Leaf> leaves = new ArrayList<>();
+        Plan plan = plan(root, grain, leaves);
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object>[] parsed = new Map[leaves.size()];
+
+        try {
+            pool.invoke(new LeafTask(leaves, parsed, chunk, 0, leaves.size()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        return assemble(plan, parsed);
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    /**
+     * Groups the entries of the section into leaves, closing a leaf once
+     * it reaches the grain or before an entry that is split further.
+     */
+    private static @NotNull Plan plan(@NotNull Section section, int grain, @NotNull List<Leaf> leaves) {
+        List<Object> items = new ArrayList<>();
+        int from = 0;
+
+        for (int i = 0; i < section.size(); i++) {
+            Section child = section.children()[i];
+
+            if (child != null) {
+                if (from < i) items.add(leaf(section, from, i, leaves));
+                items.add(new Nested(section.keys()[i], plan(child, grain, leaves)));
+                from = i + 1;
+            } else if (section.ends()[i] - section.starts()[from] >= grain) {
+                items.add(leaf(section, from, i + 1, leaves));
+                from = i + 1;
+            }
+        }
+
+        if (from < section.size()) items.add(leaf(section, from, section.size(), leaves));
+        return new Plan(items);
+    }
+
+    private static int leaf(@NotNull Section section, int from, int to, @NotNull List<Leaf> leaves) {
+        leaves.add(new Leaf(section, from, to));
+        return leaves.size() - 1;
+    }
+
+    private static @NotNull Map<String, Object> assemble(@NotNull Plan plan, Map<String, Object> @NotNull [] parsed) {
+        Map<String, Object> map = new LinkedHashMap<>();
+
+        for (Object item : plan.items()) {
+            if (item instanceof Nested nested) map.put(nested.key(), assemble(nested.plan(), parsed));
+            else map.putAll(parsed[(Integer) item]);
+        }
+
+        return map;
+    }
+
+    // ==================== Helper Classes ====================
+
+    /**
+     * Leaf indices and nested sections of a section in order.
+     */
+    private record Plan(@NotNull List<Object> items) {}
+
+    private record Nested(@NotNull String key, @NotNull Plan plan) {}
+
+    private record Leaf(@NotNull Section section, int from, int to) {}
+
+    /**
+     * Parses a range of leaves, halving it until a single leaf is left.
+     */
+    private static final class LeafTask extends RecursiveAction {
+        private final List<Leaf> leaves;
+        private final Map<String, Object>[] parsed;
+        private final Chunk chunk;
+        private final int from;
+        private final int to;
+
+        private LeafTask(@NotNull List<Leaf> leaves, Map<String, Object> @NotNull [] parsed,
+                         @NotNull Chunk chunk, int from, int to) {
+            this.leaves = leaves;
+            this.parsed = parsed;
+            this.chunk = chunk;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new LeafTask(leaves, parsed, chunk, from, mid),
+                        new LeafTask(leaves, parsed, chunk, mid, to));
+                return;
+            }
+
+            if (to == from) return;
+
+            Leaf leaf = leaves.get(from);
+            try {
+                parsed[from] = chunk.parse(leaf.section(), leaf.from(), leaf.to());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -12,6 +12,9 @@ package de.leycm.vault.adapter.type;
 
 import de.leycm.vault.Config;
 import de.leycm.vault.adapter.TypeAdapter;
+import de.leycm.vault.node.*;
+
+import java.util.List;
 
 public interface Types {
 
@@ -110,4 +113,90 @@ public interface Types {
             return value;
         }
     }
+
+    /**
+     * Reads int arrays, or null if an element isn't an int.
+     */
+    class IntArrayAdapter implements TypeAdapter<int[]> {
+        @Override
+        public int[] fromObject(Config root, String path, Object raw) {
+            if (raw instanceof IntArrayNode node) return node.toIntArray();
+            if (raw instanceof LongArrayNode node) return narrow(node);
+            if (raw instanceof int[] array) return array.clone();
+            if (!(raw instanceof List<?> list)) return null;
+
+            int[] result = new int[list.size()];
+            for (int i = 0; i < result.length; i++) {
+                if (!(list.get(i) instanceof Number number) || !Nodes.isExactLong(number)) return null;
+
+                long value = number.longValue();
+                if ((int) value != value) return null;
+                result[i] = (int) value;
+            }
+            return result;
+        }
+
+        /**
+         * Narrows the longs every parsed integer array is packed as, without boxing them.
+         */
+        private static int[] narrow(LongArrayNode node) {
+            int[] result = new int[node.size()];
+            for (int i = 0; i < result.length; i++) {
+                long value = node.getLong(i);
+                if ((int) value != value) return null;
+                result[i] = (int) value;
+            }
+            return result;
+        }
+
+        @Override
+        public Object toObject(Config root, String path, int[] value) {
+            return new IntArrayNode(value.clone());
+        }
+    }
+
+    /**
+     * Reads long arrays, or null if an element isn't an integral number a long holds exactly.
+     */
+    class LongArrayAdapter implements TypeAdapter<long[]> {
+        @Override
+        public long[] fromObject(Config root, String path, Object raw) {
+            if (raw instanceof LongArrayNode || raw instanceof IntArrayNode) return ((PrimitiveListNode<?>) raw).toLongArray();
+            if (raw instanceof long[] array) return array.clone();
+            if (!(raw instanceof List<?> list)) return null;
+
+            long[] result = new long[list.size()];
+            for (int i = 0; i < result.length; i++) {
+                if (!(list.get(i) instanceof Number number) || !Nodes.isExactLong(number)) return null;
+                result[i] = number.longValue();
+            }
+            return result;
+        }
+
+        @Override
+        public Object toObject(Config root, String path, long[] value) {
+            return new LongArrayNode(value.clone());
+        }
+    }
+
+    class DoubleArrayAdapter implements TypeAdapter<double[]> {
+        @Override
+        public double[] fromObject(Config root, String path, Object raw) {
+            if (raw instanceof PrimitiveListNode<?> node) return node.toDoubleArray();
+            if (raw instanceof double[] array) return array.clone();
+            if (!(raw instanceof List<?> list)) return null;
+
+            double[] result = new double[list.size()];
+            for (int i = 0; i < result.length; i++) {
+                if (!(list.get(i) instanceof Number number)) return null;
+                result[i] = number.doubleValue();
+            }
+            return result;
+        }
+
+        @Override
+        public Object toObject(Config root, String path, double[] value) {
+            return new DoubleArrayNode(value.clone());
+        }
+    }
 }
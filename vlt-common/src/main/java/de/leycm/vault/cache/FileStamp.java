@@ -0,0 +1,110 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.cache;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.zip.CRC32C;
+
+/**
+ * Modification time, size and content hash of a config file at the time it was read or written.
+ * The modification time is always read before the content, so a write in between makes the
+ * stamp look outdated rather than current.
+ */
+public record FileStamp(long modified, long size, long hash) {
+
+    /**
+     * Modification time of stamps taken after writing, which never matches the file.
+     */
+    public static final long UNKNOWN_MODIFIED = Long.MIN_VALUE;
+
+    // smaller files are read into the heap, mapping them costs more than copying
+    private static final long MAP_THRESHOLD = 64 << 10;
+    private static final long MAX_MAPPING = 1L << 30;
+
+    /**
+     * Stamps content read from a file.
+     *
+     * @param attributes the attributes of the file, read before the content
+     */
+    public static @NotNull FileStamp of(@NonNull BasicFileAttributes attributes, byte @NonNull [] content) {
+        return new FileStamp(attributes.lastModifiedTime().toMillis(), content.length, hash(content));
+    }
+
+    /**
+     * Stamps content that was just written to the file. A modification time
+     * read after the write may already belong to a later one, so none is
+     * kept and the first {@link #revalidate(Path)} hashes the file once.
+     */
+    public static @NotNull FileStamp written(byte @NonNull [] content) {
+        return new FileStamp(UNKNOWN_MODIFIED, content.length, hash(content));
+    }
+
+    public static @NotNull BasicFileAttributes attributes(@NonNull Path path) throws IOException {
+        return Files.readAttributes(path, BasicFileAttributes.class);
+    }
+
+    /**
+     * Stamps the file on disk, hashing larger files through a memory mapping.
+     */
+    public static @NotNull FileStamp of(@NonNull Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            BasicFileAttributes attributes = attributes(path);
+            long modified = attributes.lastModifiedTime().toMillis();
+            long size = channel.size();
+
+            if (size < MAP_THRESHOLD) return of(attributes, Files.readAllBytes(path));
+
+            CRC32C crc = new CRC32C();
+            for (long position = 0; position < size; position += MAX_MAPPING)
+                crc.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAX_MAPPING, size - position)));
+
+            return new FileStamp(modified, size, crc.getValue());
+        }
+    }
+
+    /**
+     * Checks whether the file still has the content this stamp was taken
+     * of. The size and modification time are compared first; the content
+     * is only hashed if the file was touched without changing its size.
+     * Changes within the resolution of the modification time that keep
+     * the size are not detected.
+     *
+     * @return the stamp to keep, which is a new one if only the modification
+     *         time changed, or null if the content changed or the file is gone
+     */
+    public @Nullable FileStamp revalidate(@NonNull Path path) {
+        try {
+            BasicFileAttributes attributes = attributes(path);
+            if (attributes.size() != size) return null;
+            if (attributes.lastModifiedTime().toMillis() == modified) return this;
+
+            FileStamp current = of(path);
+            return current.hash == hash && current.size == size ? current : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public static long hash(byte @NonNull [] content) {
+        CRC32C crc = new CRC32C();
+        crc.update(content, 0, content.length);
+        return crc.getValue();
+    }
+}
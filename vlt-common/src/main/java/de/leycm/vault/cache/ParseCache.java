@@ -0,0 +1,121 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.cache;
+
+import de.leycm.vault.node.TreeCodec;
+import lombok.Getter;
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps binary snapshots of parsed config trees in a cache directory, so
+ * unchanged text files don't have to be parsed again on the next start.
+ * A snapshot is only used if the path, modification time, size and content
+ * hash of the text file still match. The cache is best effort: failures to
+ * read or write snapshots fall back to parsing.
+ */
+public class ParseCache {
+
+    private static final long MAGIC = 0x564C54430001L; // "VLTC", format 1
+    private static final String SUFFIX = ".vcache";
+
+    @Getter
+    private final File directory;
+
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    public ParseCache(@NonNull File directory) {
+        this.directory = directory;
+
+        if (!directory.exists())
+            directory.mkdirs();
+    }
+
+    /**
+     * Returns the cached tree of the file if its snapshot matches the given stamp.
+     *
+     * @param file the config file
+     * @param stamp the stamp of the content just read from the file
+     * @return a mutable copy of the cached tree, or null on a cache miss
+     */
+    public @Nullable Map<String, Object> load(@NonNull File file, @NonNull FileStamp stamp) {
+        Path snapshot = snapshotFile(file).toPath();
+        if (!Files.exists(snapshot)) return null;
+
+        try {
+            byte[] data = Files.readAllBytes(snapshot);
+            TreeCodec.Input in = new TreeCodec.Input(data, 0, data.length);
+
+            if (in.readLong() != MAGIC) return null;
+            if (!in.readRawString().equals(file.getAbsolutePath())) return null;
+
+            FileStamp cached = new FileStamp(in.readLong(), in.readVarLong(), in.readLong());
+            if (!cached.equals(stamp)) return null;
+
+            return TreeCodec.decode(data, in.position(), data.length - in.position());
+        } catch (IOException | IllegalArgumentException e) {
+            invalidate(file);
+            return null;
+        }
+    }
+
+    /**
+     * Writes a snapshot of the tree for the file content with the given stamp.
+     * Trees with values the binary format can't hold are not cached.
+     */
+    public void store(@NonNull File file, @NonNull FileStamp stamp, @NonNull Map<String, Object> data) {
+        Path snapshot = snapshotFile(file).toPath();
+        Path temp = null;
+
+        try {
+            TreeCodec.Output out = new TreeCodec.Output();
+
+            out.writeLong(MAGIC);
+            out.writeRawString(file.getAbsolutePath());
+            out.writeLong(stamp.modified());
+            out.writeVarLong(stamp.size());
+            out.writeLong(stamp.hash());
+            out.writeValue(data);
+
+            temp = Files.createTempFile(directory.toPath(), "snapshot", ".tmp");
+            Files.write(temp, out.toByteArray());
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | IllegalArgumentException e) {
+            invalidate(file);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {}
+            }
+        }
+    }
+
+    public void invalidate(@NonNull File file) {
+        try {
+            Files.deleteIfExists(snapshotFile(file).toPath());
+        } catch (IOException ignored) {}
+    }
+
+    private @NotNull File snapshotFile(@NonNull File file) {
+        byte[] key = file.getAbsolutePath().getBytes(StandardCharsets.UTF_8);
+        return new File(directory, UUID.nameUUIDFromBytes(key) + SUFFIX);
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.cache;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Hands out one instance per key for as long as anyone still holds it.
+ * Values are only weakly referenced, so handles for paths nobody uses
+ * anymore are collected, and their entries are dropped on the next call.
+ */
+public final class WeakInterner<K, V> {
+
+    private final Map<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+    private final ReferenceQueue<V> collected = new ReferenceQueue<>();
+
+    /**
+     * Returns the live instance for the key, creating it if there is none.
+     */
+    public @NotNull V intern(@NonNull K key, @NonNull Function<? super K, ? extends V> factory) {
+        expunge();
+
+        while (true) {
+            Entry<K, V> entry = entries.get(key);
+            V value = entry == null ? null : entry.get();
+            if (value != null) return value;
+
+            V created = factory.apply(key);
+            Entry<K, V> replacement = new Entry<>(key, created, collected);
+
+            boolean won = entry == null
+                    ? entries.putIfAbsent(key, replacement) == null
+                    : entries.replace(key, entry, replacement);
+
+            if (won) return created;
+        }
+    }
+
+    /**
+     * Returns the number of keys with an entry, including entries whose
+     * value was collected but not dropped yet.
+     */
+    public int size() {
+        expunge();
+        return entries.size();
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    @SuppressWarnings("unchecked")
+    private void expunge() {
+        Entry<K, V> entry;
+        while ((entry = (Entry<K, V>) collected.poll()) != null) entries.remove(entry.key, entry);
+    }
+
+    // ==================== Helper Classes ====================
+
+    private static final class Entry<K, V> extends WeakReference<V> {
+        private final K key;
+
+        private Entry(@NotNull K key, @NotNull V value, @NotNull ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+}
@@ -13,27 +13,68 @@ package de.leycm.vault.field;
 import de.leycm.vault.Config;
 import org.jetbrains.annotations.Nullable;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import java.util.Optional;
 
 @Getter
-@RequiredArgsConstructor
 public class VaultField<T> implements Field<T> {
 
     private final @NonNull Config config;
     private final @NonNull String path;
     private final @NonNull Class<T> type;
 
+    // the section reads and writes go through, and the path relative to it
+    @Getter(AccessLevel.NONE)
+    private final @Nullable VaultFieldSection section;
+    @Getter(AccessLevel.NONE)
+    private final @NonNull String relativePath;
+
+    public VaultField(@NonNull Config config, @NonNull String path, @NonNull Class<T> type) {
+        this(config, path, type, null, path);
+    }
+
+    /**
+     * Creates a field of a section that still reports the config and
+     * the absolute path, but reads and writes through the section.
+     */
+    VaultField(@NonNull Config config, @NonNull String path, @NonNull Class<T> type,
+               @Nullable VaultFieldSection section, @NonNull String relativePath) {
+        this.config = config;
+        this.path = path;
+        this.type = type;
+        this.section = section;
+        this.relativePath = relativePath;
+    }
+
     @Override
     public @NonNull Optional<T> getOptional() {
-        return config.getOptional(path, type);
+        return read(type);
     }
 
     @Override
     public void set(@Nullable T value) {
-        config.set(path, value);
+        if (section != null) section.set(relativePath, value);
+        else config.set(path, value);
+    }
+
+    /**
+     * Reads the value at this field's path as the given type.
+     */
+    protected @NonNull <V> Optional<V> read(@NonNull Class<V> type) {
+        return section != null ? section.getOptional(relativePath, type) : config.getOptional(path, type);
+    }
+
+    /**
+     * Returns the section this field goes through, or null if it goes through its config.
+     */
+    protected @Nullable VaultFieldSection section() {
+        return section;
+    }
+
+    protected @NonNull String relativePath() {
+        return relativePath;
     }
 
 }
\ No newline at end of file
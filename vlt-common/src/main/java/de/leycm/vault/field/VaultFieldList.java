@@ -12,28 +12,50 @@ package de.leycm.vault.field;
 
 import de.leycm.vault.*;
 import de.leycm.vault.adapter.TypeAdapter;
+import de.leycm.vault.journal.ConfigJournal;
+import de.leycm.vault.metrics.MetricsRecorder;
+import de.leycm.vault.node.PrimitiveListNode;
 import org.jetbrains.annotations.*;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
 
 @Getter
 public class VaultFieldList<T> extends VaultField<List<T>> implements FieldList<T> {
 
     private final Class<T> elementType;
 
-    @SuppressWarnings("unchecked")
+    @Getter(AccessLevel.NONE)
+    private volatile @Nullable ListView<T> view;
+
     public VaultFieldList(@NonNull Config config, @NonNull String path, @NonNull Class<T> elementType) {
-        super(config, path, (Class<List<T>>) (Class<?>) List.class);
+        this(config, path, elementType, null, path);
+    }
+
+    /**
+     * Creates a list of a section that still reports the config and
+     * the absolute path, but reads and writes through the section.
+     */
+    @SuppressWarnings("unchecked")
+    VaultFieldList(@NonNull Config config, @NonNull String path, @NonNull Class<T> elementType,
+                   @Nullable VaultFieldSection section, @NonNull String relativePath) {
+        super(config, path, (Class<List<T>>) (Class<?>) List.class, section, relativePath);
         this.elementType = elementType;
     }
 
     @Override
     public @NonNull Optional<List<T>> getOptional() {
-        Optional<Object> raw = getConfig().getOptional(getPath(), Object.class);
+        Optional<Object> raw = read(Object.class);
 
         if (raw.isEmpty()) return Optional.empty();
 
@@ -47,12 +69,235 @@ public class VaultFieldList<T> extends VaultField<List<T>> implements FieldList<
     }
 
     @Override
-    public void set(@Nullable List<T> value) {
-        getConfig().set(getPath(), value);
+    public Optional<T> getOptional(int i) {
+        List<T> view = view();
+        if (i < 0 || i >= view.size()) return Optional.empty();
+        return Optional.ofNullable(view.get(i));
+    }
+
+    @Override
+    public int size() {
+        List<?> rawList = rawList();
+        return rawList == null ? 0 : rawList.size();
+    }
+
+    /**
+     * Returns a live, read-only view of the list currently stored at this path.
+     * Elements are converted on first access and cached until the config is
+     * written to, so indexed reads don't convert the rest of the list.
+     * Elements that can't be converted to the element type are read as
+     * {@code null}.
+     */
+    @Override
+    public @NonNull List<T> view() {
+        List<?> rawList = rawList();
+
+        if (rawList == null) return List.of();
+
+        ListView<T> current = view;
+        if (current != null && current.rawList == rawList) return current;
+
+        current = new ListView<>(this, rawList);
+        view = current;
+        return current;
+    }
+
+    @Override
+    public void set(int i, @Nullable T value) {
+        if (value == null) {
+            remove(i);
+            return;
+        }
+
+        Object storable = toStorable(value);
+        update(node -> node.accepts(storable), (storage, splices) -> {
+            storage.set(i, storable);
+            splices.add(new ConfigJournal.Splice(i, 1, List.of(storable)));
+            return null;
+        });
+    }
+
+    @Override
+    public void add(@NonNull T value) {
+        Object storable = toStorable(value);
+        update(node -> node.accepts(storable), (storage, splices) -> {
+            splices.add(new ConfigJournal.Splice(storage.size(), 0, List.of(storable)));
+            return storage.add(storable);
+        });
+    }
+
+    @Override
+    public void add(int i, @NonNull T value) {
+        Object storable = toStorable(value);
+        update(node -> node.accepts(storable), (storage, splices) -> {
+            storage.add(i, storable);
+            splices.add(new ConfigJournal.Splice(i, 0, List.of(storable)));
+            return null;
+        });
+    }
+
+    @Override
+    public void remove(int i) {
+        update(node -> true, (storage, splices) -> {
+            storage.remove(i);
+            splices.add(new ConfigJournal.Splice(i, 1, List.of()));
+            return null;
+        });
+    }
+
+    @Override
+    public void addAll(@NonNull Collection<? extends T> values) {
+        List<Object> storables = new ArrayList<>(values.size());
+        for (T value : values) storables.add(toStorable(value));
+
+        update(node -> storables.stream().allMatch(node::accepts), (storage, splices) -> {
+            if (storage instanceof ArrayList<Object> arrayList)
+                arrayList.ensureCapacity(storage.size() + storables.size());
+
+            splices.add(new ConfigJournal.Splice(storage.size(), 0, storables));
+            return storage.addAll(storables);
+        });
+    }
+
+    @Override
+    public boolean removeIf(@NonNull Predicate<? super T> filter) {
+        List<?> rawList = rawList();
+        if (rawList == null || rawList.isEmpty()) return false;
+
+        return update(node -> true, (storage, splices) -> {
+            // removeIf tests every element in order, so the index is counted along
+            int[] kept = new int[1];
+            return storage.removeIf(item -> {
+                boolean matches = filter.test(convertItem(item).orElse(null));
+                if (matches) removed(splices, kept[0]);
+                else kept[0]++;
+                return matches;
+            });
+        });
     }
 
     // ==================== Private Helper Methods ====================
 
+    private @Nullable List<?> rawList() {
+        Optional<Object> raw = read(Object.class);
+        return raw.isPresent() && raw.get() instanceof List<?> rawList ? rawList : null;
+    }
+
+    /**
+     * Runs the update on the list stored at this path through the config,
+     * so it is locked, recorded and reported like every other write.
+     *
+     * @param fits whether a primitive node can hold the incoming elements
+     */
+    private <R> R update(@NonNull Predicate<PrimitiveListNode<?>> fits,
+                         @NonNull BiFunction<List<Object>, List<ConfigJournal.Splice>, R> body) {
+        VaultConfig.ListUpdate<R> update = new VaultConfig.ListUpdate<>() {
+            @Override
+            public @NotNull List<Object> storage(@Nullable List<?> stored, boolean copy) {
+                return VaultFieldList.storage(stored, copy, fits);
+            }
+
+            @Override
+            public R apply(@NotNull List<Object> list, @NotNull List<ConfigJournal.Splice> splices) {
+                return body.apply(list, splices);
+            }
+        };
+
+        if (section() != null) return section().updateList(relativePath(), update);
+
+        Config config = getConfig();
+
+        if (config instanceof VaultConfig vault) return vault.updateList(vault.data(), vault, getPath(), update);
+        if (config instanceof VaultFieldSection section) return section.updateList(getPath(), update);
+        return update.applyTo(config, getPath());
+    }
+
+    /**
+     * Returns the stored list if it can be mutated in place, or a mutable
+     * copy of it. Primitive nodes stay packed as long as the incoming
+     * elements fit.
+     */
+    @SuppressWarnings("unchecked")
+    private static @NotNull List<Object> storage(@Nullable List<?> stored, boolean copy,
+                                                 @NotNull Predicate<PrimitiveListNode<?>> fits) {
+        if (stored instanceof PrimitiveListNode<?> node && fits.test(node))
+            return (List<Object>) (List<?>) (copy ? node.copy() : node);
+
+        if (stored instanceof ArrayList<?> && !copy)
+            return (List<Object>) stored;
+
+        return stored == null ? new ArrayList<>() : new ArrayList<>(stored);
+    }
+
+    /**
+     * Records the removal of an element from the index it has once the
+     * elements before it were removed, joining removals of adjacent
+     * elements into one splice.
+     */
+    private static void removed(@NotNull List<ConfigJournal.Splice> splices, int index) {
+        int last = splices.size() - 1;
+
+        if (last >= 0 && splices.get(last).index() == index)
+            splices.set(last, new ConfigJournal.Splice(index, splices.get(last).removed() + 1, List.of()));
+        else
+            splices.add(new ConfigJournal.Splice(index, 1, List.of()));
+    }
+
+    /**
+     * Returns the revision of the config that may update the stored list in
+     * place. Other configs only ever replace lists, which the view notices
+     * by their identity.
+     */
+    private int revision() {
+        Config config = getConfig();
+
+        if (config instanceof VaultFieldSection section) config = section.getConfig();
+        if (config instanceof LayeredConfig layered) config = layered.user();
+        return config instanceof VaultConfig vault ? vault.revision() : 0;
+    }
+
+    private @Nullable VaultFactory factory() {
+        Config config = getConfig();
+
+        if (config instanceof VaultFieldSection section)
+            config = section.getConfig();
+
+        if (config instanceof LayeredConfig layered)
+            return layered.factory();
+
+        if (config instanceof DirectoryConfig directory)
+            return directory.factory();
+
+        if (!(config instanceof VaultConfig vaultConfig))
+            return null;
+
+        return vaultConfig.factory() instanceof VaultFactory factory ? factory : null;
+    }
+
+    private void conversionFailed(@NonNull VaultFactory factory) {
+        MetricsRecorder metrics = factory.getMetrics();
+        if (metrics != MetricsRecorder.NOOP) metrics.onConversionFailure(getConfig().file(), getPath(), elementType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object toStorable(@NonNull T value) {
+        Config config = getConfig();
+        VaultFactory factory = factory();
+
+        if (factory == null)
+            return value;
+
+        TypeAdapter<T> adapter = (TypeAdapter<T>) factory.getTypeAdapter(value.getClass());
+
+        if (adapter == null) return value;
+
+        try {
+            return adapter.toObject(config, getPath(), value);
+        } catch (Exception e) {
+            return value;
+        }
+    }
+
     private Optional<List<T>> convertList(@NotNull List<?> rawList) {
         List<T> result = new ArrayList<>(rawList.size());
 
@@ -80,11 +325,9 @@ public class VaultFieldList<T> extends VaultField<List<T>> implements FieldList<
 
     private Optional<T> tryAdapterConversion(Object item) {
         Config config = getConfig();
+        VaultFactory factory = factory();
 
-        if (!(config instanceof VaultConfig vaultConfig))
-            return Optional.empty();
-
-        if (!(vaultConfig.factory() instanceof VaultFactory factory))
+        if (factory == null)
             return Optional.empty();
 
         TypeAdapter<T> adapter = factory.getTypeAdapter(elementType);
@@ -93,9 +336,74 @@ public class VaultFieldList<T> extends VaultField<List<T>> implements FieldList<
 
         try {
             T converted = adapter.fromObject(config, getPath(), item);
+            if (converted == null) conversionFailed(factory);
             return Optional.ofNullable(converted);
         } catch (Exception e) {
+            conversionFailed(factory);
             return Optional.empty();
         }
     }
-}
\ No newline at end of file
+
+    // ==================== Helper Classes ====================
+
+    private static final class ListView<T> extends AbstractList<T> implements RandomAccess {
+        private static final Object UNRESOLVED = new Object();
+
+        private final VaultFieldList<T> field;
+        private final List<?> rawList;
+        private Object[] cache;
+        private int revision;
+
+        private ListView(VaultFieldList<T> field, List<?> rawList) {
+            this.field = field;
+            this.rawList = rawList;
+            this.revision = field.revision();
+        }
+
+        @Override
+        public T get(int index) {
+            // any handle may have updated the list in place since the elements were cached,
+            // read before the element so a racing write can't leave a stale conversion behind
+            int current = field.revision();
+            if (current != revision) {
+                this.cache = null;
+                revision = current;
+            }
+
+            Object item = rawList.get(index);
+            Class<T> elementType = field.getElementType();
+
+            if (item == null) return null;
+            if (elementType.isInstance(item)) return elementType.cast(item);
+
+            Object[] cache = this.cache;
+            if (cache != null && index < cache.length && cache[index] != UNRESOLVED)
+                return elementType.cast(cache[index]);
+
+            T converted = field.tryAdapterConversion(item).orElse(null);
+            cacheSlot(index)[index] = converted;
+            return converted;
+        }
+
+        @Override
+        public int size() {
+            return rawList.size();
+        }
+
+        private Object[] cacheSlot(int index) {
+            Object[] cache = this.cache;
+
+            if (cache == null || index >= cache.length) {
+                int length = Math.max(index + 1, rawList.size());
+                Object[] grown = new Object[length];
+                int copied = cache == null ? 0 : cache.length;
+
+                if (copied > 0) System.arraycopy(cache, 0, grown, 0, copied);
+                Arrays.fill(grown, copied, length, UNRESOLVED);
+                this.cache = cache = grown;
+            }
+
+            return cache;
+        }
+    }
+}
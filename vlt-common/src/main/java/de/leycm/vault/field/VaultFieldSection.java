@@ -11,25 +11,43 @@
 package de.leycm.vault.field;
 
 import de.leycm.vault.Config;
+import de.leycm.vault.VaultConfig;
+import de.leycm.vault.cache.WeakInterner;
+import de.leycm.vault.change.ConfigChange;
+import de.leycm.vault.change.ConfigChangeListener;
+import de.leycm.vault.change.ConfigTransaction;
+import de.leycm.vault.query.ConfigQuery;
+import de.leycm.vault.query.ConfigVisitor;
+import de.leycm.vault.query.QueryMatch;
 import org.jetbrains.annotations.Nullable;
 
 import lombok.NonNull;
 import java.io.File;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public class VaultFieldSection extends VaultField<Map<String, Object>> implements FieldSection {
 
     private static final String PATH_SEPARATOR = ".";
 
+    private final @Nullable VaultConfig vault;
+    private final WeakInterner<String, FieldSection> children = new WeakInterner<>();
+    private volatile @Nullable Resolved resolved;
+
     public VaultFieldSection(@NonNull Config config, @NonNull String path) {
         //noinspection unchecked
         super(config, path, (Class<Map<String, Object>>) (Class<?>) Map.class);
+        this.vault = config instanceof VaultConfig vaultConfig ? vaultConfig : null;
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public @NonNull Optional<Map<String, Object>> getOptional() {
+        if (vault != null) return Optional.ofNullable(node(vault));
+
         Optional<Object> raw = getConfig().getOptional(getPath(), Object.class);
 
         return raw.filter(value -> value instanceof Map)
@@ -43,32 +61,144 @@ public class VaultFieldSection extends VaultField<Map<String, Object>> implement
 
     @Override
     public @NonNull <T> Optional<T> getOptional(@NonNull String path, @NonNull Class<T> type) {
-        return getConfig().getOptional(combinePath(path), type);
+        if (vault == null) return getConfig().getOptional(combinePath(path), type);
+
+        Map<String, Object> node = node(vault);
+        if (node == null) return Optional.empty();
+
+        return vault.getOptional(node, this, path, type);
     }
 
     @Override
     public @NonNull <T> Field<T> getField(@NonNull String path, @NonNull Class<T> type) {
-        return new VaultField<>(getConfig(), combinePath(path), type);
+        return new VaultField<>(getConfig(), combinePath(path), type, this, path);
     }
 
     @Override
     public @NonNull <T> FieldList<T> getFieldList(@NonNull String path, @NonNull Class<T> type) {
-        return new VaultFieldList<>(getConfig(), combinePath(path), type);
+        return new VaultFieldList<>(getConfig(), combinePath(path), type, this, path);
     }
 
     @Override
     public @NonNull FieldSection getFieldSection(@NonNull String path) {
-        return new VaultFieldSection(getConfig(), combinePath(path));
+        return children.intern(path, key -> getConfig().getFieldSection(combinePath(key)));
     }
 
     @Override
     public void set(@NonNull String path, @Nullable Object value) {
-        getConfig().set(combinePath(path), value);
+        Map<String, Object> node = vault == null ? null : node(vault);
+
+        if (node == null) {
+            getConfig().set(combinePath(path), value);
+            return;
+        }
+
+        vault.set(node, this, path, value);
     }
 
     @Override
     public boolean contains(@NonNull String path) {
-        return getConfig().contains(combinePath(path));
+        if (vault == null) return getConfig().contains(combinePath(path));
+
+        Map<String, Object> node = node(vault);
+        return node != null && vault.contains(node, path);
+    }
+
+    @Override
+    public @NonNull <T> Stream<QueryMatch<T>> query(@NonNull ConfigQuery query, @NonNull Class<T> type) {
+        if (vault == null) {
+            int prefix = getPath().isEmpty() ? 0 : getPath().length() + PATH_SEPARATOR.length();
+            return getConfig().query(query.under(getPath()), type)
+                    .map(match -> new QueryMatch<>(match.path().substring(prefix), match.value()));
+        }
+
+        Map<String, Object> node = node(vault);
+        if (node == null) return Stream.empty();
+
+        return vault.query(node, this, query, type);
+    }
+
+    @Override
+    public @NonNull Stream<String> keys(@NonNull String path) {
+        if (vault == null) return getConfig().keys(combinePath(path));
+
+        Map<String, Object> section = child(vault, path);
+        return section == null ? Stream.empty() : vault.keys(section);
+    }
+
+    @Override
+    public @NonNull Stream<Map.Entry<String, Object>> entries(@NonNull String path) {
+        if (vault == null) return getConfig().entries(combinePath(path));
+
+        Map<String, Object> section = child(vault, path);
+        return section == null ? Stream.empty() : vault.entries(section);
+    }
+
+    @Override
+    public void visit(@NonNull String path, @NonNull ConfigVisitor visitor) {
+        if (vault == null) {
+            int prefix = getPath().isEmpty() ? 0 : getPath().length() + PATH_SEPARATOR.length();
+
+            getConfig().visit(combinePath(path), new ConfigVisitor() {
+                @Override
+                public boolean enterSection(@NonNull String path, int size) {
+                    return visitor.enterSection(path.substring(prefix), size);
+                }
+
+                @Override
+                public void exitSection(@NonNull String path) {
+                    visitor.exitSection(path.substring(prefix));
+                }
+
+                @Override
+                public void visitValue(@NonNull String path, @NonNull Object value) {
+                    visitor.visitValue(path.substring(prefix), value);
+                }
+            });
+            return;
+        }
+
+        Map<String, Object> section = child(vault, path);
+        if (section != null) vault.visit(section, path, visitor);
+    }
+
+    /**
+     * Applies the batch to the config, with the paths of the transaction
+     * relative to this section, so it runs under the single write lock of
+     * the config and is rolled back and reported as a whole.
+     */
+    @Override
+    public void batch(boolean save, @NonNull Consumer<ConfigTransaction> body) {
+        getConfig().batch(save, tx -> body.accept(new ConfigTransaction() {
+            @Override
+            public <T> void set(@NonNull String path, @Nullable T value) {
+                tx.set(combinePath(path), value);
+            }
+
+            @Override
+            public @NonNull <T> Optional<T> getOptional(@NonNull String path, @NonNull Class<T> type) {
+                return tx.getOptional(combinePath(path), type);
+            }
+
+            @Override
+            public void saveOnCommit() {
+                tx.saveOnCommit();
+            }
+        }));
+    }
+
+    /**
+     * Registers the listener on the config, reporting only changes within
+     * this section or to one of its parents, which may replace it.
+     */
+    @Override
+    public void addChangeListener(@NonNull ConfigChangeListener listener) {
+        getConfig().addChangeListener(new ScopedListener(getPath(), listener));
+    }
+
+    @Override
+    public void removeChangeListener(@NonNull ConfigChangeListener listener) {
+        getConfig().removeChangeListener(new ScopedListener(getPath(), listener));
     }
 
     @Override
@@ -76,9 +206,70 @@ public class VaultFieldSection extends VaultField<Map<String, Object>> implement
         return getConfig().file();
     }
 
+    /**
+     * Updates the list at a path relative to this section through its config.
+     */
+    <R> R updateList(@NonNull String path, VaultConfig.@NonNull ListUpdate<R> update) {
+        Map<String, Object> node = vault == null ? null : node(vault);
+
+        if (node == null) return update.applyTo(getConfig(), combinePath(path));
+        return vault.updateList(node, this, path, update);
+    }
+
+    /**
+     * Returns the subtree of this section, resolving it again only
+     * after the structure of the config changed.
+     */
+    private @Nullable Map<String, Object> node(@NonNull VaultConfig vault) {
+        int version = vault.structureVersion();
+        Resolved current = resolved;
+
+        if (current == null || current.version != version) {
+            current = new Resolved(version, vault.resolveSection(getPath()));
+            resolved = current;
+        }
+
+        return current.node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private @Nullable Map<String, Object> child(@NonNull VaultConfig vault, @NonNull String path) {
+        Map<String, Object> node = node(vault);
+        if (node == null || path.isEmpty()) return node;
+
+        return vault.resolveValue(node, path) instanceof Map<?, ?> map ? (Map<String, Object>) map : null;
+    }
+
     private String combinePath(String subPath) {
         if (getPath().isEmpty()) return subPath;
         if (subPath.isEmpty()) return getPath();
         return getPath() + PATH_SEPARATOR + subPath;
     }
-}
\ No newline at end of file
+
+    private record Resolved(int version, @Nullable Map<String, Object> node) {}
+
+    /**
+     * Forwards the changes that affect the section at the path. Equal for the
+     * same path and listener, so it can be removed through another handle.
+     */
+    private record ScopedListener(@NonNull String path, @NonNull ConfigChangeListener listener)
+            implements ConfigChangeListener {
+
+        @Override
+        public void onChange(@NonNull Config config, @NonNull List<ConfigChange> changes) {
+            if (path.isEmpty()) {
+                listener.onChange(config, changes);
+                return;
+            }
+
+            List<ConfigChange> scoped = changes.stream().filter(change -> affects(change.path())).toList();
+            if (!scoped.isEmpty()) listener.onChange(config, scoped);
+        }
+
+        private boolean affects(@NonNull String changed) {
+            return changed.equals(path)
+                    || changed.startsWith(path + PATH_SEPARATOR)
+                    || path.startsWith(changed + PATH_SEPARATOR);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.jfr;
+
+import jdk.jfr.*;
+
+@Name("de.leycm.vault.AdapterWrite")
+@Label("Adapter Write")
+@Category({"Vault", "Adapter"})
+@Description("A ConfigFileAdapter serialized config content")
+@Enabled(false)
+@StackTrace(false)
+public class AdapterWriteEvent extends Event {
+
+    @Label("Format")
+    public String format;
+
+    @Label("Characters")
+    public long characters;
+
+    @Label("Comment Merge Duration")
+    @Timespan
+    public long commentMergeDuration;
+
+    public AdapterWriteEvent(String format) {
+        this.format = format;
+    }
+}
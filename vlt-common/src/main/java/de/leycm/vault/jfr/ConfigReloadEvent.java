@@ -0,0 +1,28 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.jfr;
+
+import jdk.jfr.*;
+
+@Name("de.leycm.vault.ConfigReload")
+@Label("Config Reload")
+@Category({"Vault", "Config"})
+@Description("A config was reloaded from its file")
+@Enabled(false)
+@StackTrace(false)
+public class ConfigReloadEvent extends Event {
+
+    @Label("File")
+    public String file;
+
+    @Label("Format")
+    public String format;
+}
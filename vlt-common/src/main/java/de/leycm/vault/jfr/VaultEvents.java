@@ -0,0 +1,52 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Flight Recorder events emitted by Vault. All events are disabled by default;
+ * enable them with the {@code vault.jfc} settings profile shipped in this
+ * package, or programmatically with {@link #enable(Recording)}.
+ */
+public final class VaultEvents {
+
+    /**
+     * Classpath location of the settings profile enabling all Vault events.
+     */
+    public static final String SETTINGS = "/de/leycm/vault/jfr/vault.jfc";
+
+    private static final List<Class<? extends Event>> EVENTS = List.of(
+            ConfigLoadEvent.class, ConfigReloadEvent.class, ConfigSaveEvent.class,
+            AdapterReadEvent.class, AdapterWriteEvent.class);
+
+    private VaultEvents() {}
+
+    /**
+     * Enables every Vault event on the recording, without threshold.
+     */
+    public static void enable(@NonNull Recording recording) {
+        for (Class<? extends Event> event : EVENTS)
+            recording.enable(event).withoutThreshold();
+    }
+
+    public static @NotNull String format(@NonNull File file) {
+        String name = file.getName();
+        int dotIndex = name.lastIndexOf('.');
+        return dotIndex == -1 ? "" : name.substring(dotIndex + 1).toLowerCase();
+    }
+}
@@ -0,0 +1,553 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.journal;
+
+import de.leycm.vault.change.ConfigChange;
+import de.leycm.vault.node.TreeCodec;
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Write-ahead journal of a config file, stored next to it as
+ * {@code <name>.journal}. Every committed write becomes one record of
+ * path/value pairs, or of splices for a list updated in place, so saving
+ * only has to append the records to the journal instead of serializing the
+ * whole document. Records are kept in memory until the next save, so a
+ * reload before it discards them like it discards the unsaved tree.
+ * <p>
+ * A record is its payload length, a CRC32C of the payload and the payload
+ * encoded with {@link TreeCodec}. Replaying stops at the first torn or
+ * corrupt record, which is cut off, so a crash while appending loses at
+ * most the writes that weren't saved yet.
+ * </p>
+ * <p>
+ * Splices must not be replayed onto a file that already contains them, so
+ * the journal header holds the length and CRC32C of the file content the
+ * records apply to. Compaction writes the file from the tree and replaces
+ * the journal by one holding the records appended meanwhile, prepared as
+ * {@code <name>.journal.next} before the file is replaced, so a crash in
+ * between still finds the journal matching the file. A journal that
+ * matches neither belongs to a file changed by someone else and is dropped.
+ * </p>
+ */
+public final class ConfigJournal implements Closeable {
+
+    /**
+     * Content of the file written from the tree, covering the records before the position.
+     */
+    public record Snapshot(byte @NotNull [] content, long position) {}
+
+    /**
+     * Replacement of {@code removed} elements of a list, starting at the
+     * index, by the inserted elements.
+     */
+    public record Splice(int index, int removed, @NotNull List<?> inserted) {}
+
+    /**
+     * Replaces the config file by the compacted one.
+     */
+    @FunctionalInterface
+    public interface FileReplacement {
+        void run() throws IOException;
+    }
+
+    public static final String SUFFIX = ".journal";
+
+    /**
+     * The journal is compacted once it grows beyond the size of the file, but never below this size.
+     */
+    public static final long MIN_COMPACT_SIZE = 64 << 10;
+
+    private static final long MAGIC = 0x564C544A0002L; // "VLTJ", format 2
+    private static final int HEADER = 2 * Long.BYTES + Integer.BYTES;
+    private static final int RECORD_HEADER = 2 * Integer.BYTES;
+
+    private static final byte SET = 0;
+    private static final byte SPLICE = 1;
+
+    private final Path path;
+    private final Path next;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock compaction = new ReentrantLock();
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream(); // guarded by lock
+
+    private FileChannel channel; // guarded by lock
+    private long synced; // guarded by lock
+    private volatile long baseSize;
+    private volatile boolean stale;
+
+    private ConfigJournal(@NotNull Path path, @NotNull FileChannel channel) {
+        this.path = path;
+        this.next = Path.of(path + ".next");
+        this.channel = channel;
+    }
+
+    /**
+     * Opens the journal of the config file, creating it if needed. The
+     * journal can be used once it was replayed or cleared.
+     */
+    public static @NotNull ConfigJournal open(@NonNull File file) throws IOException {
+        Path path = journalFile(file).toPath();
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        return new ConfigJournal(path, channel);
+    }
+
+    public static @NotNull File journalFile(@NonNull File file) {
+        return new File(file.getPath() + SUFFIX);
+    }
+
+    /**
+     * Applies all intact records to the tree parsed from the content in the
+     * order they were written and cuts off a torn tail, so later records
+     * are appended after the last intact one. Records that weren't saved
+     * yet are dropped, as the tree they belong to is replaced.
+     *
+     * @param content the content of the file the tree was parsed from
+     * @return the number of applied records
+     */
+    public int replay(@NonNull Map<String, Object> data, byte @NonNull [] content) throws IOException {
+        lock.lock();
+        try {
+            pending.reset();
+            recover(content);
+
+            if (!matches(channel, content)) {
+                reset(content);
+                return 0;
+            }
+
+            long size = channel.size();
+            long position = HEADER;
+            int records = 0;
+
+            ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+            while (position + RECORD_HEADER <= size) {
+                header.clear();
+                readFully(channel, header, position);
+
+                int length = header.getInt(0);
+                if (length < 0 || position + RECORD_HEADER + length > size) break;
+
+                byte[] payload = new byte[length];
+                readFully(channel, ByteBuffer.wrap(payload), position + RECORD_HEADER);
+                if ((int) crc(payload) != header.getInt(Integer.BYTES)) break;
+
+                apply(data, payload);
+                position += RECORD_HEADER + length;
+                records++;
+            }
+
+            if (position < size) channel.truncate(position);
+            channel.position(position);
+            synced = position;
+            baseSize = content.length;
+            return records;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops all records, for a file that was created anew.
+     *
+     * @param content the content the file was created with
+     */
+    public void clear(byte @NonNull [] content) throws IOException {
+        lock.lock();
+        try {
+            pending.reset();
+            Files.deleteIfExists(next);
+            reset(content);
+            stale = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds the changes as one record, which is written on the next
+     * {@link #sync()}. A change with a value the journal can't encode marks
+     * the journal as stale, so the next save writes the whole file instead.
+     */
+    public void append(@NonNull List<ConfigChange> changes) {
+        if (changes.isEmpty() || stale) return;
+
+        TreeCodec.Output out = new TreeCodec.Output();
+        try {
+            out.writeVarLong(changes.size());
+            for (ConfigChange change : changes) {
+                out.writeByte(SET);
+                out.writeString(change.path());
+                out.writeValue(change.newValue());
+            }
+        } catch (IllegalArgumentException e) {
+            stale = true;
+            return;
+        }
+
+        buffer(out.toByteArray());
+    }
+
+    /**
+     * Adds the splices of a list updated in place as one record, like
+     * {@link #append(List)}.
+     *
+     * @param path the absolute path of the list
+     */
+    public void appendSplices(@NonNull String path, @NonNull List<Splice> splices) {
+        if (splices.isEmpty() || stale) return;
+
+        TreeCodec.Output out = new TreeCodec.Output();
+        try {
+            out.writeVarLong(splices.size());
+            for (Splice splice : splices) {
+                out.writeByte(SPLICE);
+                out.writeString(path);
+                out.writeVarLong(splice.index());
+                out.writeVarLong(splice.removed());
+                out.writeVarLong(splice.inserted().size());
+                for (Object value : splice.inserted()) out.writeValue(value);
+            }
+        } catch (IllegalArgumentException e) {
+            stale = true;
+            return;
+        }
+
+        buffer(out.toByteArray());
+    }
+
+    /**
+     * Writes the records added since the last sync and forces them to disk.
+     * If that fails the journal is stale and the records are kept, so the
+     * next save writes the whole file.
+     *
+     * @return the number of bytes synced
+     */
+    public long sync() throws IOException {
+        lock.lock();
+        try {
+            long end = channel.position();
+            if (pending.size() > 0) {
+                try {
+                    writeFully(channel, ByteBuffer.wrap(pending.toByteArray()), end);
+                } catch (IOException e) {
+                    stale = true;
+                    throw e;
+                }
+
+                end += pending.size();
+                channel.position(end);
+                pending.reset();
+            }
+
+            if (end == synced) return 0;
+
+            channel.force(false);
+            long written = end - synced;
+            synced = end;
+            return written;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the end of the last written record, called under the write
+     * lock of the config while a snapshot of its tree is taken. The snapshot
+     * covers every write so far, so the journal is no longer stale and the
+     * records not written yet are dropped.
+     */
+    public long mark() throws IOException {
+        lock.lock();
+        try {
+            stale = false;
+            pending.reset();
+            return channel.position();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the records before the position once the file is replaced by
+     * content covering them. The remaining records are copied into the next
+     * journal, which replaces this one right after the file was replaced.
+     *
+     * @param position a position returned by {@link #mark()}
+     * @param content the content the file is replaced with
+     * @param replacement replaces the file, while no records are written
+     */
+    public void truncate(long position, byte @NonNull [] content,
+                         @NonNull FileReplacement replacement) throws IOException {
+        lock.lock();
+        try {
+            try (FileChannel copy = FileChannel.open(next, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                writeFully(copy, header(content), 0);
+                copy.position(HEADER);
+
+                long end = channel.position();
+                for (long from = position; from < end; )
+                    from += channel.transferTo(from, end - from, copy);
+
+                copy.force(true);
+            }
+
+            try {
+                replacement.run();
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(next);
+                throw e;
+            }
+
+            Files.move(next, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            reopen();
+            baseSize = content.length;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks whether a write couldn't be journaled since the last snapshot,
+     * so the file must be written in full.
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Marks the journal as stale after a snapshot failed to reach the file.
+     */
+    public void markStale() {
+        stale = true;
+    }
+
+    /**
+     * Checks whether the journal outgrew the file it belongs to.
+     */
+    public boolean shouldCompact() throws IOException {
+        lock.lock();
+        try {
+            return channel.position() - HEADER > Math.max(MIN_COMPACT_SIZE, baseSize);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Claims the compaction of this journal, so snapshots and truncations
+     * of concurrent compactions never interleave.
+     *
+     * @param wait whether to wait for a running compaction
+     * @return false if a compaction is running and {@code wait} is false
+     */
+    public boolean beginCompaction(boolean wait) {
+        if (wait) {
+            compaction.lock();
+            return true;
+        }
+
+        return compaction.tryLock();
+    }
+
+    public void endCompaction() {
+        compaction.unlock();
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private void buffer(byte @NotNull [] payload) {
+        byte[] header = ByteBuffer.allocate(RECORD_HEADER)
+                .putInt(payload.length)
+                .putInt((int) crc(payload))
+                .array();
+
+        lock.lock();
+        try {
+            pending.writeBytes(header);
+            pending.writeBytes(payload);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Finishes a compaction that replaced the file but crashed before the
+     * journal was replaced, or drops the next journal if the file wasn't
+     * replaced. Called under the lock.
+     */
+    private void recover(byte @NotNull [] content) throws IOException {
+        if (!Files.exists(next)) return;
+
+        boolean replaced;
+        try (FileChannel candidate = FileChannel.open(next, StandardOpenOption.READ)) {
+            replaced = matches(candidate, content);
+        }
+
+        if (!replaced) {
+            Files.delete(next);
+            return;
+        }
+
+        Files.move(next, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        reopen();
+    }
+
+    /**
+     * Drops all records and bases the journal on the content. Called under the lock.
+     */
+    private void reset(byte @NotNull [] content) throws IOException {
+        channel.truncate(0);
+        writeFully(channel, header(content), 0);
+        channel.force(true);
+        channel.position(HEADER);
+        synced = HEADER;
+        baseSize = content.length;
+    }
+
+    private void reopen() throws IOException {
+        channel.close();
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        synced = channel.position();
+    }
+
+    private static @NotNull ByteBuffer header(byte @NotNull [] content) {
+        return ByteBuffer.allocate(HEADER)
+                .putLong(MAGIC)
+                .putLong(content.length)
+                .putInt((int) crc(content))
+                .flip();
+    }
+
+    private static boolean matches(@NotNull FileChannel channel, byte @NotNull [] content) throws IOException {
+        if (channel.size() < HEADER) return false;
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER);
+        readFully(channel, header, 0);
+        return header.flip().equals(header(content));
+    }
+
+    private static void apply(@NotNull Map<String, Object> data, byte @NotNull [] payload) {
+        TreeCodec.Input in = new TreeCodec.Input(payload, 0, payload.length);
+        int count = in.readLength();
+
+        for (int i = 0; i < count; i++) {
+            byte op = in.readByte();
+            String[] parts = in.readString(in.readByte()).split("\\.");
+
+            if (op == SPLICE) splice(data, parts, in);
+            else set(data, parts, in.readValue());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void set(@NotNull Map<String, Object> data, String @NotNull [] parts, @Nullable Object value) {
+        Map<String, Object> current = data;
+
+        for (int j = 0; j < parts.length - 1; j++) {
+            Object next = current.get(parts[j]);
+
+            if (!(next instanceof Map)) {
+                if (value == null) return;
+
+                next = new LinkedHashMap<String, Object>();
+                current.put(parts[j], next);
+            }
+
+            current = (Map<String, Object>) next;
+        }
+
+        if (value == null) current.remove(parts[parts.length - 1]);
+        else current.put(parts[parts.length - 1], value);
+    }
+
+    /**
+     * Applies a splice to the list at the path. The list is copied into a
+     * mutable one, as a parsed list may be packed or immutable, and a splice
+     * that doesn't fit the list is skipped.
+     */
+    @SuppressWarnings("unchecked")
+    private static void splice(@NotNull Map<String, Object> data, String @NotNull [] parts,
+                               TreeCodec.@NotNull Input in) {
+        long index = in.readVarLong();
+        long removed = in.readVarLong();
+        int count = in.readLength();
+
+        List<Object> inserted = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) inserted.add(in.readValue());
+
+        Map<String, Object> parent = data;
+        for (int j = 0; j < parts.length - 1 && parent != null; j++)
+            parent = parent.get(parts[j]) instanceof Map<?, ?> map ? (Map<String, Object>) map : null;
+
+        String key = parts[parts.length - 1];
+        if (parent == null || !(parent.get(key) instanceof List<?> stored)) return;
+        if (index < 0 || removed < 0 || index + removed > stored.size()) return;
+
+        List<Object> list = stored instanceof ArrayList<?> ? (List<Object>) stored : new ArrayList<>(stored);
+        List<Object> range = list.subList((int) index, (int) (index + removed));
+        range.clear();
+        range.addAll(inserted);
+
+        if (list != stored) parent.put(key, list);
+    }
+
+    private static long crc(byte @NotNull [] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload, 0, payload.length);
+        return crc.getValue();
+    }
+
+    private static void readFully(@NotNull FileChannel channel, @NotNull ByteBuffer buffer,
+                                  long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) throw new IOException("Unexpected end of journal");
+        }
+    }
+
+    private static void writeFully(@NotNull FileChannel channel, @NotNull ByteBuffer buffer,
+                                   long position) throws IOException {
+        while (buffer.hasRemaining()) channel.write(buffer, position + buffer.position());
+    }
+}
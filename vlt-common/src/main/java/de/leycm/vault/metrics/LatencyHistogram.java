@@ -0,0 +1,81 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two nanosecond buckets.
+ * Percentiles are approximated by the upper bound of their bucket.
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) buckets[i] = new LongAdder();
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        int bucket = value == 0 ? 0 : BUCKETS - 1 - Long.numberOfLeadingZeros(value);
+
+        buckets[bucket].increment();
+        count.increment();
+        total.add(value);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public double meanNanos() {
+        long count = this.count.sum();
+        return count == 0 ? 0 : (double) total.sum() / count;
+    }
+
+    /**
+     * Returns the approximated latency below which the given fraction of samples fall.
+     *
+     * @param quantile the quantile between 0 and 1
+     */
+    public long percentileNanos(double quantile) {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+
+        if (count == 0) return 0;
+
+        long threshold = (long) Math.ceil(quantile * count);
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= threshold) return i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+        }
+
+        return Long.MAX_VALUE;
+    }
+
+    public void reset() {
+        for (LongAdder bucket : buckets) bucket.reset();
+        count.reset();
+        total.reset();
+    }
+}
@@ -0,0 +1,268 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.metrics;
+
+import de.leycm.vault.Config;
+import de.leycm.vault.VaultConfig;
+import de.leycm.vault.VaultFactory;
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+
+import javax.management.*;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Built-in {@link MetricsRecorder} based on striped {@link LongAdder} counters,
+ * aggregated for the whole factory and per config file.
+ */
+public class VaultMetrics implements MetricsRecorder, VaultMetricsMXBean {
+
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private final VaultFactory factory;
+    private final Map<File, ConfigStats> configs = new ConcurrentHashMap<>();
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder reloads = new LongAdder();
+    private final LongAdder saves = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder conversionFailures = new LongAdder();
+    private final LatencyHistogram loadLatency = new LatencyHistogram();
+    private final LatencyHistogram reloadLatency = new LatencyHistogram();
+    private final LatencyHistogram saveLatency = new LatencyHistogram();
+
+    private ObjectName objectName;
+
+    public VaultMetrics(@NonNull VaultFactory factory) {
+        this.factory = factory;
+    }
+
+    // ==================== Recorder ====================
+
+    @Override
+    public void onLoad(@NonNull File file, long bytes, long nanos) {
+        loads.increment();
+        bytesRead.add(bytes);
+        loadLatency.record(nanos);
+    }
+
+    @Override
+    public void onReload(@NonNull File file, long nanos) {
+        reloads.increment();
+        reloadLatency.record(nanos);
+    }
+
+    @Override
+    public void onSave(@NonNull File file, long bytes, long nanos) {
+        saves.increment();
+        bytesWritten.add(bytes);
+        saveLatency.record(nanos);
+    }
+
+    @Override
+    public void onLookup(@NonNull File file, boolean hit) {
+        ConfigStats stats = stats(file);
+        (hit ? stats.hits : stats.misses).increment();
+    }
+
+    @Override
+    public void onConversionFailure(@NonNull File file, @NonNull String path, @NonNull Class<?> type) {
+        conversionFailures.increment();
+        stats(file).conversionFailures.increment();
+    }
+
+    public @NotNull ConfigStats stats(@NonNull File file) {
+        ConfigStats stats = configs.get(file);
+        return stats != null ? stats : configs.computeIfAbsent(file, key -> new ConfigStats());
+    }
+
+    public @NotNull LatencyHistogram loadLatency() {
+        return loadLatency;
+    }
+
+    public @NotNull LatencyHistogram reloadLatency() {
+        return reloadLatency;
+    }
+
+    public @NotNull LatencyHistogram saveLatency() {
+        return saveLatency;
+    }
+
+    // ==================== JMX ====================
+
+    /**
+     * Registers this instance with the platform MBean server.
+     *
+     * @throws IllegalStateException if the registration fails
+     */
+    public synchronized void registerMBean() {
+        if (objectName != null) return;
+
+        try {
+            ObjectName name = new ObjectName("de.leycm.vault:type=VaultFactory,name="
+                    + ObjectName.quote(factory.defDir().getAbsolutePath()));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            objectName = name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to register vault metrics MBean", e);
+        }
+    }
+
+    public synchronized void unregisterMBean() {
+        if (objectName == null) return;
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException ignored) {
+        } finally {
+            objectName = null;
+        }
+    }
+
+    @Override
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    @Override
+    public long getReloads() {
+        return reloads.sum();
+    }
+
+    @Override
+    public long getSaves() {
+        return saves.sum();
+    }
+
+    @Override
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    @Override
+    public long getLookupHits() {
+        return configs.values().stream().mapToLong(stats -> stats.hits.sum()).sum();
+    }
+
+    @Override
+    public long getLookupMisses() {
+        return configs.values().stream().mapToLong(stats -> stats.misses.sum()).sum();
+    }
+
+    @Override
+    public long getConversionFailures() {
+        return conversionFailures.sum();
+    }
+
+    @Override
+    public double getLoadMeanMillis() {
+        return loadLatency.meanNanos() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getLoadP99Millis() {
+        return loadLatency.percentileNanos(0.99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getReloadMeanMillis() {
+        return reloadLatency.meanNanos() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getReloadP99Millis() {
+        return reloadLatency.percentileNanos(0.99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getSaveMeanMillis() {
+        return saveLatency.meanNanos() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getSaveP99Millis() {
+        return saveLatency.percentileNanos(0.99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public Map<String, Long> getCachedConfigSizes() {
+        Map<String, Long> sizes = new TreeMap<>();
+
+        for (Config config : factory.cachedConfigs()) {
+            if (config instanceof VaultConfig vaultConfig)
+                sizes.put(config.file().getPath(), vaultConfig.estimateSize());
+        }
+
+        return sizes;
+    }
+
+    @Override
+    public Map<String, Long> getLookupHitsByConfig() {
+        return byConfig(stats -> stats.hits.sum());
+    }
+
+    @Override
+    public Map<String, Long> getLookupMissesByConfig() {
+        return byConfig(stats -> stats.misses.sum());
+    }
+
+    @Override
+    public void reset() {
+        configs.clear();
+        loads.reset();
+        reloads.reset();
+        saves.reset();
+        bytesRead.reset();
+        bytesWritten.reset();
+        conversionFailures.reset();
+        loadLatency.reset();
+        reloadLatency.reset();
+        saveLatency.reset();
+    }
+
+    private Map<String, Long> byConfig(Function<ConfigStats, Long> counter) {
+        Map<String, Long> result = new TreeMap<>();
+        configs.forEach((file, stats) -> result.put(file.getPath(), counter.apply(stats)));
+        return result;
+    }
+
+    // ==================== Helper Classes ====================
+
+    public static final class ConfigStats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder conversionFailures = new LongAdder();
+
+        public long hits() {
+            return hits.sum();
+        }
+
+        public long misses() {
+            return misses.sum();
+        }
+
+        public long conversionFailures() {
+            return conversionFailures.sum();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the metrics collected by {@link VaultMetrics}.
+ */
+public interface VaultMetricsMXBean {
+
+    long getLoads();
+
+    long getReloads();
+
+    long getSaves();
+
+    long getBytesRead();
+
+    long getBytesWritten();
+
+    long getLookupHits();
+
+    long getLookupMisses();
+
+    long getConversionFailures();
+
+    double getLoadMeanMillis();
+
+    double getLoadP99Millis();
+
+    double getReloadMeanMillis();
+
+    double getReloadP99Millis();
+
+    double getSaveMeanMillis();
+
+    double getSaveP99Millis();
+
+    /**
+     * Returns the estimated retained heap size in bytes of every cached config by path.
+     */
+    Map<String, Long> getCachedConfigSizes();
+
+    Map<String, Long> getLookupHitsByConfig();
+
+    Map<String, Long> getLookupMissesByConfig();
+
+    void reset();
+}
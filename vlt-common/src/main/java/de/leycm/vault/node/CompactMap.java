@@ -0,0 +1,406 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.node;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Insertion-ordered section backed by a key layout (its shape) and a
+ * parallel value array instead of per-entry nodes. Small shapes are scanned
+ * linearly; once a shape grows past {@link #INDEX_THRESHOLD} keys an
+ * open-addressing table of positions is added for lookups. Removal shifts
+ * the arrays, which is fine for configs where removals are rare.
+ * <p>
+ * {@link #share()} swaps the shape for an immutable one shared by all
+ * sections with the same keys in the same order, so thousands of sections
+ * with one schema only pay for their values. Adding or removing a key
+ * copies a shared shape into a private one first.
+ * </p>
+ */
+public final class CompactMap extends AbstractMap<String, Object> {
+
+    public static final int INDEX_THRESHOLD = 8;
+
+    private static final Object[] NO_VALUES = new Object[0];
+
+    private Shape shape;
+    private Object[] values;
+    private int modCount;
+
+    public CompactMap() {
+        this(0);
+    }
+
+    public CompactMap(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Negative capacity " + capacity);
+
+        this.shape = new Shape(new String[capacity], 0, false);
+        this.values = capacity == 0 ? NO_VALUES : new Object[capacity];
+    }
+
+    @Override
+    public int size() {
+        return shape.size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String string && shape.find(string) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (!(key instanceof String string)) return null;
+
+        int position = shape.find(string);
+        return position < 0 ? null : values[position];
+    }
+
+    @Override
+    public Object put(@NotNull String key, Object value) {
+        Objects.requireNonNull(key, "key");
+        int position = shape.find(key);
+
+        if (position >= 0) {
+            Object previous = values[position];
+            values[position] = value;
+            return previous;
+        }
+
+        int size = shape.size;
+        if (size == values.length) values = Arrays.copyOf(values, Math.max(4, size + (size >> 1)));
+
+        ownShape(values.length).append(key);
+        values[size] = value;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (!(key instanceof String string)) return null;
+
+        int position = shape.find(string);
+        if (position < 0) return null;
+
+        Object previous = values[position];
+        removeAt(position);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        shape = new Shape(new String[values.length], 0, false);
+        Arrays.fill(values, null);
+        modCount++;
+    }
+
+    /**
+     * Shrinks the backing arrays to the current size.
+     */
+    public void trimToSize() {
+        int size = shape.size;
+        if (values.length == size) return;
+
+        values = size == 0 ? NO_VALUES : Arrays.copyOf(values, size);
+        if (!shape.shared) shape = shape.copy(size, false);
+    }
+
+    /**
+     * Switches to the shared shape of all sections with the same keys in the
+     * same order, creating it if this is the first such section.
+     */
+    public void share() {
+        if (shape.shared) return;
+
+        trimToSize();
+        shape = Shape.intern(shape);
+    }
+
+    /**
+     * Checks whether the section currently uses a shared shape.
+     */
+    public boolean isShared() {
+        return shape.shared;
+    }
+
+    @Override
+    public @NotNull Set<Entry<String, Object>> entrySet() {
+        return new EntrySet();
+    }
+
+    // ==================== Helper Methods ====================
+
+    private @NotNull Shape ownShape(int capacity) {
+        if (shape.shared || shape.keys.length < capacity) shape = shape.copy(capacity, false);
+        return shape;
+    }
+
+    private void removeAt(int position) {
+        int size = shape.size;
+        int moved = size - position - 1;
+
+        ownShape(values.length).removeAt(position);
+        if (moved > 0) System.arraycopy(values, position + 1, values, position, moved);
+
+        values[size - 1] = null;
+        modCount++;
+    }
+
+    // ==================== Helper Classes ====================
+
+    /**
+     * Key layout of a section. Private shapes belong to one map and change in
+     * place, shared shapes are immutable and interned by their key sequence.
+     */
+    private static final class Shape {
+        private static final Map<Layout, ShapeReference> SHARED = new ConcurrentHashMap<>();
+        private static final ReferenceQueue<Shape> QUEUE = new ReferenceQueue<>();
+
+        private final boolean shared;
+        private String[] keys;
+        private int size;
+
+        // slot holds position + 1, 0 marks an empty slot; null while the shape is small
+        private int @Nullable [] index;
+
+        private Shape(String @NotNull [] keys, int size, boolean shared) {
+            this.keys = keys;
+            this.size = size;
+            this.shared = shared;
+            rebuildIndex();
+        }
+
+        private static @NotNull Shape intern(@NotNull Shape shape) {
+            expunge();
+            Layout layout = new Layout(Arrays.copyOf(shape.keys, shape.size));
+
+            while (true) {
+                ShapeReference reference = SHARED.get(layout);
+                Shape existing = reference == null ? null : reference.get();
+                if (existing != null) return existing;
+
+                Shape created = new Shape(layout.keys, layout.keys.length, true);
+                ShapeReference replacement = new ShapeReference(created, layout);
+
+                boolean stored = reference == null
+                        ? SHARED.putIfAbsent(layout, replacement) == null
+                        : SHARED.replace(layout, reference, replacement);
+                if (stored) return created;
+            }
+        }
+
+        private static void expunge() {
+            for (Object reference; (reference = QUEUE.poll()) != null; ) {
+                ShapeReference stale = (ShapeReference) reference;
+                SHARED.remove(stale.layout, stale);
+            }
+        }
+
+        private @NotNull Shape copy(int capacity, boolean shared) {
+            return new Shape(Arrays.copyOf(keys, Math.max(capacity, size)), size, shared);
+        }
+
+        private int find(@NotNull String key) {
+            int[] index = this.index;
+
+            if (index == null) {
+                for (int i = 0; i < size; i++) {
+                    String candidate = keys[i];
+                    if (candidate == key || candidate.equals(key)) return i;
+                }
+                return -1;
+            }
+
+            int mask = index.length - 1;
+            for (int slot = spread(key.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+                int entry = index[slot];
+                if (entry == 0) return -1;
+
+                String candidate = keys[entry - 1];
+                if (candidate == key || candidate.equals(key)) return entry - 1;
+            }
+        }
+
+        private void append(@NotNull String key) {
+            keys[size++] = key;
+
+            if (index != null && size * 2 <= index.length) insert(size - 1);
+            else if (size > INDEX_THRESHOLD) rebuildIndex();
+        }
+
+        private void removeAt(int position) {
+            int moved = size - position - 1;
+            if (moved > 0) System.arraycopy(keys, position + 1, keys, position, moved);
+
+            keys[--size] = null;
+            if (index != null) rebuildIndex();
+        }
+
+        private void insert(int position) {
+            int[] index = this.index;
+            int mask = index.length - 1;
+
+            int slot = spread(keys[position].hashCode()) & mask;
+            while (index[slot] != 0) slot = (slot + 1) & mask;
+            index[slot] = position + 1;
+        }
+
+        private void rebuildIndex() {
+            if (size <= INDEX_THRESHOLD) {
+                index = null;
+                return;
+            }
+
+            index = new int[Integer.highestOneBit(size * 4 - 1)];
+            for (int i = 0; i < size; i++) insert(i);
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    /**
+     * Key sequence a shared shape is interned by.
+     */
+    private static final class Layout {
+        private final String[] keys;
+        private final int hash;
+
+        private Layout(String @NotNull [] keys) {
+            this.keys = keys;
+            this.hash = Arrays.hashCode(keys);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Layout layout && hash == layout.hash && Arrays.equals(keys, layout.keys);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class ShapeReference extends WeakReference<Shape> {
+        private final Layout layout;
+
+        private ShapeReference(@NotNull Shape shape, @NotNull Layout layout) {
+            super(shape, Shape.QUEUE);
+            this.layout = layout;
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, Object>> {
+
+        @Override
+        public int size() {
+            return shape.size;
+        }
+
+        @Override
+        public void clear() {
+            CompactMap.this.clear();
+        }
+
+        @Override
+        public @NotNull Iterator<Entry<String, Object>> iterator() {
+            return new Iterator<>() {
+                private int next;
+                private int last = -1;
+                private int expected = modCount;
+
+                @Override
+                public boolean hasNext() {
+                    return next < shape.size;
+                }
+
+                @Override
+                public Entry<String, Object> next() {
+                    if (expected != modCount) throw new ConcurrentModificationException();
+                    if (next >= shape.size) throw new NoSuchElementException();
+
+                    last = next++;
+                    return new CompactEntry(last);
+                }
+
+                @Override
+                public void remove() {
+                    if (last < 0) throw new IllegalStateException();
+                    if (expected != modCount) throw new ConcurrentModificationException();
+
+                    removeAt(last);
+                    next = last;
+                    last = -1;
+                    expected = modCount;
+                }
+            };
+        }
+    }
+
+    private final class CompactEntry implements Entry<String, Object> {
+        private final int position;
+        private final String key;
+
+        private CompactEntry(int position) {
+            this.position = position;
+            this.key = shape.keys[position];
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return current() ? values[position] : get(key);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            if (!current()) return put(key, value);
+
+            Object previous = values[position];
+            values[position] = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry<?, ?> entry
+                    && key.equals(entry.getKey())
+                    && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+
+        private boolean current() {
+            return position < shape.size && shape.keys[position] == key;
+        }
+    }
+}
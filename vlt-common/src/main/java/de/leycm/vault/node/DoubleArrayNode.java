@@ -0,0 +1,82 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.node;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+public class DoubleArrayNode extends PrimitiveListNode<Double> {
+
+    private double[] values;
+
+    public DoubleArrayNode(double @NotNull [] values) {
+        this(values, values.length);
+    }
+
+    public DoubleArrayNode(double @NotNull [] values, int size) {
+        super(size);
+        this.values = values;
+    }
+
+    @Override
+    public boolean accepts(@Nullable Object value) {
+        return value instanceof Double || value instanceof Float
+                || Nodes.isExactDouble(value);
+    }
+
+    @Override
+    public Double get(int index) {
+        return getDouble(index);
+    }
+
+    @Override
+    public long getLong(int index) {
+        return (long) getDouble(index);
+    }
+
+    @Override
+    public double getDouble(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    @Override
+    public double[] toDoubleArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public DoubleArrayNode copy() {
+        return new DoubleArrayNode(Arrays.copyOf(values, size), size);
+    }
+
+    @Override
+    protected void store(int index, Number value) {
+        values[index] = value.doubleValue();
+    }
+
+    @Override
+    protected int capacity() {
+        return values.length;
+    }
+
+    @Override
+    protected void grow(int capacity) {
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    protected Object array() {
+        return values;
+    }
+}
@@ -0,0 +1,276 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.node;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.lang.invoke.VarHandle;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Section whose values may still be encoded in the source document. Each
+ * undecoded value is a {@link Slice} of the source that is decoded on first
+ * access and then replaces the slice. Writers can copy the remaining slices
+ * verbatim through {@link #rawEntries()}.
+ * <p>
+ * Readers may decode concurrently. Decoding and every write to the entries
+ * happen under one lock, so each slice is decoded once and all readers get
+ * the same instance. Readers that find a value decoded already don't take
+ * the lock; a release fence before the decoded value is stored and an
+ * acquire fence after it is read publish it fully built.
+ */
+public abstract class LazyMap extends AbstractMap<String, Object> {
+
+    private final Map<String, Object> entries = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Decodes the value stored in the slice of the source document.
+     */
+    protected abstract @Nullable Object decode(@NotNull Slice slice);
+
+    /**
+     * Adds an entry whose value is still encoded.
+     */
+    public void putSlice(@NotNull String key, int offset, int length) {
+        lock.lock();
+        try {
+            entries.put(key, new Slice(offset, length));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds an entry whose value was decoded right away.
+     */
+    public void putDecoded(@NotNull String key, @Nullable Object value) {
+        lock.lock();
+        try {
+            entries.put(key, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the entries without decoding them; values are either decoded or a {@link Slice}.
+     */
+    public @NotNull @UnmodifiableView Collection<Entry<String, Object>> rawEntries() {
+        return new AbstractCollection<>() {
+            @Override
+            public @NotNull Iterator<Entry<String, Object>> iterator() {
+                Iterator<Entry<String, Object>> iterator = entries.entrySet().iterator();
+
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        Entry<String, Object> entry = iterator.next();
+                        return new SimpleImmutableEntry<>(entry.getKey(), published(entry.getValue()));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return entries.size();
+            }
+        };
+    }
+
+    public boolean hasUndecoded() {
+        for (Object value : entries.values()) if (value instanceof Slice) return true;
+        return false;
+    }
+
+    @Override
+    public Object get(Object key) {
+        Object value = entries.get(key);
+        if (!(value instanceof Slice)) return published(value);
+
+        lock.lock();
+        try {
+            // another reader may have decoded it, or a writer replaced it, since
+            Object current = entries.get(key);
+            if (!(current instanceof Slice slice)) return current;
+
+            Object decoded = decode(slice);
+            VarHandle.releaseFence();
+            entries.put((String) key, decoded);
+            return decoded;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return entries.containsKey(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Object previous = putRaw(key, value);
+        return previous instanceof Slice slice ? decode(slice) : previous;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        Object previous = removeRaw(key);
+        return previous instanceof Slice slice ? decode(slice) : previous;
+    }
+
+    /**
+     * Puts the value like {@link #put(String, Object)}, but returns a
+     * replaced value that was never decoded as its {@link Slice}, for
+     * callers that don't need it decoded.
+     */
+    public @Nullable Object putRaw(@NotNull String key, @Nullable Object value) {
+        lock.lock();
+        try {
+            return entries.put(key, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the entry like {@link #remove(Object)}, but returns a value
+     * that was never decoded as its {@link Slice}.
+     */
+    public @Nullable Object removeRaw(@NotNull Object key) {
+        lock.lock();
+        try {
+            return entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public @NotNull Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public @NotNull Iterator<Entry<String, Object>> iterator() {
+                Iterator<Entry<String, Object>> iterator = entries.entrySet().iterator();
+
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        Entry<String, Object> entry = iterator.next();
+                        Object value = entry.getValue();
+                        return new LazyEntry(entry, value instanceof Slice ? decode(entry) : published(value));
+                    }
+
+                    @Override
+                    public void remove() {
+                        lock.lock();
+                        try {
+                            iterator.remove();
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return entries.size();
+            }
+        };
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private @Nullable Object decode(@NotNull Entry<String, Object> entry) {
+        lock.lock();
+        try {
+            if (!(entry.getValue() instanceof Slice slice)) return entry.getValue();
+
+            Object decoded = decode(slice);
+            VarHandle.releaseFence();
+            entry.setValue(decoded);
+            return decoded;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a value read without the lock, pairing with the release fence
+     * of the reader that decoded it.
+     */
+    private static @Nullable Object published(@Nullable Object value) {
+        VarHandle.acquireFence();
+        return value;
+    }
+
+    // ==================== Helper Classes ====================
+
+    /**
+     * Location of an encoded value in the source document.
+     */
+    public record Slice(int offset, int length) {}
+
+    /**
+     * Entry handed out by the iterator, holding the value it read safely
+     * and writing replacements through under the lock.
+     */
+    private final class LazyEntry extends SimpleEntry<String, Object> {
+        private final Entry<String, Object> entry;
+
+        private LazyEntry(@NotNull Entry<String, Object> entry, @Nullable Object value) {
+            super(entry.getKey(), value);
+            this.entry = entry;
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            lock.lock();
+            try {
+                entry.setValue(value);
+            } finally {
+                lock.unlock();
+            }
+
+            return super.setValue(value);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.node;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * Helpers for converting loaded trees into Vault's compact node types.
+ */
+public final class Nodes {
+
+    public static final int SHARED_SHAPE_LIMIT = 64;
+
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+    private Nodes() {}
+
+    /**
+     * Replaces every homogeneous numeric list in the section and its children
+     * with a primitive array node, in place.
+     */
+    @SuppressWarnings("unchecked")
+    public static void packNumbers(@NotNull Map<String, Object> section) {
+        for (Map.Entry<String, Object> entry : section.entrySet()) {
+            Object value = entry.getValue();
+
+            if (value instanceof Map<?, ?> child) {
+                packNumbers((Map<String, Object>) child);
+            } else if (value instanceof List<?> list) {
+                Object packed = packNumbers(list);
+                if (packed != list) entry.setValue(packed);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @NotNull Object packNumbers(@NotNull List<?> list) {
+        PrimitiveListNode<?> node = toPrimitiveList(list);
+        if (node != null) return node;
+
+        ListIterator<Object> it = (ListIterator<Object>) list.listIterator();
+        while (it.hasNext()) {
+            Object item = it.next();
+
+            if (item instanceof Map<?, ?> child) {
+                packNumbers((Map<String, Object>) child);
+            } else if (item instanceof List<?> nested) {
+                Object packed = packNumbers(nested);
+                if (packed != nested) it.set(packed);
+            }
+        }
+
+        return list;
+    }
+
+    /**
+     * Copies the section and its children into {@link CompactMap}s with
+     * interned keys. Sections with up to {@value #SHARED_SHAPE_LIMIT} keys
+     * share their shape with all sections of the same layout. Only hash maps are converted; other map types such as
+     * lazily decoded sections are kept as they are.
+     */
+    @SuppressWarnings("unchecked")
+    public static @NotNull Map<String, Object> compact(@NotNull Map<String, Object> section) {
+        if (!(section instanceof HashMap)) return section;
+
+        CompactMap compact = new CompactMap(section.size());
+        for (Map.Entry<String, Object> entry : section.entrySet())
+            compact.put(entry.getKey().intern(), compactValue(entry.getValue()));
+
+        // larger sections are usually keyed by ids and never share their layout
+        if (compact.size() <= SHARED_SHAPE_LIMIT) compact.share();
+        else compact.trimToSize();
+        return compact;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @Nullable Object compactValue(@Nullable Object value) {
+        if (value instanceof Map<?, ?> child) return compact((Map<String, Object>) child);
+        if (!(value instanceof List<?> list) || value instanceof PrimitiveListNode) return value;
+
+        ListIterator<Object> it = (ListIterator<Object>) list.listIterator();
+        while (it.hasNext()) {
+            Object item = it.next();
+            Object compacted = compactValue(item);
+            if (compacted != item) it.set(compacted);
+        }
+
+        return list;
+    }
+
+    /**
+     * Returns a deeply unmodifiable copy of the value, for trees that are
+     * shared between configs and must never be changed in place.
+     */
+    public static @Nullable Object freeze(@Nullable Object value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> copy = new LinkedHashMap<>(Math.max(16, (int) (map.size() / 0.75f) + 1));
+            for (Map.Entry<?, ?> entry : map.entrySet())
+                copy.put(String.valueOf(entry.getKey()), freeze(entry.getValue()));
+            return Collections.unmodifiableMap(copy);
+        }
+
+        if (value instanceof PrimitiveListNode<?> node) {
+            PrimitiveListNode<?> copy = toPrimitiveList(node);
+            return copy == null ? List.of() : Collections.unmodifiableList(copy);
+        }
+
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object item : list) copy.add(freeze(item));
+            return Collections.unmodifiableList(copy);
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns an unmodifiable view of sections and lists, without copying them.
+     */
+    @SuppressWarnings("unchecked")
+    public static @Nullable Object view(@Nullable Object value) {
+        if (value instanceof Map<?, ?> map) return Collections.unmodifiableMap((Map<String, Object>) map);
+        if (value instanceof List<?> list) return Collections.unmodifiableList(list);
+        return value;
+    }
+
+    /**
+     * Returns the keys of the section in order, without decoding lazily decoded values.
+     */
+    public static String @NotNull [] keys(@NotNull Map<String, Object> section) {
+        if (!(section instanceof LazyMap lazy)) return section.keySet().toArray(new String[0]);
+
+        String[] keys = new String[lazy.size()];
+        int i = 0;
+        for (Map.Entry<String, Object> entry : lazy.rawEntries()) keys[i++] = entry.getKey();
+        return keys;
+    }
+
+    /**
+     * Copies a list into a primitive array node if all of its elements are
+     * integers, all are integral or all are floating point numbers.
+     *
+     * @return the packed node, or null if the list isn't homogeneous
+     */
+    public static @Nullable PrimitiveListNode<?> toPrimitiveList(@NotNull List<?> list) {
+        int size = list.size();
+        if (size == 0) return null;
+
+        boolean ints = true;
+        boolean integral = true;
+        boolean floating = true;
+
+        for (Object item : list) {
+            boolean isInt = item instanceof Integer || item instanceof Short || item instanceof Byte;
+            boolean isIntegral = isInt || item instanceof Long;
+
+            ints &= isInt;
+            integral &= isIntegral;
+            floating &= item instanceof Double || item instanceof Float;
+
+            if (!integral && !floating) return null;
+        }
+
+        if (ints) {
+            int[] values = new int[size];
+            for (int i = 0; i < size; i++) values[i] = ((Number) list.get(i)).intValue();
+            return new IntArrayNode(values);
+        }
+
+        if (integral) {
+            long[] values = new long[size];
+            for (int i = 0; i < size; i++) values[i] = ((Number) list.get(i)).longValue();
+            return new LongArrayNode(values);
+        }
+
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) values[i] = ((Number) list.get(i)).doubleValue();
+        return new DoubleArrayNode(values);
+    }
+
+    /**
+     * Estimates the retained heap size of a tree in bytes, assuming compressed
+     * references. Shared values such as interned strings are counted every time.
+     */
+    public static long estimateSize(@Nullable Object value) {
+        if (value == null || value instanceof Boolean) return 0;
+        if (value instanceof String string) return 40 + string.length();
+        if (value instanceof Number) return 16;
+        if (value instanceof PrimitiveListNode<?> node) return 32 + (long) node.size() * (node instanceof IntArrayNode ? 4 : 8);
+
+        if (value instanceof CompactMap map) {
+            long size = 40 + 4L * map.size();
+            if (!map.isShared())
+                size += 40 + 4L * map.size() + (map.size() > CompactMap.INDEX_THRESHOLD ? 16 + 16L * map.size() : 0);
+            for (Map.Entry<String, Object> entry : map.entrySet())
+                size += estimateSize(entry.getKey()) + estimateSize(entry.getValue());
+            return size;
+        }
+
+        if (value instanceof LazyMap map) {
+            // still encoded values retain their part of the source document
+            long size = 72 + 4L * Integer.highestOneBit(Math.max(1, map.size() * 2));
+            for (Map.Entry<String, Object> entry : map.rawEntries()) {
+                size += 40 + estimateSize(entry.getKey());
+                size += entry.getValue() instanceof LazyMap.Slice slice ? 16 + slice.length() : estimateSize(entry.getValue());
+            }
+            return size;
+        }
+
+        if (value instanceof Map<?, ?> map) {
+            long size = 72 + 4L * Integer.highestOneBit(Math.max(1, map.size() * 2));
+            for (Map.Entry<?, ?> entry : map.entrySet())
+                size += 40 + estimateSize(entry.getKey()) + estimateSize(entry.getValue());
+            return size;
+        }
+
+        if (value instanceof List<?> list) {
+            long size = 40 + 4L * list.size();
+            for (Object item : list) size += estimateSize(item);
+            return size;
+        }
+
+        return 16;
+    }
+
+    /**
+     * Checks whether the value is an integral number a double can represent exactly.
+     */
+    public static boolean isExactDouble(@Nullable Object value) {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) return true;
+        return value instanceof Long l && Math.abs(l) <= MAX_EXACT_DOUBLE;
+    }
+
+    /**
+     * Checks whether the number is integral and its {@code longValue()} is exact.
+     */
+    public static boolean isExactLong(@Nullable Number value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) return true;
+        if (value instanceof BigInteger big) return big.bitLength() < Long.SIZE;
+        if (value instanceof BigDecimal big) return big.signum() == 0 || (big.stripTrailingZeros().scale() <= 0 && big.toBigInteger().bitLength() < Long.SIZE);
+        return value != null && isIntegral(value.doubleValue());
+    }
+
+    /**
+     * Checks whether the double holds an integral value that fits a long exactly.
+     */
+    public static boolean isIntegral(double value) {
+        return value == Math.rint(value) && Math.abs(value) <= MAX_EXACT_DOUBLE;
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.node;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Mutable list of numbers backed by a primitive array.
+ * Elements are only boxed when read through the {@link java.util.List} interface.
+ */
+public abstract class PrimitiveListNode<E extends Number> extends AbstractList<E> implements RandomAccess {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    protected int size;
+
+    protected PrimitiveListNode(int size) {
+        this.size = size;
+    }
+
+    /**
+     * Checks whether the value can be stored without changing its numeric value.
+     */
+    public abstract boolean accepts(@Nullable Object value);
+
+    public abstract long getLong(int index);
+
+    public abstract double getDouble(int index);
+
+    /**
+     * Returns a node of the same kind holding a copy of the elements.
+     */
+    public abstract PrimitiveListNode<E> copy();
+
+    public long[] toLongArray() {
+        long[] result = new long[size];
+        for (int i = 0; i < size; i++) result[i] = getLong(i);
+        return result;
+    }
+
+    public double[] toDoubleArray() {
+        double[] result = new double[size];
+        for (int i = 0; i < size; i++) result[i] = getDouble(i);
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public E set(int index, E element) {
+        checkIndex(index);
+        checkAccepts(element);
+
+        E previous = get(index);
+        store(index, element);
+        return previous;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        checkAccepts(element);
+
+        if (size == capacity()) grow(Math.max(DEFAULT_CAPACITY, size + (size >> 1) + 1));
+
+        Object array = array();
+        System.arraycopy(array, index, array, index + 1, size - index);
+        store(index, element);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+        checkIndex(index);
+
+        E previous = get(index);
+        Object array = array();
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    protected abstract void store(int index, Number value);
+
+    protected abstract int capacity();
+
+    protected abstract void grow(int capacity);
+
+    protected abstract Object array();
+
+    protected void checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    private void checkAccepts(Object element) {
+        if (!accepts(element))
+            throw new ClassCastException("Cannot store " + element + " in " + getClass().getSimpleName());
+    }
+}
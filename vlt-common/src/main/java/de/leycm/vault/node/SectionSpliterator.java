@@ -0,0 +1,79 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.node;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over the entries of a section, driven by a snapshot of its
+ * keys. Values are looked up when reached, so splitting only divides the
+ * key range and never copies the section. Keys removed after the snapshot
+ * are skipped.
+ */
+public final class SectionSpliterator implements Spliterator<Map.Entry<String, Object>> {
+
+    private static final int MIN_SPLIT = 64;
+
+    private final String[] keys;
+    private final Map<String, Object> section;
+    private int index;
+    private final int fence;
+
+    public SectionSpliterator(String @NotNull [] keys, @NotNull Map<String, Object> section) {
+        this(keys, section, 0, keys.length);
+    }
+
+    private SectionSpliterator(String @NotNull [] keys, @NotNull Map<String, Object> section, int index, int fence) {
+        this.keys = keys;
+        this.section = section;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(@NotNull Consumer<? super Map.Entry<String, Object>> action) {
+        while (index < fence) {
+            String key = keys[index++];
+            Object value = section.get(key);
+
+            if (value != null) {
+                action.accept(Map.entry(key, Nodes.view(value)));
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public Spliterator<Map.Entry<String, Object>> trySplit() {
+        int mid = (index + fence) >>> 1;
+        if (mid - index < MIN_SPLIT) return null;
+
+        SectionSpliterator prefix = new SectionSpliterator(keys, section, index, mid);
+        index = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | DISTINCT | NONNULL;
+    }
+}
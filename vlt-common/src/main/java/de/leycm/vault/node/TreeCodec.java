@@ -0,0 +1,368 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.node;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Compact binary encoding of Vault trees. Integers are zigzag varints,
+ * strings are length-prefixed UTF-8 and repeated strings are written as
+ * references into a table that grows while encoding, so the keys of
+ * sections with the same layout are stored once.
+ */
+public final class TreeCodec {
+
+    public static final byte NULL = 0;
+    public static final byte FALSE = 1;
+    public static final byte TRUE = 2;
+    public static final byte INT = 3;
+    public static final byte LONG = 4;
+    public static final byte DOUBLE = 5;
+    public static final byte FLOAT = 6;
+    public static final byte STRING = 7;
+    public static final byte STRING_REF = 8;
+    public static final byte MAP = 9;
+    public static final byte LIST = 10;
+    public static final byte INT_ARRAY = 11;
+    public static final byte LONG_ARRAY = 12;
+    public static final byte DOUBLE_ARRAY = 13;
+    public static final byte DATE = 14;
+    public static final byte BIG_INTEGER = 15;
+    public static final byte BIG_DECIMAL = 16;
+
+    private TreeCodec() {}
+
+    /**
+     * Encodes a tree into a standalone byte array.
+     *
+     * @throws IllegalArgumentException if the tree contains values that can't be encoded
+     */
+    public static byte @NotNull [] encode(@NonNull Map<String, Object> tree) {
+        Output out = new Output();
+        out.writeValue(tree);
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a tree written by {@link #encode(Map)}.
+     *
+     * @throws IllegalArgumentException if the data is malformed
+     */
+    @SuppressWarnings("unchecked")
+    public static @NotNull Map<String, Object> decode(byte @NonNull [] data, int offset, int length) {
+        Object value = new Input(data, offset, length).readValue();
+
+        if (!(value instanceof Map<?, ?> map))
+            throw new IllegalArgumentException("Encoded value is not a section");
+
+        return (Map<String, Object>) map;
+    }
+
+    // ==================== Helper Classes ====================
+
+    /**
+     * Growable output buffer writing tagged values.
+     */
+    public static class Output {
+        private final Map<String, Integer> table;
+        private final Map<String, Integer> strings = new HashMap<>();
+        private byte[] buffer = new byte[256];
+        private int size;
+
+        public Output() {
+            this(Map.of());
+        }
+
+        /**
+         * Creates an output that refers to the strings of a shared table.
+         * Strings missing from the table are defined inline and numbered after it.
+         */
+        public Output(@NonNull Map<String, Integer> table) {
+            this.table = table;
+        }
+
+        public void writeValue(@Nullable Object value) {
+            if (value == null) {
+                writeByte(NULL);
+            } else if (value instanceof Boolean bool) {
+                writeByte(bool ? TRUE : FALSE);
+            } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                writeByte(INT);
+                writeVarLong(zigzag(((Number) value).intValue()));
+            } else if (value instanceof Long number) {
+                writeByte(LONG);
+                writeVarLong(zigzag(number));
+            } else if (value instanceof Double number) {
+                writeByte(DOUBLE);
+                writeLong(Double.doubleToRawLongBits(number));
+            } else if (value instanceof Float number) {
+                writeByte(FLOAT);
+                writeVarLong(Float.floatToRawIntBits(number) & 0xFFFFFFFFL);
+            } else if (value instanceof String string) {
+                writeString(string);
+            } else if (value instanceof PrimitiveListNode<?> node) {
+                writeNode(node);
+            } else if (value instanceof Map<?, ?> map) {
+                writeByte(MAP);
+                writeVarLong(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    writeString(String.valueOf(entry.getKey()));
+                    writeValue(entry.getValue());
+                }
+            } else if (value instanceof List<?> list) {
+                writeByte(LIST);
+                writeVarLong(list.size());
+                for (Object item : list) writeValue(item);
+            } else if (value instanceof Date date) {
+                writeByte(DATE);
+                writeVarLong(zigzag(date.getTime()));
+            } else if (value instanceof BigInteger number) {
+                writeByte(BIG_INTEGER);
+                writeRawString(number.toString());
+            } else if (value instanceof BigDecimal number) {
+                writeByte(BIG_DECIMAL);
+                writeRawString(number.toString());
+            } else {
+                throw new IllegalArgumentException("Unsupported value type: " + value.getClass().getName());
+            }
+        }
+
+        public void writeString(@NonNull String string) {
+            Integer index = table.get(string);
+            if (index == null) index = strings.get(string);
+
+            if (index != null) {
+                writeByte(STRING_REF);
+                writeVarLong(index);
+                return;
+            }
+
+            strings.put(string, table.size() + strings.size());
+            writeByte(STRING);
+            writeRawString(string);
+        }
+
+        public void writeRawString(@NonNull String string) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            writeBytes(bytes, 0, bytes.length);
+        }
+
+        public void writeByte(int value) {
+            ensure(1);
+            buffer[size++] = (byte) value;
+        }
+
+        public void writeBytes(byte @NonNull [] bytes, int offset, int length) {
+            ensure(length);
+            System.arraycopy(bytes, offset, buffer, size, length);
+            size += length;
+        }
+
+        public void writeLong(long value) {
+            ensure(8);
+            for (int i = 7; i >= 0; i--) buffer[size++] = (byte) (value >>> (i * 8));
+        }
+
+        public void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public byte @NotNull [] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void writeNode(PrimitiveListNode<?> node) {
+            int length = node.size();
+
+            if (node instanceof DoubleArrayNode) {
+                writeByte(DOUBLE_ARRAY);
+                writeVarLong(length);
+                for (int i = 0; i < length; i++) writeLong(Double.doubleToRawLongBits(node.getDouble(i)));
+                return;
+            }
+
+            writeByte(node instanceof IntArrayNode ? INT_ARRAY : LONG_ARRAY);
+            writeVarLong(length);
+            for (int i = 0; i < length; i++) writeVarLong(zigzag(node.getLong(i)));
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buffer.length)
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+
+        private static long zigzag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+
+    /**
+     * Reader for values written by {@link Output}.
+     */
+    public static class Input {
+        private final List<String> table;
+        private final List<String> strings = new ArrayList<>();
+        private final byte[] data;
+        private final int limit;
+        private int position;
+
+        public Input(byte @NonNull [] data, int offset, int length) {
+            this(data, offset, length, List.of());
+        }
+
+        /**
+         * Creates an input that resolves references against a shared table,
+         * matching an {@link Output} created with the same table.
+         */
+        public Input(byte @NonNull [] data, int offset, int length, @NonNull List<String> table) {
+            this.table = table;
+            this.data = data;
+            this.position = offset;
+            this.limit = offset + length;
+        }
+
+        public @Nullable Object readValue() {
+            byte tag = readByte();
+
+            return switch (tag) {
+                case NULL -> null;
+                case FALSE -> false;
+                case TRUE -> true;
+                case INT -> (int) unzigzag(readVarLong());
+                case LONG -> unzigzag(readVarLong());
+                case DOUBLE -> Double.longBitsToDouble(readLong());
+                case FLOAT -> Float.intBitsToFloat((int) readVarLong());
+                case STRING, STRING_REF -> readString(tag);
+                case MAP -> {
+                    int size = readLength();
+                    Map<String, Object> map = new LinkedHashMap<>(Math.max(16, (int) (size / 0.75f) + 1));
+                    for (int i = 0; i < size; i++) map.put(readString(readByte()), readValue());
+                    yield map;
+                }
+                case LIST -> {
+                    int size = readLength();
+                    List<Object> list = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) list.add(readValue());
+                    yield list;
+                }
+                case INT_ARRAY -> {
+                    int[] values = new int[readLength()];
+                    for (int i = 0; i < values.length; i++) values[i] = (int) unzigzag(readVarLong());
+                    yield new IntArrayNode(values);
+                }
+                case LONG_ARRAY -> {
+                    long[] values = new long[readLength()];
+                    for (int i = 0; i < values.length; i++) values[i] = unzigzag(readVarLong());
+                    yield new LongArrayNode(values);
+                }
+                case DOUBLE_ARRAY -> {
+                    double[] values = new double[readLength()];
+                    for (int i = 0; i < values.length; i++) values[i] = Double.longBitsToDouble(readLong());
+                    yield new DoubleArrayNode(values);
+                }
+                case DATE -> new Date(unzigzag(readVarLong()));
+                case BIG_INTEGER -> new BigInteger(readRawString());
+                case BIG_DECIMAL -> new BigDecimal(readRawString());
+                default -> throw new IllegalArgumentException("Unknown tag " + tag + " at " + (position - 1));
+            };
+        }
+
+        public @NotNull String readString(byte tag) {
+            if (tag == STRING_REF) {
+                long index = readVarLong();
+                if (index >= 0 && index < table.size()) return table.get((int) index);
+
+                long local = index - table.size();
+                if (local < 0 || local >= strings.size()) throw new IllegalArgumentException("Unknown string reference " + index);
+                return strings.get((int) local);
+            }
+
+            if (tag != STRING) throw new IllegalArgumentException("Expected string but found tag " + tag);
+
+            String string = readRawString();
+            strings.add(string);
+            return string;
+        }
+
+        public @NotNull String readRawString() {
+            int length = readLength();
+            require(length);
+
+            String string = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return string;
+        }
+
+        public byte readByte() {
+            require(1);
+            return data[position++];
+        }
+
+        public long readLong() {
+            require(8);
+            long value = 0;
+            for (int i = 0; i < 8; i++) value = (value << 8) | (data[position++] & 0xFF);
+            return value;
+        }
+
+        public long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IllegalArgumentException("Malformed varint at " + position);
+        }
+
+        public int readLength() {
+            long length = readVarLong();
+            // every element takes at least one byte, so larger lengths can't be valid
+            if (length < 0 || length > limit - position)
+                throw new IllegalArgumentException("Invalid length " + length + " at " + position);
+            return (int) length;
+        }
+
+        public int position() {
+            return position;
+        }
+
+        public void position(int position) {
+            this.position = position;
+        }
+
+        private void require(int length) {
+            if (length > limit - position)
+                throw new IllegalArgumentException("Unexpected end of data at " + position);
+        }
+
+        private static long unzigzag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.query;
+
+import de.leycm.vault.query.ConfigQuery.Segment;
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy depth-first walk of a config tree that yields the raw values
+ * matching a {@link ConfigQuery}. Literal keys and indices are looked up
+ * directly; only wildcards enumerate a section or list. Paths are kept as
+ * links to the parent step and only joined into a string for a match.
+ */
+public final class QueryWalker implements Iterator<QueryMatch<Object>> {
+
+    private static final String PATH_SEPARATOR = ".";
+
+    private final List<Segment> segments;
+    private final Deque<Step> pending = new ArrayDeque<>();
+    private final @Nullable Set<String> seen;
+    private @Nullable QueryMatch<Object> next;
+
+    private QueryWalker(@NotNull ConfigQuery query, @NotNull Object root) {
+        this.segments = query.segments();
+        this.seen = query.hasAmbiguousDepth() ? new HashSet<>() : null;
+        pending.push(new Step(null, null, -1, root, 0));
+    }
+
+    /**
+     * Streams the raw matches of the query below the section, in document order.
+     */
+    public static @NotNull Stream<QueryMatch<Object>> stream(@NonNull ConfigQuery query,
+                                                            @NonNull Map<String, Object> section) {
+        Spliterator<QueryMatch<Object>> spliterator = Spliterators.spliteratorUnknownSize(
+                new QueryWalker(query, section), Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) next = advance();
+        return next != null;
+    }
+
+    @Override
+    public QueryMatch<Object> next() {
+        if (!hasNext()) throw new NoSuchElementException();
+
+        QueryMatch<Object> match = next;
+        next = null;
+        return match;
+    }
+
+    private @Nullable QueryMatch<Object> advance() {
+        while (!pending.isEmpty()) {
+            Step step = pending.pop();
+
+            if (step.segment == segments.size()) {
+                if (step.parent == null) continue;
+
+                String path = step.path();
+                if (seen == null || seen.add(path)) return new QueryMatch<>(path, step.value);
+                continue;
+            }
+
+            expand(step);
+        }
+
+        return null;
+    }
+
+    /**
+     * Pushes the children matched by the next segment, last child first so
+     * they are popped in document order.
+     */
+    private void expand(@NotNull Step step) {
+        Segment segment = segments.get(step.segment);
+        Object value = step.value;
+        int following = step.segment + 1;
+
+        switch (segment.kind()) {
+            case KEY -> {
+                if (value instanceof Map<?, ?> map && map.containsKey(segment.key())) {
+                    Object child = map.get(segment.key());
+                    if (child != null) pending.push(new Step(step, segment.key(), -1, child, following));
+                }
+            }
+            case INDEX -> {
+                if (value instanceof List<?> list && segment.index() < list.size()) {
+                    Object child = list.get(segment.index());
+                    if (child != null) pending.push(new Step(step, null, segment.index(), child, following));
+                }
+            }
+            case ANY_KEY -> {
+                if (value instanceof Map<?, ?> map) pushEntries(step, map, following);
+            }
+            case ANY_INDEX -> {
+                if (value instanceof List<?> list) pushElements(step, list, following);
+            }
+            case DEEP -> {
+                // one level further with the same segment, or done with it right here
+                if (value instanceof Map<?, ?> map) pushEntries(step, map, step.segment);
+                else if (value instanceof List<?> list) pushElements(step, list, step.segment);
+
+                pending.push(new Step(step.parent, step.key, step.index, value, following));
+            }
+        }
+    }
+
+    private void pushEntries(@NotNull Step step, @NotNull Map<?, ?> map, int segment) {
+        List<Step> children = new ArrayList<>(map.size());
+
+        for (Map.Entry<?, ?> entry : map.entrySet())
+            if (entry.getValue() != null)
+                children.add(new Step(step, String.valueOf(entry.getKey()), -1, entry.getValue(), segment));
+
+        for (int i = children.size() - 1; i >= 0; i--) pending.push(children.get(i));
+    }
+
+    private void pushElements(@NotNull Step step, @NotNull List<?> list, int segment) {
+        for (int i = list.size() - 1; i >= 0; i--) {
+            Object element = list.get(i);
+            if (element != null) pending.push(new Step(step, null, i, element, segment));
+        }
+    }
+
+    // ==================== Helper Classes ====================
+
+    /**
+     * A value reached by the walk, with the key or index that led to it.
+     */
+    private record Step(@Nullable Step parent, @Nullable String key, int index,
+                        @NotNull Object value, int segment) {
+
+        private @NotNull String path() {
+            Deque<Step> chain = new ArrayDeque<>();
+            for (Step step = this; step.parent != null; step = step.parent) chain.push(step);
+
+            StringBuilder path = new StringBuilder();
+            for (Step step : chain) {
+                if (step.key != null) {
+                    if (!path.isEmpty()) path.append(PATH_SEPARATOR);
+                    path.append(step.key);
+                } else {
+                    path.append('[').append(step.index).append(']');
+                }
+            }
+
+            return path.toString();
+        }
+    }
+}
@@ -0,0 +1,287 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.schema;
+
+import de.leycm.vault.Config;
+import de.leycm.vault.VaultFactory;
+import de.leycm.vault.adapter.TypeAdapter;
+import de.leycm.vault.node.PrimitiveListNode;
+import de.leycm.vault.schema.ConfigSchema.Rule;
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * A {@link ConfigSchema} compiled into a tree that mirrors the expected
+ * config tree, so a config is checked in a single walk without splitting
+ * paths. Besides collecting violations the walk normalizes the tree: missing
+ * values with a default are filled in and leaves are replaced with their
+ * converted, storable form, so later reads don't have to convert them.
+ */
+public final class SchemaValidator {
+
+    private static final String PATH_SEPARATOR = ".";
+
+    private final Node root;
+
+    private SchemaValidator(@NotNull Node root) {
+        this.root = root;
+    }
+
+    public static @NotNull SchemaValidator compile(@NonNull ConfigSchema schema) {
+        Node root = new Node();
+        compile(schema, root);
+        root.summarize();
+        return new SchemaValidator(root);
+    }
+
+    /**
+     * Validates and normalizes the tree in place.
+     *
+     * @return all violations, in tree order
+     */
+    public @NotNull List<SchemaViolation> validate(@NonNull Map<String, Object> data,
+                                                   @NonNull Config owner, @NonNull VaultFactory factory) {
+        Walk walk = new Walk(owner, factory);
+        walk.section(data, root, "");
+        return walk.violations;
+    }
+
+    private static void compile(@NotNull ConfigSchema schema, @NotNull Node node) {
+        for (Rule rule : schema.rules()) {
+            Node target = node;
+            for (String key : rule.path().split("\\" + PATH_SEPARATOR))
+                target = target.children.computeIfAbsent(key, k -> new Node());
+
+            target.rule = rule;
+            if (rule.schema() == null) continue;
+
+            if (rule.perEntry()) compile(rule.schema(), target.entries = new Node());
+            else compile(rule.schema(), target);
+        }
+    }
+
+    // ==================== Helper Classes ====================
+
+    private static final class Node {
+        private final Map<String, Node> children = new LinkedHashMap<>();
+        private @Nullable Rule rule;
+        private @Nullable Node entries;
+
+        // whether a missing section still has to be walked to fill defaults or report required keys
+        private boolean descend;
+
+        private boolean summarize() {
+            if (entries != null) entries.summarize();
+
+            for (Node child : children.values()) {
+                boolean nested = child.summarize();
+                Rule rule = child.rule;
+                descend |= nested || (rule != null && (rule.required() || rule.defaultValue() != null));
+            }
+
+            return descend;
+        }
+
+        private boolean isSection() {
+            return !children.isEmpty() || entries != null || (rule != null && Map.class.isAssignableFrom(rule.type()));
+        }
+    }
+
+    private static final class Walk {
+        private final Config owner;
+        private final VaultFactory factory;
+        private final List<SchemaViolation> violations = new ArrayList<>();
+
+        private Walk(@NotNull Config owner, @NotNull VaultFactory factory) {
+            this.owner = owner;
+            this.factory = factory;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void section(@NotNull Map<String, Object> section, @NotNull Node node, @NotNull String prefix) {
+            for (Map.Entry<String, Node> entry : node.children.entrySet()) {
+                String key = entry.getKey();
+                Node child = entry.getValue();
+                Rule rule = child.rule;
+                String path = prefix.isEmpty() ? key : prefix + PATH_SEPARATOR + key;
+
+                Object value = section.get(key);
+
+                if (value == null) {
+                    if (rule != null && rule.defaultValue() != null) {
+                        section.put(key, storable(copy(rule.defaultValue()), path));
+                    } else if (rule != null && rule.required()) {
+                        violation(path, "missing required " + name(rule.type()));
+                    } else if (child.descend) {
+                        Map<String, Object> created = new LinkedHashMap<>();
+                        section(created, child, path);
+                        if (!created.isEmpty()) section.put(key, created);
+                    }
+                    continue;
+                }
+
+                if (child.isSection()) {
+                    if (!(value instanceof Map<?, ?> map)) {
+                        violation(path, "expected section but was " + name(value.getClass()));
+                        continue;
+                    }
+
+                    section((Map<String, Object>) map, child, path);
+                    if (child.entries != null) entries((Map<String, Object>) map, child.entries, path);
+                } else if (rule != null) {
+                    Object converted = leaf(value, rule, path);
+                    if (converted != value) section.put(key, converted);
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void entries(@NotNull Map<String, Object> section, @NotNull Node node, @NotNull String prefix) {
+            for (Map.Entry<String, Object> entry : section.entrySet()) {
+                String path = prefix + PATH_SEPARATOR + entry.getKey();
+
+                if (entry.getValue() instanceof Map<?, ?> map) section((Map<String, Object>) map, node, path);
+                else violation(path, "expected section but was " + name(entry.getValue()));
+            }
+        }
+
+        /**
+         * Returns the storable form of the leaf, or the value itself if it's
+         * already storable or doesn't match.
+         */
+        private @Nullable Object leaf(@NotNull Object value, @NotNull Rule rule, @NotNull String path) {
+            Object converted = convert(value, rule.type(), path);
+            if (converted == null) return value;
+
+            if (rule.hasRange()) {
+                if (!(converted instanceof Number number)) {
+                    violation(path, "expected a number in [" + rule.min() + ", " + rule.max() + "]");
+                } else if (number.doubleValue() < rule.min() || number.doubleValue() > rule.max()) {
+                    violation(path, number + " is outside [" + rule.min() + ", " + rule.max() + "]");
+                }
+            }
+
+            if (rule.elementType() != null && converted instanceof List<?> list)
+                return elements(list, rule.elementType(), path);
+
+            return converted;
+        }
+
+        private @NotNull Object elements(@NotNull List<?> list, @NotNull Class<?> type, @NotNull String path) {
+            List<Object> result = null;
+
+            for (int i = 0; i < list.size(); i++) {
+                Object element = list.get(i);
+                String elementPath = path + "[" + i + "]";
+
+                Object converted = element == null ? null : convert(element, type, elementPath);
+                if (element == null) violation(elementPath, "expected " + name(type) + " but was null");
+
+                if (converted != null && converted != element && result == null && !(list instanceof PrimitiveListNode<?>))
+                    result = new ArrayList<>(list);
+                if (result != null && converted != null) result.set(i, converted);
+            }
+
+            return result != null ? result : list;
+        }
+
+        /**
+         * Converts the value into the storable form of the type, or returns
+         * null after recording a violation.
+         */
+        @SuppressWarnings("unchecked")
+        private @Nullable Object convert(@NotNull Object value, @NotNull Class<?> type, @NotNull String path) {
+            if (type.isInstance(value) && (Map.class.isAssignableFrom(type) || List.class.isAssignableFrom(type)))
+                return value;
+
+            TypeAdapter<Object> adapter = (TypeAdapter<Object>) factory.getTypeAdapter(type);
+
+            if (adapter == null) {
+                if (type.isInstance(value)) return value;
+
+                violation(path, "expected " + name(type) + " but was " + name(value.getClass()));
+                return null;
+            }
+
+            // scalar adapters would happily stringify sections and lists
+            if ((value instanceof Map<?, ?> || (value instanceof Collection<?> && !type.isArray())) && !type.isInstance(value)) {
+                violation(path, "expected " + name(type) + " but was " + name(value.getClass()));
+                return null;
+            }
+
+            Object converted;
+            try {
+                converted = adapter.fromObject(owner, path, value);
+            } catch (RuntimeException e) {
+                converted = null;
+            }
+
+            if (converted == null || lossy(value, converted)) {
+                violation(path, "expected " + name(type) + " but was " + value);
+                return null;
+            }
+
+            Object stored = adapter.toObject(owner, path, converted);
+            if (stored == null) return value;
+
+            return stored.equals(value) && stored.getClass() == value.getClass() ? value : stored;
+        }
+
+        private @Nullable Object storable(@NotNull Object value, @NotNull String path) {
+            @SuppressWarnings("unchecked")
+            TypeAdapter<Object> adapter = (TypeAdapter<Object>) factory.getTypeAdapter(value.getClass());
+            if (adapter == null) return value;
+
+            Object stored = adapter.toObject(owner, path, value);
+            return stored != null ? stored : value;
+        }
+
+        private void violation(@NotNull String path, @NotNull String message) {
+            violations.add(new SchemaViolation(path, message));
+        }
+
+        private static boolean lossy(@NotNull Object value, @NotNull Object converted) {
+            if (!(value instanceof Number number)) return false;
+            if (!(converted instanceof Integer || converted instanceof Long
+                    || converted instanceof Short || converted instanceof Byte)) return false;
+
+            return ((Number) converted).doubleValue() != number.doubleValue();
+        }
+
+        private static @NotNull String name(@Nullable Object type) {
+            if (type == null) return "null";
+            return type instanceof Class<?> clazz ? clazz.getSimpleName() : name(type.getClass());
+        }
+
+        /**
+         * Copies defaults that are sections or lists, so configs never share them.
+         */
+        private static @NotNull Object copy(@NotNull Object value) {
+            if (value instanceof Map<?, ?> map) {
+                Map<String, Object> copy = new LinkedHashMap<>();
+                for (Map.Entry<?, ?> entry : map.entrySet())
+                    copy.put(String.valueOf(entry.getKey()), entry.getValue() == null ? null : copy(entry.getValue()));
+                return copy;
+            }
+
+            if (value instanceof List<?> list && !(list instanceof PrimitiveListNode<?>)) {
+                List<Object> copy = new ArrayList<>(list.size());
+                for (Object element : list) copy.add(element == null ? null : copy(element));
+                return copy;
+            }
+
+            return value;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.tool;
+
+import de.leycm.vault.VaultFactory;
+
+import java.io.File;
+
+/**
+ * Command line entry point converting config files between formats,
+ * e.g. {@code java -cp vault.jar de.leycm.vault.tool.ConvertTool data.json data.vlt}.
+ * The formats are picked by the file endings.
+ */
+public final class ConvertTool {
+
+    private ConvertTool() {}
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: ConvertTool <source> <target>");
+            System.exit(2);
+            return;
+        }
+
+        File source = new File(args[0]);
+        File target = new File(args[1]);
+
+        if (!source.isFile()) {
+            System.err.println("Source not found: " + source.getPath());
+            System.exit(1);
+            return;
+        }
+
+        VaultFactory factory = new VaultFactory(source.getAbsoluteFile().getParentFile());
+        factory.onInstall();
+        factory.convert(source, target);
+
+        System.out.println("Converted " + source.getPath() + " to " + target.getPath());
+    }
+}
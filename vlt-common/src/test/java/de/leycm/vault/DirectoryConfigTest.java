@@ -0,0 +1,76 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Deletes and evicts sections of a directory config.
+ */
+class DirectoryConfigTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void deletedSectionKeepsItsFileUntilSave() {
+        DirectoryConfig config = directory(4);
+        File file = new File(config.file(), "players.vlt");
+
+        config.set("players.alex", Map.of("level", 3));
+        config.save();
+
+        config.set("players", null);
+        assertFalse(config.contains("players"));
+        assertTrue(file.isFile());
+
+        config.reload();
+        assertEquals(Optional.of(3), config.getOptional("players.alex.level", Integer.class));
+
+        config.set("players", null);
+        config.save();
+        assertFalse(file.exists());
+        assertFalse(config.keys().contains("players"));
+    }
+
+    @Test
+    void failedEvictionKeepsSectionAndFailsNextSave() {
+        DirectoryConfig config = directory(1);
+        // a directory in place of the section file makes writing it fail
+        File blocked = new File(config.file(), "kits.vlt");
+        assertTrue(blocked.mkdirs());
+
+        config.set("kits.starter", Map.of("price", 5));
+        config.set("ranks.admin", Map.of("weight", 100));
+
+        assertEquals(2, config.loadedSections());
+        assertEquals(Optional.of(5), config.getOptional("kits.starter.price", Integer.class));
+        assertThrows(RuntimeException.class, config::save);
+
+        assertTrue(blocked.delete());
+        config.save();
+        assertTrue(blocked.isFile());
+    }
+
+    private DirectoryConfig directory(int capacity) {
+        VaultFactory factory = new VaultFactory(dir.toFile());
+        factory.onInstall();
+        return factory.createDirectory(new File(dir.toFile(), "data"), "vlt", capacity);
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.field;
+
+import de.leycm.vault.Config;
+import de.leycm.vault.VaultFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Updates lists through several handles of the same path.
+ */
+class VaultFieldListTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void viewSeesEditsOfOtherHandles() {
+        VaultFactory factory = new VaultFactory(dir.toFile());
+        factory.onInstall();
+
+        Config config = factory.create(new File(dir.toFile(), "config.vlt"));
+        // a mutable list is updated in place, so all handles share it
+        config.set("numbers", new ArrayList<>(List.of(1L, 2L, 3L)));
+
+        // converted from the stored longs, so the view caches the elements
+        FieldList<Integer> reader = config.getFieldList("numbers", Integer.class);
+        FieldList<Integer> writer = config.getFieldList("numbers", Integer.class);
+        List<Integer> view = reader.view();
+        assertEquals(List.of(1, 2, 3), List.copyOf(view));
+
+        writer.add(0, 9);
+        assertEquals(List.of(9, 1, 2, 3), List.copyOf(view));
+
+        writer.remove(1);
+        writer.removeIf(number -> number == 2);
+        assertEquals(List.of(9, 3), List.copyOf(reader.view()));
+    }
+}
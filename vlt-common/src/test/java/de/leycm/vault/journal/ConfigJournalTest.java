@@ -0,0 +1,116 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.journal;
+
+import de.leycm.vault.Config;
+import de.leycm.vault.VaultFactory;
+import de.leycm.vault.field.FieldList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Saves and reloads journaled configs through the factory.
+ */
+class ConfigJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void reloadDiscardsUnsavedWrites() {
+        VaultFactory factory = factory();
+        File file = new File(dir.toFile(), "config.vlt");
+
+        Config config = factory.create(file);
+        config.set("saved", 1L);
+        factory.save(file);
+        config.set("unsaved", 2L);
+
+        factory.reload(file);
+        Config reloaded = factory.create(file);
+
+        assertEquals(Optional.of(1L), reloaded.getOptional("saved", Long.class));
+        assertFalse(reloaded.contains("unsaved"));
+    }
+
+    @Test
+    void restartKeepsOnlySavedWrites() {
+        File file = new File(dir.toFile(), "config.vlt");
+
+        VaultFactory factory = factory();
+        Config config = factory.create(file);
+        config.set("saved", 1L);
+        factory.save(file);
+        config.set("unsaved", 2L);
+
+        Config restarted = factory().create(file);
+
+        assertEquals(Optional.of(1L), restarted.getOptional("saved", Long.class));
+        assertFalse(restarted.contains("unsaved"));
+    }
+
+    @Test
+    void listEditsReplayAsSplices() {
+        File file = new File(dir.toFile(), "config.vlt");
+
+        VaultFactory factory = factory();
+        Config config = factory.create(file);
+        config.set("names", List.of("a", "b", "c", "d", "e"));
+        factory.save(file);
+
+        FieldList<String> names = config.getFieldList("names", String.class);
+        names.add("f");
+        names.add(0, "z");
+        names.set(1, "A");
+        names.remove(2);
+        names.addAll(List.of("g", "h"));
+        names.removeIf(name -> name.equals("c") || name.equals("d") || name.equals("g"));
+        factory.save(file);
+
+        List<String> expected = List.of("z", "A", "e", "f", "h");
+        assertEquals(expected, names.get());
+        assertEquals(expected, factory().create(file).getFieldList("names", String.class).get());
+    }
+
+    @Test
+    void compactionDoesNotReplaySplicesTwice() {
+        File file = new File(dir.toFile(), "config.vlt");
+
+        VaultFactory factory = factory();
+        factory.setAsyncExecutor(Runnable::run);
+        Config config = factory.create(file);
+        FieldList<Long> numbers = config.getFieldList("numbers", Long.class);
+
+        // enough records to outgrow the minimum journal size and compact on save
+        for (long i = 0; i < 20_000; i++) numbers.add(i);
+        factory.save(file);
+        numbers.add(-1L);
+        factory.save(file);
+
+        List<Long> restarted = factory().create(file).getFieldList("numbers", Long.class).get();
+        assertEquals(20_001, restarted.size());
+        assertEquals(List.of(-1L), restarted.subList(20_000, 20_001));
+    }
+
+    private VaultFactory factory() {
+        VaultFactory factory = new VaultFactory(dir.toFile());
+        factory.onInstall();
+        factory.setJournaling(true);
+        return factory;
+    }
+}
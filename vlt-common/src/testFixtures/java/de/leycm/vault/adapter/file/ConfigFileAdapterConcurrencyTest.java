@@ -0,0 +1,124 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.adapter.file;
+
+import de.leycm.vault.adapter.ConfigFileAdapter;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Parses and writes distinct documents from many threads through one
+ * shared adapter. Every result must match the one produced sequentially,
+ * so a parser or buffer shared between threads shows up as a mismatch.
+ * Each format subclasses it with its adapter and a document it can't parse.
+ */
+public abstract class ConfigFileAdapterConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ITERATIONS = 100;
+
+    private final ConfigFileAdapter adapter;
+    private final String malformed;
+
+    protected ConfigFileAdapterConcurrencyTest(ConfigFileAdapter adapter, String malformed) {
+        this.adapter = adapter;
+        this.malformed = malformed;
+    }
+
+    @Test
+    void concurrentReadsAndWritesMatchSequentialResults() throws Exception {
+        List<String> texts = new ArrayList<>();
+        List<Map<String, Object>> parsed = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            String text = adapter.write("", document(i));
+            texts.add(text);
+            parsed.add(adapter.read(text));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                int id = i;
+                results.add(executor.submit(() -> {
+                    start.await();
+
+                    for (int n = 0; n < ITERATIONS; n++) {
+                        String text = adapter.write("", document(id));
+                        assertEquals(texts.get(id), text, "document " + id + " written differently");
+                        assertEquals(parsed.get(id), adapter.read(text), "document " + id + " parsed differently");
+
+                        // the comment merge reuses the previous content, as a save does
+                        String merged = adapter.write("# header\n" + text, document(id));
+                        assertEquals(parsed.get(id), adapter.read(merged), "document " + id + " merged differently");
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> result : results) result.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedParseDoesNotBreakLaterReads() throws Exception {
+        String text = adapter.write("", document(1));
+        Map<String, Object> expected = adapter.read(text);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> results = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                boolean broken = i % 2 == 0;
+                results.add(executor.submit(() -> {
+                    for (int n = 0; n < ITERATIONS; n++) {
+                        if (broken) assertThrows(IOException.class, () -> adapter.read(malformed));
+                        else assertEquals(expected, adapter.read(text));
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<?> result : results) result.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Map<String, Object> document(int id) {
+        Map<String, Object> player = new LinkedHashMap<>();
+        player.put("name", "thread-" + id);
+        player.put("level", (long) id * 7);
+        player.put("online", id % 2 == 0);
+        player.put("home", new ArrayList<>(List.of((long) id, (long) id + 1, (long) id + 2)));
+
+        Map<String, Object> players = new LinkedHashMap<>();
+        for (int i = 0; i < 20; i++) players.put("p" + id + "-" + i, new LinkedHashMap<>(player));
+
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("owner", "thread-" + id);
+        root.put("tags", new ArrayList<>(List.of("t" + id, "shared")));
+        root.put("players", players);
+        return root;
+    }
+}
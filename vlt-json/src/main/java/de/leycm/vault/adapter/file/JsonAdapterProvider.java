@@ -0,0 +1,30 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.adapter.file;
+
+import de.leycm.vault.adapter.ConfigFileAdapter;
+import de.leycm.vault.adapter.ConfigFileAdapterProvider;
+
+/**
+ * Provides the JSON adapter for the {@code jsn}, {@code json} and {@code jason} extensions.
+ */
+public final class JsonAdapterProvider implements ConfigFileAdapterProvider {
+
+    @Override
+    public String[] extensions() {
+        return new String[] {"jsn", "json", "jason"};
+    }
+
+    @Override
+    public ConfigFileAdapter create() {
+        return new JsonConfigAdapter();
+    }
+}
@@ -0,0 +1,491 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.adapter.file;
+
+import com.google.gson.*;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import de.leycm.vault.adapter.ConfigFileAdapter;
+import de.leycm.vault.jfr.AdapterReadEvent;
+import de.leycm.vault.jfr.AdapterWriteEvent;
+import de.leycm.vault.node.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+public class JsonConfigAdapter implements ConfigFileAdapter {
+    private static final String FORMAT = "json";
+
+    private final Gson prettyGson;
+    private final boolean lazy;
+
+    public JsonConfigAdapter() {
+        this(false);
+    }
+
+    /**
+     * @param lazy whether objects are only scanned for their structure when
+     *             read and decoded on first access; untouched objects and
+     *             arrays are written back verbatim. Syntax errors inside
+     *             them only surface once they are accessed.
+     */
+    public JsonConfigAdapter(boolean lazy) {
+        this.lazy = lazy;
+        this.prettyGson = new GsonBuilder()
+                .setPrettyPrinting()
+                .serializeNulls()
+                .registerTypeHierarchyAdapter(PrimitiveListNode.class, new PrimitiveListAdapter())
+                .registerTypeAdapterFactory(new LazyObjectAdapterFactory())
+                .create();
+    }
+
+    @Override
+    public boolean decodesLazily() {
+        return lazy;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> read(String content) throws IOException {
+        if (content == null || content.trim().isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+
+        AdapterReadEvent event = new AdapterReadEvent(FORMAT);
+        event.begin();
+
+        try {
+            Map<String, Object> data;
+
+            if (lazy) {
+                data = new LazyObject(content, skipWhitespace(content, 0));
+            } else {
+                JsonObject json = JsonParser.parseString(content).getAsJsonObject();
+                data = (Map<String, Object>) convertJsonElement(json);
+            }
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.characters = content.length();
+                event.commit();
+            }
+
+            return data;
+        } catch (JsonParseException | IllegalStateException | IndexOutOfBoundsException e) {
+            throw new IOException("Invalid JSON", e);
+        }
+    }
+
+    /**
+     * Scans the entries of the root object and parses runs of them as
+     * separate objects on the pool. Objects larger than a chunk are scanned
+     * the same way, so a single huge section is split as well.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> readParallel(byte[] content, ForkJoinPool pool) throws IOException {
+        if (lazy) return readBytes(content);
+
+        String text = new String(content, StandardCharsets.UTF_8);
+        if (text.trim().isEmpty()) return new LinkedHashMap<>();
+
+        AdapterReadEvent event = new AdapterReadEvent(FORMAT);
+        event.begin();
+
+        try {
+            int grain = ParallelParse.grain(text.length(), pool, Integer.MAX_VALUE);
+            int start = skipWhitespace(text, 0);
+            ParallelParse.Section root = scanObject(text, start, grain);
+
+            // the scan stopped at the last value, the object must end right after it
+            int close = skipWhitespace(text, root.size() > 0 ? root.ends()[root.size() - 1] : start + 1);
+            expect(text, close, '}');
+
+            int end = skipWhitespace(text, close + 1);
+            if (end < text.length()) throw new IllegalStateException("Unexpected content at " + end);
+
+            Map<String, Object> data = ParallelParse.parse(pool, root, grain, (section, from, to) -> {
+                String chunk = "{" + text.substring(section.starts()[from], section.ends()[to - 1]) + "}";
+
+                try {
+                    return (Map<String, Object>) convertJsonElement(JsonParser.parseString(chunk).getAsJsonObject());
+                } catch (JsonParseException | IllegalStateException e) {
+                    throw new IOException("Invalid JSON", e);
+                }
+            });
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.characters = text.length();
+                event.commit();
+            }
+
+            return data;
+        } catch (JsonParseException | IllegalStateException | IndexOutOfBoundsException e) {
+            throw new IOException("Invalid JSON", e);
+        }
+    }
+
+    @Override
+    public String write(String current, Map<String, Object> data) {
+        AdapterWriteEvent event = new AdapterWriteEvent(FORMAT);
+        event.begin();
+
+        String result = prettyGson.toJson(data);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.characters = result.length();
+            event.commit();
+        }
+
+        return result;
+    }
+
+    @Override
+    public String updateValue(String current, String key, Object value) throws IOException {
+        Map<String, Object> data = read(current);
+        setNestedValue(data, key, value);
+        return write(current, data);
+    }
+
+    private @Nullable Object convertJsonElement(@NotNull JsonElement element) {
+        if (element.isJsonNull()) {
+            return null;
+        } else if (element.isJsonPrimitive()) {
+            JsonPrimitive primitive = element.getAsJsonPrimitive();
+            if (primitive.isBoolean()) {
+                return primitive.getAsBoolean();
+            } else if (primitive.isNumber()) {
+                Number number = primitive.getAsNumber();
+                if (number.doubleValue() == number.longValue()) return number.longValue();
+                return number.doubleValue();
+            } else {
+                return primitive.getAsString();
+            }
+        } else if (element.isJsonArray()) {
+            JsonArray array = element.getAsJsonArray();
+            PrimitiveListNode<?> node = convertNumberArray(array);
+            if (node != null) return node;
+
+            java.util.List<Object> list = new java.util.ArrayList<>();
+            for (JsonElement item : array) {
+                list.add(convertJsonElement(item));
+            }
+            return list;
+        } else if (element.isJsonObject()) {
+            JsonObject object = element.getAsJsonObject();
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                map.put(entry.getKey(), convertJsonElement(entry.getValue()));
+            }
+            return map;
+        }
+        return null;
+    }
+
+    private @Nullable PrimitiveListNode<?> convertNumberArray(@NotNull JsonArray array) {
+        int size = array.size();
+        if (size == 0) return null;
+
+        boolean integral = true;
+        for (int i = 0; i < size; i++) {
+            JsonElement item = array.get(i);
+
+            if (!item.isJsonPrimitive() || !item.getAsJsonPrimitive().isNumber()) return null;
+
+            Number number = item.getAsNumber();
+            if (number.doubleValue() != number.longValue()) integral = false;
+        }
+
+        if (integral) {
+            long[] values = new long[size];
+            for (int i = 0; i < size; i++) values[i] = array.get(i).getAsNumber().longValue();
+            return new LongArrayNode(values);
+        }
+
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) values[i] = array.get(i).getAsNumber().doubleValue();
+        return new DoubleArrayNode(values);
+    }
+
+    // ==================== Lazy Scanning ====================
+
+    private static int skipWhitespace(@NotNull String content, int index) {
+        while (index < content.length() && Character.isWhitespace(content.charAt(index))) index++;
+        return index;
+    }
+
+    /**
+     * Returns the index after the JSON value starting at the index, tracking
+     * only strings and bracket nesting.
+     */
+    private static int skipValue(@NotNull String content, int index) {
+        char first = content.charAt(index);
+
+        if (first == '"') return skipString(content, index);
+
+        if (first != '{' && first != '[') {
+            while (index < content.length() && ",}] \t\r\n".indexOf(content.charAt(index)) < 0) index++;
+            return index;
+        }
+
+        int depth = 0;
+        while (true) {
+            char c = content.charAt(index);
+
+            if (c == '"') {
+                index = skipString(content, index);
+                continue;
+            }
+
+            if (c == '{' || c == '[') depth++;
+            else if ((c == '}' || c == ']') && --depth == 0) return index + 1;
+
+            index++;
+        }
+    }
+
+    /**
+     * Returns the entries of the object starting at the index, from the
+     * start of each key to the end of its value. Object values of more than
+     * {@code grain} characters are scanned into child sections.
+     */
+    private static @NotNull ParallelParse.Section scanObject(@NotNull String content, int start, int grain) {
+        List<Integer> starts = new ArrayList<>();
+        List<Integer> ends = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        List<ParallelParse.Section> children = new ArrayList<>();
+
+        expect(content, start, '{');
+        int index = skipWhitespace(content, start + 1);
+
+        while (index >= content.length() || content.charAt(index) != '}') {
+            expect(content, index, '"');
+            int keyEnd = skipString(content, index);
+
+            int colon = skipWhitespace(content, keyEnd);
+            expect(content, colon, ':');
+
+            int valueStart = skipWhitespace(content, colon + 1);
+            int valueEnd = skipValue(content, valueStart);
+            boolean split = content.charAt(valueStart) == '{' && valueEnd - valueStart > grain;
+
+            starts.add(index);
+            ends.add(valueEnd);
+            keys.add(split ? readString(content, index, keyEnd) : null);
+            children.add(split ? scanObject(content, valueStart, grain) : null);
+
+            index = skipWhitespace(content, valueEnd);
+            if (index < content.length() && content.charAt(index) == '}') break;
+
+            expect(content, index, ',');
+            index = skipWhitespace(content, index + 1);
+        }
+
+        return new ParallelParse.Section(
+                starts.stream().mapToInt(Integer::intValue).toArray(),
+                ends.stream().mapToInt(Integer::intValue).toArray(),
+                keys.toArray(String[]::new),
+                children.toArray(ParallelParse.Section[]::new));
+    }
+
+    private static int skipString(@NotNull String content, int index) {
+        for (int i = index + 1; ; i++) {
+            char c = content.charAt(i);
+            if (c == '\\') i++;
+            else if (c == '"') return i + 1;
+        }
+    }
+
+    private static @NotNull String readString(@NotNull String content, int start, int end) {
+        String raw = content.substring(start + 1, end - 1);
+        return raw.indexOf('\\') < 0 ? raw : JsonParser.parseString(content.substring(start, end)).getAsString();
+    }
+
+    private static void expect(@NotNull String content, int index, char expected) {
+        if (index >= content.length() || content.charAt(index) != expected)
+            throw new IllegalStateException("Expected '" + expected + "' at " + index);
+    }
+
+    /**
+     * JSON object scanned for its keys only. Nested objects and arrays stay
+     * slices of the source text until they are accessed.
+     */
+    private class LazyObject extends LazyMap {
+        private final String content;
+
+        private LazyObject(@NotNull String content, int start) {
+            this.content = content;
+
+            expect(content, start, '{');
+            int index = skipWhitespace(content, start + 1);
+            if (index < content.length() && content.charAt(index) == '}') return;
+
+            while (true) {
+                expect(content, index, '"');
+                int keyEnd = skipString(content, index);
+                String key = readString(content, index, keyEnd);
+
+                index = skipWhitespace(content, keyEnd);
+                expect(content, index, ':');
+
+                int valueStart = skipWhitespace(content, index + 1);
+                int valueEnd = skipValue(content, valueStart);
+                char first = content.charAt(valueStart);
+
+                if (first == '{' || first == '[') putSlice(key, valueStart, valueEnd - valueStart);
+                else putDecoded(key, convertJsonElement(JsonParser.parseString(content.substring(valueStart, valueEnd))));
+
+                index = skipWhitespace(content, valueEnd);
+                if (index < content.length() && content.charAt(index) == '}') return;
+
+                expect(content, index, ',');
+                index = skipWhitespace(content, index + 1);
+            }
+        }
+
+        @Override
+        protected @Nullable Object decode(@NotNull Slice slice) {
+            if (content.charAt(slice.offset()) == '{') return new LazyObject(content, slice.offset());
+
+            String text = content.substring(slice.offset(), slice.offset() + slice.length());
+            return convertJsonElement(JsonParser.parseString(text));
+        }
+
+        private @NotNull String text(@NotNull Slice slice) {
+            return content.substring(slice.offset(), slice.offset() + slice.length());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void setNestedValue(Map<String, Object> data, @NotNull String key, Object value) {
+        String[] parts = key.split("\\.");
+        Map<String, Object> current = data;
+
+        for (int i = 0; i < parts.length - 1; i++) {
+            Object next = current.get(parts[i]);
+            if (!(next instanceof Map)) {
+                Map<String, Object> newMap = new LinkedHashMap<>();
+                current.put(parts[i], newMap);
+                current = newMap;
+            } else {
+                current = (Map<String, Object>) next;
+            }
+        }
+
+        current.put(parts[parts.length - 1], value);
+    }
+
+    /**
+     * Writes lazy objects, copying values that were never decoded verbatim.
+     * Objects read through Gson are scanned like the adapter reads them.
+     */
+    private class LazyObjectAdapterFactory implements TypeAdapterFactory {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (!LazyObject.class.isAssignableFrom(type.getRawType())) return null;
+
+            TypeAdapter<Object> values = gson.getAdapter(Object.class);
+
+            return (TypeAdapter<T>) new TypeAdapter<LazyObject>() {
+                @Override
+                public void write(JsonWriter out, LazyObject object) throws IOException {
+                    if (object == null) {
+                        out.nullValue();
+                        return;
+                    }
+
+                    out.beginObject();
+
+                    for (Map.Entry<String, Object> entry : object.rawEntries()) {
+                        out.name(entry.getKey());
+
+                        if (entry.getValue() instanceof LazyMap.Slice slice) out.jsonValue(object.text(slice));
+                        else values.write(out, entry.getValue());
+                    }
+
+                    out.endObject();
+                }
+
+                @Override
+                public LazyObject read(JsonReader in) throws IOException {
+                    if (in.peek() == JsonToken.NULL) {
+                        in.nextNull();
+                        return null;
+                    }
+
+                    JsonElement element = JsonParser.parseReader(in);
+                    if (!element.isJsonObject()) throw new JsonParseException("Expected an object but was " + element);
+
+                    return new LazyObject(element.toString(), 0);
+                }
+            };
+        }
+    }
+
+    /**
+     * Writes primitive list nodes without boxing their elements.
+     * Integral doubles are written as integers, matching how they are read.
+     * Arrays read through Gson are packed like the adapter reads them.
+     */
+    private class PrimitiveListAdapter extends TypeAdapter<PrimitiveListNode<?>> {
+
+        @Override
+        public void write(JsonWriter out, PrimitiveListNode<?> node) throws IOException {
+            if (node == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginArray();
+            boolean floating = node instanceof DoubleArrayNode;
+
+            for (int i = 0; i < node.size(); i++) {
+                if (!floating) {
+                    out.value(node.getLong(i));
+                    continue;
+                }
+
+                double value = node.getDouble(i);
+                if (Nodes.isIntegral(value)) out.value((long) value);
+                else out.value(value);
+            }
+
+            out.endArray();
+        }
+
+        @Override
+        public PrimitiveListNode<?> read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            JsonElement element = JsonParser.parseReader(in);
+            PrimitiveListNode<?> node = element.isJsonArray() ? convertNumberArray(element.getAsJsonArray()) : null;
+
+            if (node == null) throw new JsonParseException("Expected a non-empty array of numbers but was " + element);
+            return node;
+        }
+    }
+}
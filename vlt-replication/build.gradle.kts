@@ -0,0 +1,11 @@
+dependencies {
+    // provided by the common jar, which already bundles api and leyneck
+    compileOnly(project(":api"))
+    compileOnly(project(":common"))
+    compileOnly(libs.leyneck)
+    compileOnly(libs.jetanno)
+
+    testImplementation(project(":api"))
+    testImplementation(project(":common"))
+    testImplementation(libs.leyneck)
+}
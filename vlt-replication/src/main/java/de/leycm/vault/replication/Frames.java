@@ -0,0 +1,175 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.replication;
+
+import de.leycm.vault.node.TreeCodec;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wire format of the replication protocol. Every frame is a type byte,
+ * the payload length and a payload encoded with {@link TreeCodec}:
+ * <ul>
+ *     <li>{@link #HELLO}, peer to hub: the hub epoch and version it last applied, or -1</li>
+ *     <li>{@link #PUBLISH}, peer to hub: local deltas without versions</li>
+ *     <li>{@link #DELTAS}, hub to peer: the version of the first delta and the deltas</li>
+ *     <li>{@link #SNAPSHOT}, hub to peer: the hub epoch, a version and the whole tree at it</li>
+ * </ul>
+ * The epoch is chosen randomly by every hub instance, so a peer that
+ * reconnects to a restarted hub isn't mistaken as up to date.
+ * Paths within a frame share one string table, so a path written several
+ * times in a batch is only spelled out once.
+ */
+final class Frames {
+
+    static final byte HELLO = 1;
+    static final byte PUBLISH = 2;
+    static final byte DELTAS = 3;
+    static final byte SNAPSHOT = 4;
+
+    private static final int MAX_FRAME = 64 << 20;
+
+    private Frames() {}
+
+    /**
+     * A path and its new value, encoded on its own so it can be logged
+     * and forwarded without encoding it again. A removal encodes null.
+     */
+    record Delta(@NotNull String path, byte @NotNull [] value) {
+
+        static @NotNull Delta of(@NotNull String path, @Nullable Object value) {
+            TreeCodec.Output out = new TreeCodec.Output();
+            out.writeValue(value);
+            return new Delta(path, out.toByteArray());
+        }
+
+        @Nullable Object decode() {
+            return new TreeCodec.Input(value, 0, value.length).readValue();
+        }
+    }
+
+    record Frame(byte type, byte @NotNull [] payload) {
+
+        @NotNull TreeCodec.Input input() {
+            return new TreeCodec.Input(payload, 0, payload.length);
+        }
+    }
+
+    // ==================== Encoding ====================
+
+    static @NotNull Frame hello(long epoch, long version) {
+        TreeCodec.Output out = new TreeCodec.Output();
+        out.writeLong(epoch);
+        out.writeLong(version);
+        return new Frame(HELLO, out.toByteArray());
+    }
+
+    static @NotNull Frame publish(@NotNull List<Delta> deltas) {
+        TreeCodec.Output out = new TreeCodec.Output();
+        writeDeltas(out, deltas);
+        return new Frame(PUBLISH, out.toByteArray());
+    }
+
+    static @NotNull Frame deltas(long first, @NotNull List<Delta> deltas) {
+        TreeCodec.Output out = new TreeCodec.Output();
+        out.writeVarLong(first);
+        writeDeltas(out, deltas);
+        return new Frame(DELTAS, out.toByteArray());
+    }
+
+    static @NotNull Frame snapshot(long epoch, long version, @NotNull Map<String, Object> tree) {
+        TreeCodec.Output out = new TreeCodec.Output();
+        out.writeLong(epoch);
+        out.writeVarLong(version);
+        out.writeValue(tree);
+        return new Frame(SNAPSHOT, out.toByteArray());
+    }
+
+    static @NotNull List<Delta> readDeltas(@NotNull Frame frame, @NotNull TreeCodec.Input in) {
+        int count = in.readLength();
+        List<Delta> deltas = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            String path = in.readString(in.readByte());
+            int length = in.readLength();
+            int start = in.position();
+
+            in.position(start + length);
+            deltas.add(new Delta(path, Arrays.copyOfRange(frame.payload(), start, start + length)));
+        }
+
+        return deltas;
+    }
+
+    private static void writeDeltas(@NotNull TreeCodec.Output out, @NotNull List<Delta> deltas) {
+        out.writeVarLong(deltas.size());
+
+        for (Delta delta : deltas) {
+            out.writeString(delta.path());
+            out.writeVarLong(delta.value().length);
+            out.writeBytes(delta.value(), 0, delta.value().length);
+        }
+    }
+
+    // ==================== Transport ====================
+
+    static void write(@NotNull DataOutputStream out, @NotNull Frame frame) throws IOException {
+        out.writeByte(frame.type());
+        out.writeInt(frame.payload().length);
+        out.write(frame.payload());
+    }
+
+    static @NotNull Frame read(@NotNull DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        int length = in.readInt();
+        if (length < 0 || length > MAX_FRAME) throw new IOException("Invalid frame length " + length);
+
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+        return new Frame(type, payload);
+    }
+
+    static @NotNull ServerSocketChannel bind(@NotNull SocketAddress address) throws IOException {
+        ServerSocketChannel channel = address instanceof UnixDomainSocketAddress
+                ? ServerSocketChannel.open(StandardProtocolFamily.UNIX)
+                : ServerSocketChannel.open();
+
+        channel.bind(address);
+        return channel;
+    }
+
+    static @NotNull SocketChannel connect(@NotNull SocketAddress address) throws IOException {
+        SocketChannel channel = SocketChannel.open(address);
+        if (!(address instanceof UnixDomainSocketAddress)) channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        return channel;
+    }
+
+    static @NotNull DataInputStream input(@NotNull SocketChannel channel) {
+        return new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+    }
+
+    static @NotNull DataOutputStream output(@NotNull SocketChannel channel) {
+        return new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+    }
+}
@@ -0,0 +1,300 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.replication;
+
+import de.leycm.vault.Config;
+import de.leycm.vault.VaultConfig;
+import de.leycm.vault.change.ConfigChange;
+import de.leycm.vault.change.ConfigChangeListener;
+import de.leycm.vault.node.TreeCodec;
+import de.leycm.vault.replication.Frames.Delta;
+import de.leycm.vault.replication.Frames.Frame;
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Peer of a replication group, keeping a {@link VaultConfig} in sync with
+ * a {@link ReplicationServer}.
+ * <p>
+ * Local writes are picked up through a change listener, encoded as
+ * path/value deltas and published in batches; a batch of the config is
+ * published as one frame. Writes block once {@code queueCapacity} deltas
+ * are waiting to be sent, which pushes back on writers while the hub is
+ * slow or unreachable. Deltas from the hub are applied in version order as
+ * one batch per frame, without reading or parsing the config file.
+ * </p>
+ * The client reconnects on its own and then receives everything it missed,
+ * either as deltas or as a snapshot. On its first connection the config is
+ * replaced by the hub's tree. A local write with a value that can't be
+ * replicated has already been committed when the listener sees it, so it
+ * is logged and the client reconnects for a snapshot, which replaces the
+ * diverged value with the hub's.
+ */
+public final class ReplicationClient implements Closeable {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 4096;
+
+    private static final int MAX_BATCH = 512;
+    private static final long MAX_BACKOFF_MILLIS = 5000;
+    private static final System.Logger LOGGER = System.getLogger(ReplicationClient.class.getName());
+
+    private final VaultConfig config;
+    private final SocketAddress hub;
+    private final BlockingQueue<Delta> outgoing;
+    private final ConfigChangeListener listener = this::onChange;
+
+    private final List<Delta> unsent = new ArrayList<>(); // guarded by writeLock
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile long epoch;
+    private volatile long version = -1;
+    private volatile @Nullable Thread applier;
+    private volatile @Nullable SocketChannel channel;
+    private volatile boolean resync;
+    private volatile boolean closed;
+
+    public ReplicationClient(@NonNull VaultConfig config, @NonNull SocketAddress hub) {
+        this(config, hub, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param queueCapacity the number of local deltas waiting to be sent before writes block
+     */
+    public ReplicationClient(@NonNull VaultConfig config, @NonNull SocketAddress hub, int queueCapacity) {
+        this.config = config;
+        this.hub = hub;
+        this.outgoing = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Starts listening for local changes and connects to the hub in the background.
+     */
+    public void start() {
+        config.addChangeListener(listener);
+        Thread.startVirtualThread(this::run);
+    }
+
+    /**
+     * Returns the version of the last delta applied from the hub, or -1 before the first sync.
+     */
+    public long version() {
+        return version;
+    }
+
+    public boolean isConnected() {
+        SocketChannel current = channel;
+        return current != null && current.isConnected();
+    }
+
+    /**
+     * Stops replicating. Local deltas that weren't sent yet are dropped.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        config.removeChangeListener(listener);
+
+        SocketChannel current = channel;
+        if (current != null) current.close();
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    /**
+     * Encodes local changes right away, so later in-place changes of the
+     * stored value don't leak into the delta.
+     */
+    private void onChange(@NotNull Config source, @NotNull List<ConfigChange> changes) {
+        if (closed || Thread.currentThread() == applier) return;
+
+        List<Delta> deltas = new ArrayList<>(changes.size());
+        for (ConfigChange change : changes) {
+            try {
+                deltas.add(Delta.of(change.path(), change.newValue()));
+            } catch (IllegalArgumentException e) {
+                // the write is committed locally, so throwing would only hide the divergence
+                LOGGER.log(System.Logger.Level.WARNING, "Value at " + change.path() + " of "
+                        + config.file() + " can't be replicated, resyncing from the hub", e);
+                requestResync();
+                return;
+            }
+        }
+
+        try {
+            for (Delta delta : deltas) outgoing.put(delta);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing deltas for replication", e);
+        }
+    }
+
+    private void run() {
+        long backoff = 100;
+
+        while (!closed) {
+            try (SocketChannel current = Frames.connect(hub)) {
+                channel = current;
+                backoff = 100;
+                session(current);
+            } catch (IOException | RuntimeException e) {
+                // reconnect below, the hub sends whatever was missed
+            } finally {
+                channel = null;
+            }
+
+            if (closed) return;
+
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                return;
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    private void session(@NotNull SocketChannel current) throws IOException {
+        DataInputStream in = Frames.input(current);
+        DataOutputStream out = Frames.output(current);
+
+        // a version of -1 makes the hub answer with a snapshot
+        boolean full = resync;
+        resync = false;
+
+        Frames.write(out, Frames.hello(epoch, full ? -1 : version));
+        out.flush();
+
+        Thread writer = Thread.startVirtualThread(() -> write(current, out));
+
+        try {
+            while (!closed) {
+                Frame frame = Frames.read(in);
+
+                switch (frame.type()) {
+                    case Frames.DELTAS -> applyDeltas(frame);
+                    case Frames.SNAPSHOT -> applySnapshot(frame);
+                    default -> throw new IOException("Unexpected frame " + frame.type());
+                }
+            }
+        } finally {
+            writer.interrupt();
+        }
+    }
+
+    /**
+     * Sends the queued deltas, up to {@value #MAX_BATCH} per frame. A batch
+     * that failed to send is sent again on the next connection.
+     */
+    private void write(@NotNull SocketChannel current, @NotNull DataOutputStream out) {
+        try {
+            while (current.isOpen()) {
+                // a lock instead of a monitor, so waiting doesn't pin the carrier thread
+                writeLock.lockInterruptibly();
+                try {
+                    if (unsent.isEmpty()) {
+                        Delta first = outgoing.poll(1, TimeUnit.SECONDS);
+                        if (first == null) continue;
+
+                        unsent.add(first);
+                        outgoing.drainTo(unsent, MAX_BATCH - 1);
+                    }
+
+                    Frames.write(out, Frames.publish(unsent));
+                    out.flush();
+                    unsent.clear();
+                } finally {
+                    writeLock.unlock();
+                }
+            }
+        } catch (IOException e) {
+            closeQuietly(current);
+        } catch (InterruptedException ignored) {
+            // the connection ended
+        }
+    }
+
+    private void applyDeltas(@NotNull Frame frame) throws IOException {
+        TreeCodec.Input in = frame.input();
+        long first = in.readVarLong();
+        List<Delta> deltas = Frames.readDeltas(frame, in);
+
+        if (first + deltas.size() - 1 <= version) return;
+        if (first != version + 1) throw new IOException("Missed versions " + (version + 1) + " to " + (first - 1));
+
+        applying(() -> config.batch(tx -> {
+            for (Delta delta : deltas) tx.set(delta.path(), delta.decode());
+        }));
+        version = first + deltas.size() - 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void applySnapshot(@NotNull Frame frame) {
+        TreeCodec.Input in = frame.input();
+        long snapshotEpoch = in.readLong();
+        long snapshotVersion = in.readVarLong();
+        Map<String, Object> tree = (Map<String, Object>) in.readValue();
+
+        applying(() -> config.batch(tx -> {
+            for (String key : config.keys("").toList())
+                if (tree == null || !tree.containsKey(key)) tx.set(key, null);
+
+            if (tree != null) tree.forEach(tx::set);
+        }));
+
+        epoch = snapshotEpoch;
+        version = snapshotVersion;
+    }
+
+    /**
+     * Runs the update with the listener muted for this thread, so applied
+     * deltas aren't published back to the hub.
+     */
+    private void applying(@NotNull Runnable update) {
+        applier = Thread.currentThread();
+        try {
+            update.run();
+        } finally {
+            applier = null;
+        }
+    }
+
+    /**
+     * Drops the connection, so the client reconnects and asks for a snapshot.
+     */
+    private void requestResync() {
+        resync = true;
+
+        SocketChannel current = channel;
+        if (current != null) closeQuietly(current);
+    }
+
+    private static void closeQuietly(@NotNull SocketChannel current) {
+        try {
+            current.close();
+        } catch (IOException ignored) {
+            // already closed
+        }
+    }
+}
@@ -0,0 +1,302 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.replication;
+
+import de.leycm.vault.node.TreeCodec;
+import de.leycm.vault.replication.Frames.Delta;
+import de.leycm.vault.replication.Frames.Frame;
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hub of a replication group. Peers publish their local changes to the
+ * hub, which numbers them with consecutive versions and forwards them to
+ * every peer, the publisher included, so all peers apply the same changes
+ * in the same order.
+ * <p>
+ * The hub keeps the replicated tree and a log of the most recent deltas.
+ * A connecting peer receives the deltas after the version it last applied,
+ * or a snapshot of the tree if the log doesn't reach back that far. A peer
+ * that can't keep up with its queue of outgoing frames is dropped back to
+ * a snapshot as well, so a slow peer never blocks the others.
+ * </p>
+ * Addresses may be TCP addresses or Unix domain socket addresses.
+ */
+public final class ReplicationServer implements Closeable {
+
+    public static final int DEFAULT_LOG_SIZE = 16384;
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private static final Frame RESYNC = new Frame((byte) 0, new byte[0]);
+
+    private final SocketAddress address;
+    private final int logSize;
+    private final int queueCapacity;
+    private final long epoch = new Random().nextLong();
+
+    private final Map<String, Object> tree; // guarded by this
+    private final ArrayDeque<Delta> log = new ArrayDeque<>(); // guarded by this
+    private long version; // guarded by this
+
+    private final Set<Peer> peers = ConcurrentHashMap.newKeySet();
+    private volatile @Nullable ServerSocketChannel channel;
+
+    /**
+     * Creates a hub serving a copy of the initial tree.
+     */
+    public ReplicationServer(@NonNull SocketAddress address, @NonNull Map<String, Object> initial) {
+        this(address, initial, DEFAULT_LOG_SIZE, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param logSize the number of deltas kept for catching up peers
+     * @param queueCapacity the number of frames queued per peer before it falls back to a snapshot
+     */
+    public ReplicationServer(@NonNull SocketAddress address, @NonNull Map<String, Object> initial,
+                             int logSize, int queueCapacity) {
+        if (logSize < 1) throw new IllegalArgumentException("Log size must be positive: " + logSize);
+        if (queueCapacity < 2) throw new IllegalArgumentException("Queue capacity must be at least 2: " + queueCapacity);
+
+        byte[] copy = TreeCodec.encode(initial);
+
+        this.address = address;
+        this.logSize = logSize;
+        this.queueCapacity = queueCapacity;
+        this.tree = TreeCodec.decode(copy, 0, copy.length);
+    }
+
+    /**
+     * Binds the address and starts accepting peers.
+     *
+     * @throws IOException if the address can't be bound
+     */
+    public synchronized void start() throws IOException {
+        if (channel != null) throw new IllegalStateException("Server already started");
+
+        ServerSocketChannel server = Frames.bind(address);
+        channel = server;
+        Thread.startVirtualThread(() -> accept(server));
+    }
+
+    /**
+     * Returns the bound address, which differs from the configured one for port 0.
+     */
+    public @NonNull SocketAddress localAddress() throws IOException {
+        ServerSocketChannel server = channel;
+        if (server == null) throw new IllegalStateException("Server not started");
+        return server.getLocalAddress();
+    }
+
+    /**
+     * Returns the version of the last delta the hub accepted.
+     */
+    public synchronized long version() {
+        return version;
+    }
+
+    /**
+     * Returns the number of connected peers.
+     */
+    public int peers() {
+        return peers.size();
+    }
+
+    /**
+     * Stops accepting peers and disconnects all connected ones.
+     */
+    @Override
+    public void close() throws IOException {
+        ServerSocketChannel server = channel;
+        channel = null;
+
+        for (Peer peer : peers) peer.close();
+        if (server != null) server.close();
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private void accept(@NotNull ServerSocketChannel server) {
+        while (server.isOpen()) {
+            try {
+                Peer peer = new Peer(server.accept());
+                Thread.startVirtualThread(peer::read);
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Applies and numbers the deltas, then forwards them as one frame.
+     */
+    private synchronized void publish(@NotNull List<Delta> deltas) {
+        if (deltas.isEmpty()) return;
+
+        long first = version + 1;
+
+        for (Delta delta : deltas) {
+            apply(delta);
+            log.addLast(delta);
+            if (log.size() > logSize) log.removeFirst();
+        }
+
+        version += deltas.size();
+
+        Frame frame = Frames.deltas(first, deltas);
+        for (Peer peer : peers) peer.send(frame);
+    }
+
+    /**
+     * Queues what the peer is missing and registers it for new deltas.
+     */
+    private synchronized void join(@NotNull Peer peer, long epoch, long since) {
+        long missing = version - since;
+
+        if (epoch != this.epoch || since < 0 || missing < 0 || missing > log.size()) {
+            peer.send(RESYNC);
+        } else if (missing > 0) {
+            List<Delta> deltas = new ArrayList<>((int) missing);
+            Iterator<Delta> it = log.descendingIterator();
+            for (int i = 0; i < missing; i++) deltas.add(it.next());
+
+            Collections.reverse(deltas);
+            peer.send(Frames.deltas(since + 1, deltas));
+        }
+
+        peers.add(peer);
+    }
+
+    private synchronized @NotNull Frame snapshot(@NotNull Peer peer) {
+        peer.resync = false;
+        return Frames.snapshot(epoch, version, tree);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void apply(@NotNull Delta delta) {
+        String[] parts = delta.path().split("\\.");
+        Object value = delta.decode();
+        Map<String, Object> current = tree;
+
+        for (int i = 0; i < parts.length - 1; i++) {
+            Object next = current.get(parts[i]);
+
+            if (!(next instanceof Map)) {
+                if (value == null) return;
+
+                next = new LinkedHashMap<String, Object>();
+                current.put(parts[i], next);
+            }
+
+            current = (Map<String, Object>) next;
+        }
+
+        if (value == null) current.remove(parts[parts.length - 1]);
+        else current.put(parts[parts.length - 1], value);
+    }
+
+    // ==================== Helper Classes ====================
+
+    /**
+     * Connection to a peer with a bounded queue of outgoing frames,
+     * written by its own thread.
+     */
+    private final class Peer {
+        private final SocketChannel channel;
+        private final BlockingQueue<Frame> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private boolean resync; // guarded by the server
+
+        private Peer(@NotNull SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Queues a frame, called with the server lock held. A full queue is
+         * replaced by a single snapshot, taken once the writer gets to it.
+         */
+        private void send(@NotNull Frame frame) {
+            if (resync) return;
+
+            if (frame == RESYNC || !queue.offer(frame)) {
+                resync = true;
+                queue.clear();
+                queue.offer(RESYNC);
+            }
+        }
+
+        private void read() {
+            try (channel) {
+                DataInputStream in = Frames.input(channel);
+
+                Frame hello = Frames.read(in);
+                if (hello.type() != Frames.HELLO) throw new IOException("Expected hello, got frame " + hello.type());
+
+                TreeCodec.Input input = hello.input();
+                join(this, input.readLong(), input.readLong());
+                Thread.startVirtualThread(this::write);
+
+                while (true) {
+                    Frame frame = Frames.read(in);
+                    if (frame.type() != Frames.PUBLISH) throw new IOException("Unexpected frame " + frame.type());
+
+                    publish(Frames.readDeltas(frame, frame.input()));
+                }
+            } catch (IOException | RuntimeException e) {
+                // the peer disconnected or sent garbage, it resyncs when it reconnects
+            } finally {
+                peers.remove(this);
+            }
+        }
+
+        private void write() {
+            try {
+                DataOutputStream out = Frames.output(channel);
+
+                while (channel.isOpen()) {
+                    Frame frame = queue.poll(1, TimeUnit.SECONDS);
+                    if (frame == null) continue;
+                    if (frame == RESYNC) frame = snapshot(this);
+
+                    Frames.write(out, frame);
+                    if (queue.isEmpty()) out.flush();
+                }
+            } catch (IOException e) {
+                close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+            }
+        }
+
+        private void close() {
+            peers.remove(this);
+
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // already closed
+            }
+        }
+    }
+}
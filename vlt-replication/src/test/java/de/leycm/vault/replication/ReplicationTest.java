@@ -0,0 +1,187 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.replication;
+
+import de.leycm.vault.VaultConfig;
+import de.leycm.vault.VaultFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs a hub and its peers over loopback.
+ */
+class ReplicationTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @TempDir
+    Path dir;
+
+    private final List<Closeable> resources = new ArrayList<>();
+
+    @AfterEach
+    void closeAll() throws IOException {
+        for (int i = resources.size() - 1; i >= 0; i--) resources.get(i).close();
+    }
+
+    @Test
+    void clientsSyncThroughHub() throws Exception {
+        ReplicationServer server = server(loopback(), Map.of("motd", "hello"));
+
+        VaultConfig first = config("first");
+        VaultConfig second = config("second");
+        ReplicationClient firstClient = client(first, server.localAddress());
+        ReplicationClient secondClient = client(second, server.localAddress());
+
+        await(() -> firstClient.version() >= 0 && secondClient.version() >= 0, "initial snapshot");
+        assertEquals("hello", first.data().get("motd"));
+        assertEquals("hello", second.data().get("motd"));
+
+        first.set("players.alice.level", 7L);
+        await(() -> Objects.equals(second.getOptional("players.alice.level", Long.class).orElse(null), 7L),
+                "write of first peer");
+
+        second.batch(tx -> {
+            tx.set("players.bob.level", 3L);
+            tx.set("motd", null);
+        });
+        await(() -> !first.contains("motd") && first.contains("players.bob.level"), "batch of second peer");
+
+        assertEquals(first.data(), second.data());
+    }
+
+    @Test
+    void deltasApplyInHubOrder() throws Exception {
+        ReplicationServer server = server(loopback(), Map.of());
+
+        VaultConfig first = config("first");
+        VaultConfig second = config("second");
+        ReplicationClient firstClient = client(first, server.localAddress());
+        ReplicationClient secondClient = client(second, server.localAddress());
+        await(() -> firstClient.version() >= 0 && secondClient.version() >= 0, "initial snapshot");
+
+        List<Object> seen = Collections.synchronizedList(new ArrayList<>());
+        second.addChangeListener((source, changes) -> changes.stream()
+                .filter(change -> change.path().equals("counter"))
+                .forEach(change -> seen.add(change.newValue())));
+
+        int writes = 500;
+        Thread other = Thread.startVirtualThread(() -> {
+            for (int i = 0; i < writes; i++) second.set("shared", "second-" + i);
+        });
+
+        for (int i = 1; i <= writes; i++) {
+            first.set("counter", (long) i);
+            first.set("shared", "first-" + i);
+        }
+        other.join();
+
+        long total = 3L * writes;
+        await(() -> server.version() == total && firstClient.version() == total
+                && secondClient.version() == total, "all deltas applied");
+
+        // both peers applied the same deltas in the same order, so they agree on the contended key
+        assertEquals(first.data(), second.data());
+        assertEquals((long) writes, second.data().get("counter"));
+
+        List<Object> counters = new ArrayList<>(seen);
+        for (int i = 1; i < counters.size(); i++)
+            assertTrue((Long) counters.get(i - 1) < (Long) counters.get(i), "counter went back: " + counters);
+    }
+
+    @Test
+    void reconnectToRestartedHubResyncs() throws Exception {
+        SocketAddress address = UnixDomainSocketAddress.of(dir.resolve("hub.sock"));
+        ReplicationServer server = server(address, Map.of("generation", 1L));
+
+        VaultConfig config = config("peer");
+        ReplicationClient client = client(config, address);
+        await(() -> Objects.equals(config.data().get("generation"), 1L), "initial snapshot");
+
+        config.set("local", "lost on resync");
+        await(() -> server.version() == 1 && client.version() == 1, "local write published");
+
+        server.close();
+        resources.remove(server);
+        Files.deleteIfExists(dir.resolve("hub.sock"));
+
+        // a new hub has a new epoch, so the peer can't catch up with deltas
+        ReplicationServer restarted = server(address, Map.of("generation", 2L));
+        await(() -> restarted.peers() == 1 && Objects.equals(config.data().get("generation"), 2L),
+                "resync from restarted hub");
+        assertFalse(config.contains("local"));
+        assertTrue(client.isConnected());
+    }
+
+    @Test
+    void unencodableValueResyncsInsteadOfThrowing() throws Exception {
+        ReplicationServer server = server(loopback(), Map.of("kept", "hub"));
+
+        VaultConfig config = config("peer");
+        ReplicationClient client = client(config, server.localAddress());
+        await(() -> client.version() >= 0, "initial snapshot");
+
+        config.set("broken", new Object());
+        await(() -> !config.contains("broken") && client.isConnected(), "resync replacing the local value");
+
+        assertEquals("hub", config.data().get("kept"));
+        assertEquals(0, server.version());
+    }
+
+    // ==================== Helper Methods ====================
+
+    private static SocketAddress loopback() {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+    }
+
+    private ReplicationServer server(SocketAddress address, Map<String, Object> tree) throws IOException {
+        ReplicationServer server = new ReplicationServer(address, tree);
+        server.start();
+        resources.add(server);
+        return server;
+    }
+
+    private VaultConfig config(String name) throws IOException {
+        File directory = Files.createDirectories(dir.resolve(name)).toFile();
+        return new VaultConfig(new File(directory, "config.json"), new LinkedHashMap<>(), new VaultFactory(directory));
+    }
+
+    private ReplicationClient client(VaultConfig config, SocketAddress hub) {
+        ReplicationClient client = new ReplicationClient(config, hub);
+        client.start();
+        resources.add(client);
+        return client;
+    }
+
+    private static void await(BooleanSupplier condition, String description) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail("Timed out waiting for " + description);
+            Thread.sleep(10);
+        }
+    }
+}
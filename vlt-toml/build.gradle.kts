@@ -0,0 +1,13 @@
+dependencies {
+    // provided by the common jar, which already bundles api and leyneck
+    compileOnly(project(":api"))
+    compileOnly(project(":common"))
+    compileOnly(libs.leyneck)
+    compileOnly(libs.jetanno)
+    implementation(libs.toml4j)
+
+    testImplementation(project(":api"))
+    testImplementation(project(":common"))
+    testImplementation(libs.leyneck)
+    testImplementation(testFixtures(project(":common")))
+}
@@ -13,10 +13,14 @@ package de.leycm.vault.adapter.file;
 import com.moandjiezana.toml.Toml;
 import com.moandjiezana.toml.TomlWriter;
 import de.leycm.vault.adapter.ConfigFileAdapter;
+import de.leycm.vault.jfr.AdapterReadEvent;
+import de.leycm.vault.jfr.AdapterWriteEvent;
+import de.leycm.vault.node.Nodes;
 import lombok.NonNull;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -27,7 +31,13 @@ import java.util.regex.Pattern;
  */
 public class TomlConfigAdapter implements ConfigFileAdapter {
 
-    private final TomlWriter writer;
+    private static final String FORMAT = "toml";
+
+    // emit buffers that grew beyond this are dropped instead of pooled
+    private static final int MAX_RETAINED_BUFFER = 1 << 20;
+
+    // writers are pooled with their buffers, so concurrent saves never share one
+    private final InstancePool<PooledWriter> pool = new InstancePool<>(PooledWriter::new);
 
      
     private static final Pattern SECTION_PATTERN = Pattern.compile("^\\[(.*?)]\\s*$");
@@ -35,8 +45,8 @@ public class TomlConfigAdapter implements ConfigFileAdapter {
     private static final Pattern COMMENT_PATTERN = Pattern.compile("^\\s*#(.*)$");
     private static final Pattern INLINE_COMMENT_PATTERN = Pattern.compile("^(.*?)\\s*#(.*)$");
 
-    public TomlConfigAdapter() {
-        this.writer = new TomlWriter.Builder()
+    private static @NotNull TomlWriter createWriter() {
+        return new TomlWriter.Builder()
                 .indentValuesBy(2)
                 .indentTablesBy(0)
                 .padArrayDelimitersBy(1)
@@ -49,29 +59,57 @@ public class TomlConfigAdapter implements ConfigFileAdapter {
             return new LinkedHashMap<>();
         }
 
+        AdapterReadEvent event = new AdapterReadEvent(FORMAT);
+        event.begin();
+
         try {
             Toml toml = new Toml().read(content);
-            return toml.toMap();
+            Map<String, Object> data = toml.toMap();
+            Nodes.packNumbers(data);
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.characters = content.length();
+                event.commit();
+            }
+
+            return data;
         } catch (Exception e) {
             throw new IOException("Invalid TOML: " + e.getMessage(), e);
         }
     }
 
     @Override
-    public String write(String current, Map<String, Object> data) {
-         
-        if (current == null || current.trim().isEmpty()) {
-            return writer.write(data);
+    public String write(String current, Map<String, Object> data) throws IOException {
+        AdapterWriteEvent event = new AdapterWriteEvent(FORMAT);
+        event.begin();
+
+        PooledWriter pooled = pool.borrow();
+        pooled.writer.write(data, pooled.buffer);
+        String result = pooled.buffer.toString();
+
+        StringBuffer buffer = pooled.buffer.getBuffer();
+        if (buffer.capacity() <= MAX_RETAINED_BUFFER) {
+            buffer.setLength(0);
+            pool.release(pooled);
         }
 
-         
-        TomlCommentMap commentMap = parseComments(current);
+        if (current != null && !current.trim().isEmpty()) {
+            long mergeStart = event.isEnabled() ? System.nanoTime() : 0;
 
-         
-        String newToml = writer.write(data);
+            TomlCommentMap commentMap = parseComments(current);
+            result = mergeCommentsWithToml(result, commentMap);
 
-         
-        return mergeCommentsWithToml(newToml, commentMap);
+            if (event.isEnabled()) event.commentMergeDuration = System.nanoTime() - mergeStart;
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.characters = result.length();
+            event.commit();
+        }
+
+        return result;
     }
 
     @Override
@@ -250,6 +288,14 @@ public class TomlConfigAdapter implements ConfigFileAdapter {
     }
 
 
+    /**
+     * A TomlWriter with the buffer it writes into, reused across calls.
+     */
+    private static final class PooledWriter {
+        private final TomlWriter writer = createWriter();
+        private final StringWriter buffer = new StringWriter();
+    }
+
     private static class TomlCommentMap {
         private final Map<String, List<String>> sectionComments = new LinkedHashMap<>();
         private final Map<String, List<String>> keyComments = new LinkedHashMap<>();
@@ -0,0 +1,21 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.adapter.file;
+
+/**
+ * Runs the shared concurrency stress test against the TOML adapter.
+ */
+class TomlConfigAdapterConcurrencyTest extends ConfigFileAdapterConcurrencyTest {
+
+    TomlConfigAdapterConcurrencyTest() {
+        super(new TomlConfigAdapter(), "key = [unclosed");
+    }
+}
@@ -0,0 +1,30 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.adapter.file;
+
+import de.leycm.vault.adapter.ConfigFileAdapter;
+import de.leycm.vault.adapter.ConfigFileAdapterProvider;
+
+/**
+ * Provides the YAML adapter for the {@code yml} and {@code yaml} extensions.
+ */
+public final class YamlAdapterProvider implements ConfigFileAdapterProvider {
+
+    @Override
+    public String[] extensions() {
+        return new String[] {"yml", "yaml"};
+    }
+
+    @Override
+    public ConfigFileAdapter create() {
+        return new YamlConfigAdapter();
+    }
+}
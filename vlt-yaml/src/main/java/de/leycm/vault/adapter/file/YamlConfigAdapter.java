@@ -0,0 +1,612 @@
+/**
+ * LECP-LICENSE NOTICE
+ * <br><br>
+ * This Sourcecode is under the LECP-LICENSE. <br>
+ * License at: <a href="https://github.com/leycm/leycm/blob/main/LICENSE">GITHUB</a>
+ * <br><br>
+ * Copyright (c) LeyCM <leycm@proton.me> <br>
+ * Copyright (c) maintainers <br>
+ * Copyright (c) contributors
+ */
+package de.leycm.vault.adapter.file;
+
+import de.leycm.vault.adapter.ConfigFileAdapter;
+import de.leycm.vault.jfr.AdapterReadEvent;
+import de.leycm.vault.jfr.AdapterWriteEvent;
+import de.leycm.vault.node.Nodes;
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.serializer.NumberAnchorGenerator;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class YamlConfigAdapter implements ConfigFileAdapter {
+
+    private static final String FORMAT = "yaml";
+
+    // emit buffers that grew beyond this are dropped instead of pooled
+    private static final int MAX_RETAINED_BUFFER = 1 << 20;
+
+    // Yaml instances aren't thread-safe, so every call borrows its own
+    private final InstancePool<PooledYaml> pool = new InstancePool<>(PooledYaml::new);
+    private static final Pattern KEY_PATTERN = Pattern.compile("^(\\s*)([a-zA-Z0-9_-]+):\\s*(.*)$");
+    private static final Pattern COMMENT_PATTERN = Pattern.compile("^(\\s*)#(.*)$");
+
+    // chunks stay well below the code point limit SnakeYAML enforces per document
+    private static final int MAX_CHUNK = 1 << 20;
+    private static final Pattern SIMPLE_KEY = Pattern.compile("[A-Za-z_][A-Za-z0-9_-]*");
+    private static final Set<String> RESERVED_KEYS = Set.of("yes", "no", "on", "off", "true", "false", "null");
+
+    private static @NotNull DumperOptions createOptions() {
+        DumperOptions options = new DumperOptions();
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        options.setPrettyFlow(true);
+        options.setIndent(2);
+        options.setWidth(120); // Verhindert unnötiges Line-Wrapping
+        return options;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> read(String content) throws IOException {
+        if (content == null || content.trim().isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+
+        AdapterReadEvent event = new AdapterReadEvent(FORMAT);
+        event.begin();
+
+        try {
+            PooledYaml pooled = pool.borrow();
+            Object loaded = pooled.yaml.load(content);
+            pool.release(pooled);
+
+            Map<String, Object> data = new LinkedHashMap<>();
+
+            if (loaded instanceof Map) {
+                data = (Map<String, Object>) loaded;
+                Nodes.packNumbers(data);
+            }
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.characters = content.length();
+                event.commit();
+            }
+
+            return data;
+        } catch (Exception e) {
+            throw new IOException("Invalid YAML", e);
+        }
+    }
+
+    /**
+     * Scans the root mapping line by line and loads runs of its entries as
+     * separate documents on the pool. Nested mappings larger than a chunk
+     * are split the same way. Documents using constructs that can't be
+     * split by indentation alone, like anchors, tags or multi-line flow
+     * values, are loaded as a whole.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> readParallel(byte[] content, ForkJoinPool pool) throws IOException {
+        String text = new String(content, StandardCharsets.UTF_8);
+        Lines lines = Lines.scan(text);
+
+        int grain = ParallelParse.grain(text.length(), pool, MAX_CHUNK);
+        ParallelParse.Section root = lines != null ? lines.section(0, lines.size(), grain) : null;
+        if (root == null || root.size() == 0) return read(text);
+
+        AdapterReadEvent event = new AdapterReadEvent(FORMAT);
+        event.begin();
+
+        Map<String, Object> data;
+        try {
+            data = ParallelParse.parse(pool, root, grain, (section, from, to) -> {
+                String chunk = text.substring(section.starts()[from], section.ends()[to - 1]);
+
+                try {
+                    PooledYaml pooled = this.pool.borrow();
+                    Object loaded = pooled.yaml.load(chunk);
+                    this.pool.release(pooled);
+
+                    if (!(loaded instanceof Map)) throw new IOException("Chunk is not a mapping");
+
+                    Map<String, Object> map = (Map<String, Object>) loaded;
+                    Nodes.packNumbers(map);
+                    return map;
+                } catch (RuntimeException e) {
+                    throw new IOException("Invalid YAML", e);
+                }
+            });
+        } catch (IOException e) {
+            // the scan missed a construct spanning entries, the whole document decides
+            return read(text);
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.characters = text.length();
+            event.commit();
+        }
+
+        return data;
+    }
+
+    @Override
+    public String write(String current, Map<String, Object> data) {
+        AdapterWriteEvent event = new AdapterWriteEvent(FORMAT);
+        event.begin();
+
+        PooledYaml pooled = pool.borrow();
+        // the generator counts across dumps, anchors restart at id001 in every document
+        pooled.options.setAnchorGenerator(new NumberAnchorGenerator(0));
+        pooled.yaml.dump(data, pooled.buffer);
+        String result = pooled.buffer.toString();
+
+        StringBuffer buffer = pooled.buffer.getBuffer();
+        if (buffer.capacity() <= MAX_RETAINED_BUFFER) {
+            buffer.setLength(0);
+            pool.release(pooled);
+        }
+
+        if (current != null && !current.trim().isEmpty()) {
+            long mergeStart = event.isEnabled() ? System.nanoTime() : 0;
+
+            CommentMap commentMap = parseComments(current);
+            result = mergeCommentsWithYaml(result, commentMap);
+
+            if (event.isEnabled()) event.commentMergeDuration = System.nanoTime() - mergeStart;
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.characters = result.length();
+            event.commit();
+        }
+
+        return result;
+    }
+
+    @Override
+    public String updateValue(String current, String key, Object value) throws IOException {
+        Map<String, Object> data = read(current);
+        setNestedValue(data, key, value);
+        return write(current, data);
+    }
+
+    // ==================== Comment Preservation Logic ====================
+
+    private @NotNull CommentMap parseComments(@NotNull String content) {
+        CommentMap map = new CommentMap();
+        String[] lines = content.split("\n");
+
+        List<String> pendingComments = new ArrayList<>();
+        String lastKey = null;
+        int lastIndent = -1;
+
+        for (String line : lines) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+
+            Matcher commentMatcher = COMMENT_PATTERN.matcher(line);
+            Matcher keyMatcher = KEY_PATTERN.matcher(line);
+
+            if (commentMatcher.matches()) {
+                pendingComments.add(line);
+            } else if (keyMatcher.matches()) {
+                // Key gefunden
+                int indent = keyMatcher.group(1).length();
+                String key = keyMatcher.group(2);
+
+                // Bestimme vollständigen Pfad basierend auf Indent
+                String fullKey = buildKeyPath(key, indent, lastKey, lastIndent);
+
+                // Füge pending Kommentare diesem Key hinzu
+                if (!pendingComments.isEmpty()) {
+                    map.addComments(fullKey, pendingComments);
+                    pendingComments = new ArrayList<>();
+                }
+
+                lastKey = fullKey;
+                lastIndent = indent;
+            }
+        }
+
+        // Header-Kommentare (ganz oben, vor erstem Key)
+        if (!pendingComments.isEmpty()) {
+            map.setHeaderComments(pendingComments);
+        }
+
+        return map;
+    }
+
+    /**
+     * Baut den vollständigen Key-Pfad basierend auf Indentation
+     */
+    private String buildKeyPath(String currentKey, int currentIndent, String lastKey, int lastIndent) {
+        if (lastKey == null || currentIndent == 0) {
+            return currentKey;
+        }
+
+        if (currentIndent > lastIndent) {
+            // Tiefer verschachtelt
+            return lastKey + "." + currentKey;
+        } else if (currentIndent == lastIndent) {
+            // Gleiche Ebene
+            int lastDot = lastKey.lastIndexOf('.');
+            if (lastDot == -1) {
+                return currentKey;
+            }
+            return lastKey.substring(0, lastDot + 1) + currentKey;
+        } else {
+            // Weniger verschachtelt - zurück zur höheren Ebene
+            String[] parts = lastKey.split("\\.");
+            int levels = (lastIndent - currentIndent) / 2;
+            int newDepth = Math.max(0, parts.length - levels - 1);
+
+            if (newDepth == 0) {
+                return currentKey;
+            }
+
+            StringBuilder result = new StringBuilder();
+            for (int i = 0; i < newDepth; i++) {
+                if (i > 0) result.append(".");
+                result.append(parts[i]);
+            }
+            result.append(".").append(currentKey);
+            return result.toString();
+        }
+    }
+
+    private @NonNull String mergeCommentsWithYaml(@NonNull String yamlContent, @NonNull CommentMap commentMap) {
+        String[] lines = yamlContent.split("\n");
+        StringBuilder result = new StringBuilder();
+
+        List<String> headerComments = commentMap.getHeaderComments();
+        if (headerComments != null && !headerComments.isEmpty()) {
+            for (String comment : headerComments) {
+                result.append(comment).append("\n");
+            }
+        }
+
+        String currentPath = "";
+        int lastIndent = -1;
+
+        for (String line : lines) {
+            if (line.trim().isEmpty()) {
+                result.append(line).append("\n");
+                continue;
+            }
+
+            Matcher keyMatcher = KEY_PATTERN.matcher(line);
+
+            if (keyMatcher.matches()) {
+                int indent = keyMatcher.group(1).length();
+                String key = keyMatcher.group(2);
+
+                currentPath = buildKeyPath(key, indent, currentPath, lastIndent);
+                lastIndent = indent;
+
+                List<String> comments = commentMap.getComments(currentPath);
+                if (comments != null && !comments.isEmpty()) {
+                    for (String comment : comments) {
+                        result.append(comment).append("\n");
+                    }
+                }
+            }
+
+            result.append(line).append("\n");
+        }
+
+        return result.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void setNestedValue(Map<String, Object> data, @NotNull String key, Object value) {
+        String[] parts = key.split("\\.");
+        Map<String, Object> current = data;
+
+        for (int i = 0; i < parts.length - 1; i++) {
+            Object next = current.get(parts[i]);
+            if (!(next instanceof Map)) {
+                Map<String, Object> newMap = new LinkedHashMap<>();
+                current.put(parts[i], newMap);
+                current = newMap;
+            } else {
+                current = (Map<String, Object>) next;
+            }
+        }
+
+        current.put(parts[parts.length - 1], value);
+    }
+
+    // ==================== Helper Classes ====================
+
+    /**
+     * A Yaml instance with the buffer it dumps into, reused across calls.
+     */
+    private static final class PooledYaml {
+        private final DumperOptions options = createOptions();
+        private final Yaml yaml = new Yaml(options);
+        private final StringWriter buffer = new StringWriter();
+    }
+
+    /**
+     * Line table of a document for splitting its mappings by indentation.
+     */
+    private static final class Lines {
+        private final String text;
+        private final int[] starts;  // start of each line, followed by the length of the text
+        private final int[] indents; // -1 for blank and comment lines
+
+        private Lines(@NotNull String text, int @NotNull [] starts, int @NotNull [] indents) {
+            this.text = text;
+            this.starts = starts;
+            this.indents = indents;
+        }
+
+        /**
+         * Returns the line table, or null if the document uses constructs
+         * that can't be split by indentation.
+         */
+        static @Nullable Lines scan(@NotNull String text) {
+            if (text.startsWith("\uFEFF")) return null;
+
+            List<Integer> starts = new ArrayList<>();
+            List<Integer> indents = new ArrayList<>();
+
+            for (int start = 0; start < text.length(); ) {
+                int newline = text.indexOf('\n', start);
+                int end = newline < 0 ? text.length() : newline;
+
+                int content = start;
+                while (content < end && text.charAt(content) == ' ') content++;
+                if (content < end && text.charAt(content) == '\t') return null;
+
+                int indent = content - start;
+                if (content == end || text.charAt(content) == '\r' || text.charAt(content) == '#') indent = -1;
+                else if (!supported(text, content, lineEnd(text, end), indent)) return null;
+
+                starts.add(start);
+                indents.add(indent);
+                start = end + 1;
+            }
+
+            starts.add(text.length());
+            return new Lines(text,
+                    starts.stream().mapToInt(Integer::intValue).toArray(),
+                    indents.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        int size() {
+            return indents.length;
+        }
+
+        /**
+         * Returns the entries of the mapping on the lines, or null if they
+         * aren't a block mapping whose keys all start at the same column.
+         */
+        @Nullable ParallelParse.Section section(int from, int to, int grain) {
+            List<Integer> keyLines = new ArrayList<>();
+            int indent = -1;
+
+            for (int i = from; i < to; i++) {
+                if (indents[i] < 0) continue;
+                if (indent < 0) indent = indents[i];
+
+                if (indents[i] < indent) return null;
+                if (indents[i] > indent || isItem(starts[i] + indent, end(i))) {
+                    if (keyLines.isEmpty()) return null;
+                    continue;
+                }
+
+                if (keyEnd(text, starts[i] + indent, end(i)) < 0) return null;
+                keyLines.add(i);
+            }
+
+            int size = keyLines.size();
+            int[] entryStarts = new int[size];
+            int[] entryEnds = new int[size];
+            String[] keys = new String[size];
+            ParallelParse.Section[] children = new ParallelParse.Section[size];
+
+            for (int k = 0; k < size; k++) {
+                int line = keyLines.get(k);
+                int next = k + 1 < size ? keyLines.get(k + 1) : to;
+
+                entryStarts[k] = starts[line];
+                entryEnds[k] = starts[next];
+
+                if (entryEnds[k] - entryStarts[k] > grain) {
+                    String key = splittableKey(line, indent, next);
+                    ParallelParse.Section child = key != null ? section(line + 1, next, grain) : null;
+
+                    if (child != null && child.size() > 0) {
+                        keys[k] = key;
+                        children[k] = child;
+                    }
+                }
+            }
+
+            return new ParallelParse.Section(entryStarts, entryEnds, keys, children);
+        }
+
+        /**
+         * Returns the key of the line if it is a plain string key whose
+         * value is a nested block mapping, or null.
+         */
+        private @Nullable String splittableKey(int line, int indent, int next) {
+            int content = starts[line] + indent;
+            int end = end(line);
+            int colon = keyEnd(text, content, end);
+
+            int value = skipSpaces(text, colon + 1, end);
+            if (value < end && text.charAt(value) != '#') return null;
+
+            String key = text.substring(content, colon).trim();
+            if (!SIMPLE_KEY.matcher(key).matches() || RESERVED_KEYS.contains(key.toLowerCase(Locale.ROOT))) return null;
+
+            for (int i = line + 1; i < next; i++) {
+                if (indents[i] < 0) continue;
+                return indents[i] > indent && !isItem(starts[i] + indents[i], end(i)) ? key : null;
+            }
+
+            return null;
+        }
+
+        private int end(int line) {
+            int end = starts[line + 1];
+            if (end > starts[line] && text.charAt(end - 1) == '\n') end--;
+            return lineEnd(text, end);
+        }
+
+        private boolean isItem(int content, int end) {
+            return text.charAt(content) == '-' && (content + 1 == end || text.charAt(content + 1) == ' ');
+        }
+
+        /**
+         * Checks a content line for anchors, aliases, tags, directives,
+         * document markers, complex keys and values continued on the next line.
+         */
+        private static boolean supported(@NotNull String text, int content, int end, int indent) {
+            if (indent == 0 && (text.startsWith("---", content) || text.startsWith("...", content)
+                    || text.charAt(content) == '%')) return false;
+
+            for (int i = content; i < end; i++) {
+                char c = text.charAt(i);
+                if ((c == '&' || c == '*' || c == '!') && (i == content || " [{,".indexOf(text.charAt(i - 1)) >= 0))
+                    return false;
+            }
+
+            int value = content;
+            while (true) {
+                char c = text.charAt(value);
+                if (c == '?' && (value + 1 == end || text.charAt(value + 1) == ' ')) return false;
+                if (c != '-' || (value + 1 < end && text.charAt(value + 1) != ' ')) break;
+
+                value = skipSpaces(text, value + 1, end);
+                if (value == end) return true;
+            }
+
+            int colon = keyEnd(text, value, end);
+            if (colon >= 0) value = skipSpaces(text, colon + 1, end);
+            if (value == end) return true;
+
+            return switch (text.charAt(value)) {
+                case '"', '\'' -> skipQuoted(text, value, end) >= 0;
+                case '[', '{' -> skipFlow(text, value, end) >= 0;
+                default -> true;
+            };
+        }
+
+        /**
+         * Returns the index of the colon ending the key at the index, or -1
+         * if the line doesn't start with a key.
+         */
+        private static int keyEnd(@NotNull String text, int index, int end) {
+            char first = text.charAt(index);
+            int i = index;
+
+            if (first == '"' || first == '\'') {
+                i = skipQuoted(text, index, end);
+                if (i < 0) return -1;
+                i = skipSpaces(text, i, end);
+                return i < end && text.charAt(i) == ':' && (i + 1 == end || text.charAt(i + 1) == ' ') ? i : -1;
+            }
+
+            if ("[]{},#|>-?".indexOf(first) >= 0 && !(first == '-' && index + 1 < end && text.charAt(index + 1) != ' '))
+                return -1;
+
+            for (; i < end; i++) {
+                char c = text.charAt(i);
+                if (c == ':' && (i + 1 == end || text.charAt(i + 1) == ' ')) return i;
+                if (c == '#' && text.charAt(i - 1) == ' ') return -1;
+            }
+
+            return -1;
+        }
+
+        /**
+         * Returns the index after the quoted scalar at the index, or -1 if it isn't closed on the line.
+         */
+        private static int skipQuoted(@NotNull String text, int index, int end) {
+            char quote = text.charAt(index);
+
+            for (int i = index + 1; i < end; i++) {
+                char c = text.charAt(i);
+
+                if (quote == '"' && c == '\\') i++;
+                else if (c == quote) {
+                    if (quote == '\'' && i + 1 < end && text.charAt(i + 1) == '\'') i++;
+                    else return i + 1;
+                }
+            }
+
+            return -1;
+        }
+
+        /**
+         * Returns the index after the flow collection at the index, or -1 if it isn't closed on the line.
+         */
+        private static int skipFlow(@NotNull String text, int index, int end) {
+            int depth = 0;
+
+            for (int i = index; i < end; i++) {
+                char c = text.charAt(i);
+
+                if (c == '"' || c == '\'') {
+                    int closed = skipQuoted(text, i, end);
+                    if (closed < 0) return -1;
+                    i = closed - 1;
+                } else if (c == '[' || c == '{') {
+                    depth++;
+                } else if ((c == ']' || c == '}') && --depth == 0) {
+                    return i + 1;
+                }
+            }
+
+            return -1;
+        }
+
+        private static int skipSpaces(@NotNull String text, int index, int end) {
+            while (index < end && text.charAt(index) == ' ') index++;
+            return index;
+        }
+
+        private static int lineEnd(@NotNull String text, int end) {
+            return end > 0 && text.charAt(end - 1) == '\r' ? end - 1 : end;
+        }
+    }
+
+    private static class CommentMap {
+        private final Map<String, List<String>> commentsByKey = new LinkedHashMap<>();
+        private List<String> headerComments = new ArrayList<>();
+
+        void addComments(String key, List<String> comments) {
+            commentsByKey.put(key, new ArrayList<>(comments));
+        }
+
+        List<String> getComments(String key) {
+            return commentsByKey.get(key);
+        }
+
+        void setHeaderComments(List<String> comments) {
+            this.headerComments = new ArrayList<>(comments);
+        }
+
+        List<String> getHeaderComments() {
+            return headerComments;
+        }
+    }
+}
\ No newline at end of file